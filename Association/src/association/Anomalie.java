@@ -0,0 +1,136 @@
+package association;
+
+/**
+ * Incohérence trouvée dans les données d'une association par un
+ * {@link VerificateurIntegrite}.
+ *
+ * @author Nicolas Le Bars
+ * @see VerificateurIntegrite
+ */
+public final class Anomalie {
+  
+  /**
+   * Les types d'incohérences, dans l'ordre où elles sont réparées.
+   */
+  public enum Type {
+    
+    /**
+     * Un participant d'un événement n'est pas membre de l'association.
+     */
+    PARTICIPANT_INCONNU,
+    
+    /**
+     * Un membre est inscrit à un événement qui n'appartient pas à
+     * l'association.
+     */
+    EVENEMENT_INCONNU,
+    
+    /**
+     * L'inscription n'apparaît que d'un côté : dans les participants de
+     * l'événement ou dans les événements du membre.
+     */
+    INSCRIPTION_ASYMETRIQUE,
+    
+    /**
+     * Un événement a plus de participants que son nombre maximum.
+     */
+    NOMBRE_MAX_DEPASSE,
+    
+    /**
+     * Deux événements ont lieu au même endroit en même temps.
+     */
+    CHEVAUCHEMENT,
+    
+    /**
+     * Un membre est inscrit à deux événements qui ont lieu en même temps.
+     */
+    CONFLIT_CALENDRIER
+  }
+  
+  /**
+   * Le type de l'incohérence.
+   */
+  private final Type type;
+  
+  /**
+   * La description de l'incohérence.
+   */
+  private final String description;
+  
+  /**
+   * La réparation de l'incohérence, <code>null</code> si elle ne peut pas être
+   * réparée automatiquement.
+   */
+  private final Runnable reparation;
+  
+  /**
+   * Vrai si l'incohérence a été réparée.
+   */
+  private boolean reparee;
+  
+  /**
+   * Crée une anomalie.
+   *
+   * @param type le type de l'incohérence
+   * @param description la description de l'incohérence
+   * @param reparation la réparation de l'incohérence ou <code>null</code>
+   */
+  Anomalie(Type type, String description, Runnable reparation) {
+    this.type = type;
+    this.description = description;
+    this.reparation = reparation;
+    this.reparee = false;
+  }
+  
+  /**
+   * Renvoie le type de l'incohérence.
+   *
+   * @return le type de l'incohérence
+   */
+  public Type getType() {
+    return this.type;
+  }
+  
+  /**
+   * Renvoie la description de l'incohérence.
+   *
+   * @return la description de l'incohérence
+   */
+  public String getDescription() {
+    return this.description;
+  }
+  
+  /**
+   * Teste si l'incohérence peut être réparée automatiquement.
+   *
+   * @return <code>true</code> si l'incohérence peut être réparée
+   */
+  public boolean estReparable() {
+    return this.reparation != null;
+  }
+  
+  /**
+   * Teste si l'incohérence a été réparée.
+   *
+   * @return <code>true</code> si l'incohérence a été réparée
+   */
+  public boolean estReparee() {
+    return this.reparee;
+  }
+  
+  /**
+   * Répare l'incohérence si c'est possible et si ce n'est pas déjà fait.
+   */
+  void reparer() {
+    if (this.reparation != null && !this.reparee) {
+      this.reparation.run();
+      this.reparee = true;
+    }
+  }
+  
+  @Override
+  public String toString() {
+    return "Anomalie [type=" + this.getType() + ", description="
+        + this.getDescription() + ", reparee=" + this.estReparee() + "]";
+  }
+}
@@ -0,0 +1,308 @@
+package association;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arbre d'intervalles augmenté (arbre AVL ordonné sur le début des
+ * événements, chaque nœud connaissant la plus grande fin de son sous-arbre).
+ * Permet de trouver les événements qui chevauchent une période en
+ * <code>O(log n + k)</code>.
+ *
+ * <p>
+ * Les intervalles sont fermés, comme dans
+ * {@link Evenement#pasDeChevauchementTemps(Evenement)} : deux événements dont
+ * l'un se termine à la minute où l'autre commence se chevauchent.
+ * </p>
+ *
+ * @author Josselin Scouarnec
+ * @see GestionEvenements
+ */
+class ArbreIntervalles {
+  
+  /**
+   * Un nœud de l'arbre. Les événements qui commencent à la même minute
+   * partagent le même nœud.
+   */
+  private static final class Noeud {
+    
+    /**
+     * Le début commun des événements du nœud (en minutes).
+     */
+    private final long debut;
+    
+    /**
+     * Les événements qui commencent à {@link #debut}.
+     */
+    private final List<Evenement> evenements = new ArrayList<>(1);
+    
+    /**
+     * La plus grande fin des événements du sous-arbre.
+     */
+    private long finMax;
+    
+    /**
+     * La hauteur du sous-arbre.
+     */
+    private int hauteur = 1;
+    
+    private Noeud gauche;
+    private Noeud droite;
+    
+    /**
+     * Crée un nœud sans événements.
+     *
+     * @param debut le début des événements du nœud
+     */
+    private Noeud(long debut) {
+      this.debut = debut;
+    }
+  }
+  
+  /**
+   * La racine de l'arbre.
+   */
+  private Noeud racine;
+  
+  /**
+   * Le nombre d'événements dans l'arbre.
+   */
+  private int taille;
+  
+  /**
+   * Renvoie le nombre d'événements de l'arbre.
+   *
+   * @return le nombre d'événements
+   */
+  int taille() {
+    return this.taille;
+  }
+  
+  /**
+   * Ajoute un événement dans l'arbre.
+   *
+   * @param evt l'événement à ajouter
+   */
+  void ajouter(Evenement evt) {
+    this.racine = ajouter(this.racine, evt);
+    this.taille++;
+  }
+  
+  /**
+   * Retire un événement de l'arbre. L'événement doit avoir le même début
+   * qu'au moment de son ajout.
+   *
+   * @param evt l'événement à retirer
+   * @return <code>true</code> si l'événement était dans l'arbre
+   */
+  boolean retirer(Evenement evt) {
+    int avant = this.taille;
+    this.racine = retirer(this.racine, evt);
+    return this.taille != avant;
+  }
+  
+  /**
+   * Teste si au moins un événement de l'arbre chevauche une période.
+   *
+   * @param debut le début de la période (en minutes)
+   * @param fin la fin de la période (en minutes)
+   * @return <code>true</code> s'il y a un chevauchement
+   */
+  boolean chevauche(long debut, long fin) {
+    Noeud noeud = this.racine;
+    
+    while (noeud != null && noeud.finMax >= debut) {
+      if (noeud.gauche != null && noeud.gauche.finMax >= debut) {
+        noeud = noeud.gauche;
+        continue;
+      }
+      
+      /* Plus aucun événement à gauche ne se termine après debut */
+      if (noeud.debut > fin) {
+        return false;
+      }
+      
+      for (Evenement e : noeud.evenements) {
+        if (e.finMinutes() >= debut) {
+          return true;
+        }
+      }
+      
+      noeud = noeud.droite;
+    }
+    
+    return false;
+  }
+  
+  /**
+   * Renvoie les événements de l'arbre qui chevauchent une période, triés par
+   * début.
+   *
+   * @param debut le début de la période (en minutes)
+   * @param fin la fin de la période (en minutes)
+   * @return les événements qui chevauchent la période
+   */
+  List<Evenement> chevauchements(long debut, long fin) {
+    List<Evenement> resultat = new ArrayList<>();
+    chevauchements(this.racine, debut, fin, resultat);
+    return resultat;
+  }
+  
+  private static void chevauchements(Noeud noeud, long debut, long fin,
+      List<Evenement> resultat) {
+    if (noeud == null || noeud.finMax < debut) {
+      return;
+    }
+    
+    chevauchements(noeud.gauche, debut, fin, resultat);
+    
+    if (noeud.debut <= fin) {
+      for (Evenement e : noeud.evenements) {
+        if (e.finMinutes() >= debut) {
+          resultat.add(e);
+        }
+      }
+      
+      chevauchements(noeud.droite, debut, fin, resultat);
+    }
+  }
+  
+  private static Noeud ajouter(Noeud noeud, Evenement evt) {
+    long debut = evt.debutMinutes();
+    
+    if (noeud == null) {
+      noeud = new Noeud(debut);
+      noeud.evenements.add(evt);
+    } else if (debut < noeud.debut) {
+      noeud.gauche = ajouter(noeud.gauche, evt);
+    } else if (debut > noeud.debut) {
+      noeud.droite = ajouter(noeud.droite, evt);
+    } else {
+      noeud.evenements.add(evt);
+    }
+    
+    return equilibrer(noeud);
+  }
+  
+  private Noeud retirer(Noeud noeud, Evenement evt) {
+    if (noeud == null) {
+      return null;
+    }
+    
+    long debut = evt.debutMinutes();
+    
+    if (debut < noeud.debut) {
+      noeud.gauche = retirer(noeud.gauche, evt);
+    } else if (debut > noeud.debut) {
+      noeud.droite = retirer(noeud.droite, evt);
+    } else {
+      /* Comparaison par identité : le nœud peut contenir des égaux */
+      for (int i = 0; i < noeud.evenements.size(); i++) {
+        if (noeud.evenements.get(i) == evt) {
+          noeud.evenements.remove(i);
+          this.taille--;
+          break;
+        }
+      }
+      
+      if (noeud.evenements.isEmpty()) {
+        if (noeud.gauche == null) {
+          return noeud.droite;
+        }
+        
+        if (noeud.droite == null) {
+          return noeud.gauche;
+        }
+        
+        /* Remplacement par le plus petit nœud du sous-arbre droit */
+        Noeud successeur = noeud.droite;
+        while (successeur.gauche != null) {
+          successeur = successeur.gauche;
+        }
+        
+        successeur.droite = retirerMin(noeud.droite);
+        successeur.gauche = noeud.gauche;
+        noeud = successeur;
+      }
+    }
+    
+    return equilibrer(noeud);
+  }
+  
+  private static Noeud retirerMin(Noeud noeud) {
+    if (noeud.gauche == null) {
+      return noeud.droite;
+    }
+    
+    noeud.gauche = retirerMin(noeud.gauche);
+    return equilibrer(noeud);
+  }
+  
+  private static int hauteur(Noeud noeud) {
+    return noeud == null ? 0 : noeud.hauteur;
+  }
+  
+  /**
+   * Recalcule la hauteur et la fin maximale d'un nœud à partir de ses
+   * enfants.
+   *
+   * @param noeud le nœud à mettre à jour
+   */
+  private static void mettreAJour(Noeud noeud) {
+    noeud.hauteur = 1 + Math.max(hauteur(noeud.gauche), hauteur(noeud.droite));
+    
+    long finMax = Long.MIN_VALUE;
+    for (Evenement e : noeud.evenements) {
+      finMax = Math.max(finMax, e.finMinutes());
+    }
+    
+    if (noeud.gauche != null) {
+      finMax = Math.max(finMax, noeud.gauche.finMax);
+    }
+    
+    if (noeud.droite != null) {
+      finMax = Math.max(finMax, noeud.droite.finMax);
+    }
+    
+    noeud.finMax = finMax;
+  }
+  
+  private static Noeud rotationDroite(Noeud noeud) {
+    Noeud pivot = noeud.gauche;
+    noeud.gauche = pivot.droite;
+    pivot.droite = noeud;
+    mettreAJour(noeud);
+    mettreAJour(pivot);
+    return pivot;
+  }
+  
+  private static Noeud rotationGauche(Noeud noeud) {
+    Noeud pivot = noeud.droite;
+    noeud.droite = pivot.gauche;
+    pivot.gauche = noeud;
+    mettreAJour(noeud);
+    mettreAJour(pivot);
+    return pivot;
+  }
+  
+  private static Noeud equilibrer(Noeud noeud) {
+    mettreAJour(noeud);
+    int balance = hauteur(noeud.gauche) - hauteur(noeud.droite);
+    
+    if (balance > 1) {
+      if (hauteur(noeud.gauche.gauche) < hauteur(noeud.gauche.droite)) {
+        noeud.gauche = rotationGauche(noeud.gauche);
+      }
+      return rotationDroite(noeud);
+    }
+    
+    if (balance < -1) {
+      if (hauteur(noeud.droite.droite) < hauteur(noeud.droite.gauche)) {
+        noeud.droite = rotationDroite(noeud.droite);
+      }
+      return rotationGauche(noeud);
+    }
+    
+    return noeud;
+  }
+}
@@ -0,0 +1,619 @@
+package association;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Chronologie des événements d'un membre : liste non modifiable, triée par
+ * {@link Evenement#ORDRE_CHRONOLOGIQUE}, rangée dans un arbre AVL. L'ajout,
+ * le retrait et le test de chevauchement sont en O(log n). Un ensemble par
+ * identité, tenu à côté de l'arbre, rend le test d'appartenance d'un
+ * événement de la chronologie en O(1) ; un autre objet égal est cherché dans
+ * l'arbre.
+ *
+ * <p>
+ * Chaque nœud de l'arbre garde la taille de son sous-arbre et la plus grande
+ * fin des événements de son sous-arbre. Un événement chevauche un des
+ * événements qui commencent avant sa fin si et seulement si l'un d'eux finit
+ * après son début : {@link #chevauche(Evenement)} descend l'arbre en
+ * écartant les sous-arbres qui finissent trop tôt, et ne dépend donc pas de
+ * ce que les événements de la chronologie ne se chevauchent pas entre eux,
+ * ce qui peut arriver quand un événement est modifié après les inscriptions.
+ * </p>
+ *
+ * <p>
+ * L'accès par indice passe par une copie des événements dans un tableau,
+ * refaite au premier accès qui suit une modification : il est en O(1) tant
+ * que la chronologie ne change pas.
+ * </p>
+ *
+ * <p>
+ * Comme un {@link java.util.TreeSet}, la chronologie ne contient pas deux
+ * événements égaux selon {@link Evenement#ORDRE_CHRONOLOGIQUE}. Un événement
+ * doit en être retiré avant d'être modifié, puis y être remis.
+ * </p>
+ *
+ * @author Nicolas Le Bars
+ * @see Membre
+ */
+final class Chronologie extends AbstractList<Evenement>
+    implements RandomAccess {
+  
+  /**
+   * La racine de l'arbre, <code>null</code> si la chronologie est vide.
+   */
+  private Noeud racine;
+  
+  /**
+   * Les événements de l'arbre, comparés par identité.
+   */
+  private final Set<Evenement> presents =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+  
+  /**
+   * Les événements par ordre chronologique, copiés pour l'accès par indice.
+   */
+  private Evenement[] tableau;
+  
+  /**
+   * Le compteur de modifications lors de la dernière copie de
+   * {@link #tableau}.
+   */
+  private int etatTableau = -1;
+  
+  /**
+   * La vue sur les événements à venir, créée par le premier appel de
+   * {@link #avenir(long)}.
+   */
+  private Suite avenir;
+  
+  @Override
+  public Evenement get(int index) {
+    if (index < 0 || index >= this.size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    
+    return this.tableau()[index];
+  }
+  
+  @Override
+  public int size() {
+    return taille(this.racine);
+  }
+  
+  @Override
+  public boolean contains(Object o) {
+    return this.presents.contains(o)
+        || o instanceof Evenement && this.noeud((Evenement) o) != null;
+  }
+  
+  @Override
+  public int indexOf(Object o) {
+    if (!(o instanceof Evenement)) {
+      return -1;
+    }
+    
+    Evenement evt = (Evenement) o;
+    int rang = 0;
+    Noeud n = this.racine;
+    while (n != null) {
+      int c = Evenement.ORDRE_CHRONOLOGIQUE.compare(evt, n.evt);
+      if (c < 0) {
+        n = n.gauche;
+      } else if (c > 0) {
+        rang += taille(n.gauche) + 1;
+        n = n.droite;
+      } else {
+        return n.evt.equals(evt) ? rang + taille(n.gauche) : -1;
+      }
+    }
+    
+    return -1;
+  }
+  
+  @Override
+  public int lastIndexOf(Object o) {
+    return this.indexOf(o);
+  }
+  
+  /**
+   * Renvoie les événements par ordre chronologique, en les copiant si la
+   * chronologie a changé depuis la dernière copie.
+   *
+   * @return les événements
+   */
+  private Evenement[] tableau() {
+    if (this.etatTableau != this.modCount) {
+      this.tableau = new Evenement[this.size()];
+      remplir(this.racine, this.tableau, 0);
+      this.etatTableau = this.modCount;
+    }
+    
+    return this.tableau;
+  }
+  
+  /**
+   * Copie les événements d'un sous-arbre dans un tableau, dans l'ordre.
+   *
+   * @param n la racine du sous-arbre
+   * @param tableau le tableau
+   * @param position la position du premier événement du sous-arbre
+   * @return la position qui suit le dernier événement du sous-arbre
+   */
+  private static int remplir(Noeud n, Evenement[] tableau, int position) {
+    if (n == null) {
+      return position;
+    }
+    
+    int i = remplir(n.gauche, tableau, position);
+    tableau[i] = n.evt;
+    return remplir(n.droite, tableau, i + 1);
+  }
+  
+  /**
+   * Renvoie le nœud d'un événement égal selon l'ordre chronologique.
+   *
+   * @param evt l'événement cherché
+   * @return le nœud, <code>null</code> si aucun événement égal n'est présent
+   */
+  private Noeud noeud(Evenement evt) {
+    Noeud n = this.racine;
+    
+    while (n != null) {
+      int c = Evenement.ORDRE_CHRONOLOGIQUE.compare(evt, n.evt);
+      if (c == 0) {
+        return n;
+      }
+      n = c < 0 ? n.gauche : n.droite;
+    }
+    
+    return null;
+  }
+  
+  /**
+   * Renvoie le nombre d'événements qui commencent au plus tard à une minute
+   * donnée, c'est-à-dire la position du premier qui commence après.
+   *
+   * @param minutes la minute (en minutes depuis l'époque)
+   * @return le nombre d'événements qui commencent avant ou à cette minute
+   */
+  int compterAvant(long minutes) {
+    int nombre = 0;
+    Noeud n = this.racine;
+    
+    while (n != null) {
+      if (n.debut <= minutes) {
+        nombre += taille(n.gauche) + 1;
+        n = n.droite;
+      } else {
+        n = n.gauche;
+      }
+    }
+    
+    return nombre;
+  }
+  
+  /**
+   * Ajoute un événement à la chronologie.
+   *
+   * @param evt l'événement à ajouter
+   * @return <code>true</code> si l'événement a été ajouté, <code>false</code>
+   *         si un événement égal y était déjà
+   */
+  boolean ajouter(Evenement evt) {
+    if (this.contains(evt)) {
+      return false;
+    }
+    
+    this.racine = inserer(this.racine, evt);
+    this.presents.add(evt);
+    this.modCount++;
+    return true;
+  }
+  
+  /**
+   * Retire un événement de la chronologie.
+   *
+   * @param evt l'événement à retirer
+   * @return <code>true</code> si un événement égal était dans la chronologie
+   */
+  boolean retirer(Evenement evt) {
+    Noeud n = this.noeud(evt);
+    if (n == null) {
+      return false;
+    }
+    
+    this.racine = supprimer(this.racine, evt);
+    this.presents.remove(n.evt);
+    this.modCount++;
+    return true;
+  }
+  
+  /**
+   * Teste si un événement chevauche dans le temps un autre événement de la
+   * chronologie. L'événement lui-même, s'il est dans la chronologie, n'est
+   * pas compté.
+   *
+   * @param evt l'événement à tester
+   * @return <code>true</code> s'il y a un chevauchement
+   */
+  boolean chevauche(Evenement evt) {
+    return chevauche(this.racine, evt.finMinutes(), evt.debutMinutes(), evt);
+  }
+  
+  /**
+   * Teste si un sous-arbre contient un événement, autre qu'un événement
+   * exclu, qui commence au plus tard à une minute et finit au plus tôt à une
+   * autre. Les sous-arbres dont la plus grande fin est trop tôt ne sont pas
+   * parcourus.
+   *
+   * @param n la racine du sous-arbre
+   * @param limite la minute où l'événement doit avoir commencé
+   * @param debut la minute où l'événement ne doit pas être fini
+   * @param exclu l'événement qui n'est pas compté
+   * @return <code>true</code> si un tel événement existe
+   */
+  private static boolean chevauche(Noeud n, long limite, long debut,
+      Evenement exclu) {
+    if (n == null || n.finMax < debut) {
+      return false;
+    }
+    
+    if (n.debut > limite) {
+      return chevauche(n.gauche, limite, debut, exclu);
+    }
+    
+    /* Tout le sous-arbre gauche commence aussi avant la limite */
+    return (n.evt != exclu && n.fin >= debut)
+        || chevauche(n.gauche, limite, debut, exclu)
+        || chevauche(n.droite, limite, debut, exclu);
+  }
+  
+  /**
+   * Renvoie les événements qui commencent dans une période.
+   *
+   * @param debut le début de la période (inclus, en minutes)
+   * @param fin la fin de la période (exclue, en minutes)
+   * @return les événements de la période, par ordre chronologique
+   */
+  List<Evenement> entre(long debut, long fin) {
+    List<Evenement> evenements = new ArrayList<>();
+    entre(this.racine, debut, fin, evenements);
+    return evenements;
+  }
+  
+  /**
+   * Ajoute à une liste, dans l'ordre, les événements d'un sous-arbre qui
+   * commencent dans une période.
+   *
+   * @param n la racine du sous-arbre
+   * @param debut le début de la période (inclus, en minutes)
+   * @param fin la fin de la période (exclue, en minutes)
+   * @param evenements la liste des événements trouvés
+   */
+  private static void entre(Noeud n, long debut, long fin,
+      List<Evenement> evenements) {
+    if (n == null) {
+      return;
+    }
+    
+    if (n.debut >= debut) {
+      entre(n.gauche, debut, fin, evenements);
+      if (n.debut < fin) {
+        evenements.add(n.evt);
+      }
+    }
+    if (n.debut < fin) {
+      entre(n.droite, debut, fin, evenements);
+    }
+  }
+  
+  /**
+   * Renvoie la vue non modifiable sur les événements qui n'ont pas commencé à
+   * une date donnée. La vue est la même d'un appel à l'autre : sa borne
+   * avance jusqu'à la date donnée, et les événements qui ont commencé depuis
+   * l'appel précédent en sortent, en O(log n). Comme pour
+   * {@link GestionEvenements#ensembleEvenementsAvenir()}, la borne ne recule
+   * pas. La position du premier événement n'est recalculée que si la
+   * chronologie ou la borne ont changé : l'accès par indice reste en O(1).
+   *
+   * @param maintenant la date courante (en minutes depuis l'époque)
+   * @return les événements qui commencent après cette minute
+   */
+  List<Evenement> avenir(long maintenant) {
+    if (this.avenir == null) {
+      this.avenir = new Suite(maintenant);
+    } else if (maintenant > this.avenir.minutes) {
+      this.avenir.minutes = maintenant;
+      this.avenir.etat = -1;
+    }
+    
+    return this.avenir;
+  }
+  
+  /**
+   * Renvoie la taille d'un sous-arbre.
+   *
+   * @param n la racine du sous-arbre
+   * @return le nombre d'événements du sous-arbre
+   */
+  private static int taille(Noeud n) {
+    return n == null ? 0 : n.taille;
+  }
+  
+  /**
+   * Renvoie la hauteur d'un sous-arbre.
+   *
+   * @param n la racine du sous-arbre
+   * @return la hauteur du sous-arbre, 0 s'il est vide
+   */
+  private static int hauteur(Noeud n) {
+    return n == null ? 0 : n.hauteur;
+  }
+  
+  /**
+   * Renvoie la plus grande fin d'un sous-arbre.
+   *
+   * @param n la racine du sous-arbre
+   * @return la plus grande fin, {@link Long#MIN_VALUE} s'il est vide
+   */
+  private static long finMax(Noeud n) {
+    return n == null ? Long.MIN_VALUE : n.finMax;
+  }
+  
+  /**
+   * Insère un événement absent dans un sous-arbre.
+   *
+   * @param n la racine du sous-arbre
+   * @param evt l'événement
+   * @return la nouvelle racine du sous-arbre
+   */
+  private static Noeud inserer(Noeud n, Evenement evt) {
+    if (n == null) {
+      return new Noeud(evt);
+    }
+    
+    if (Evenement.ORDRE_CHRONOLOGIQUE.compare(evt, n.evt) < 0) {
+      n.gauche = inserer(n.gauche, evt);
+    } else {
+      n.droite = inserer(n.droite, evt);
+    }
+    return equilibrer(n);
+  }
+  
+  /**
+   * Supprime d'un sous-arbre l'événement égal à un événement présent.
+   *
+   * @param n la racine du sous-arbre
+   * @param evt l'événement
+   * @return la nouvelle racine du sous-arbre
+   */
+  private static Noeud supprimer(Noeud n, Evenement evt) {
+    int c = Evenement.ORDRE_CHRONOLOGIQUE.compare(evt, n.evt);
+    
+    if (c < 0) {
+      n.gauche = supprimer(n.gauche, evt);
+    } else if (c > 0) {
+      n.droite = supprimer(n.droite, evt);
+    } else if (n.gauche == null) {
+      return n.droite;
+    } else if (n.droite == null) {
+      return n.gauche;
+    } else {
+      /* Le successeur prend la place du nœud */
+      Noeud successeur = n.droite;
+      while (successeur.gauche != null) {
+        successeur = successeur.gauche;
+      }
+      successeur.droite = supprimerPremier(n.droite);
+      successeur.gauche = n.gauche;
+      n = successeur;
+    }
+    return equilibrer(n);
+  }
+  
+  /**
+   * Supprime le premier nœud d'un sous-arbre.
+   *
+   * @param n la racine du sous-arbre
+   * @return la nouvelle racine du sous-arbre
+   */
+  private static Noeud supprimerPremier(Noeud n) {
+    if (n.gauche == null) {
+      return n.droite;
+    }
+    
+    n.gauche = supprimerPremier(n.gauche);
+    return equilibrer(n);
+  }
+  
+  /**
+   * Recalcule la hauteur, la taille et la plus grande fin d'un nœud à partir
+   * de ses fils.
+   *
+   * @param n le nœud
+   * @return le nœud
+   */
+  private static Noeud mettreAJour(Noeud n) {
+    n.hauteur = 1 + Math.max(hauteur(n.gauche), hauteur(n.droite));
+    n.taille = 1 + taille(n.gauche) + taille(n.droite);
+    n.finMax = Math.max(n.fin, Math.max(finMax(n.gauche), finMax(n.droite)));
+    return n;
+  }
+  
+  /**
+   * Rééquilibre un nœud dont les sous-arbres diffèrent au plus de deux en
+   * hauteur.
+   *
+   * @param n le nœud
+   * @return la nouvelle racine du sous-arbre
+   */
+  private static Noeud equilibrer(Noeud n) {
+    mettreAJour(n);
+    int ecart = hauteur(n.gauche) - hauteur(n.droite);
+    
+    if (ecart > 1) {
+      if (hauteur(n.gauche.gauche) < hauteur(n.gauche.droite)) {
+        n.gauche = tournerGauche(n.gauche);
+      }
+      return tournerDroite(n);
+    }
+    if (ecart < -1) {
+      if (hauteur(n.droite.droite) < hauteur(n.droite.gauche)) {
+        n.droite = tournerDroite(n.droite);
+      }
+      return tournerGauche(n);
+    }
+    return n;
+  }
+  
+  /**
+   * Rotation vers la droite : le fils gauche devient la racine.
+   *
+   * @param n la racine du sous-arbre
+   * @return la nouvelle racine
+   */
+  private static Noeud tournerDroite(Noeud n) {
+    Noeud g = n.gauche;
+    n.gauche = g.droite;
+    g.droite = mettreAJour(n);
+    return mettreAJour(g);
+  }
+  
+  /**
+   * Rotation vers la gauche : le fils droit devient la racine.
+   *
+   * @param n la racine du sous-arbre
+   * @return la nouvelle racine
+   */
+  private static Noeud tournerGauche(Noeud n) {
+    Noeud d = n.droite;
+    n.droite = d.gauche;
+    d.gauche = mettreAJour(n);
+    return mettreAJour(d);
+  }
+  
+  /**
+   * Nœud de l'arbre. Le début et la fin de l'événement sont relevés à
+   * l'insertion, comme sa place dans l'arbre.
+   */
+  private static final class Noeud {
+    
+    /**
+     * L'événement.
+     */
+    private final Evenement evt;
+    
+    /**
+     * Le début de l'événement, en minutes.
+     */
+    private final long debut;
+    
+    /**
+     * La fin de l'événement, en minutes.
+     */
+    private final long fin;
+    
+    /**
+     * Le sous-arbre des événements qui précèdent.
+     */
+    private Noeud gauche;
+    
+    /**
+     * Le sous-arbre des événements qui suivent.
+     */
+    private Noeud droite;
+    
+    /**
+     * La hauteur du sous-arbre.
+     */
+    private int hauteur = 1;
+    
+    /**
+     * Le nombre d'événements du sous-arbre.
+     */
+    private int taille = 1;
+    
+    /**
+     * La plus grande fin des événements du sous-arbre, en minutes.
+     */
+    private long finMax;
+    
+    /**
+     * Crée une feuille.
+     *
+     * @param evt l'événement
+     */
+    private Noeud(Evenement evt) {
+      this.evt = evt;
+      this.debut = evt.debutMinutes();
+      this.fin = evt.finMinutes();
+      this.finMax = this.fin;
+    }
+  }
+  
+  /**
+   * Vue sur la fin de la chronologie, à partir d'une minute.
+   */
+  private final class Suite extends AbstractList<Evenement>
+      implements RandomAccess {
+    
+    /**
+     * La minute après laquelle commencent les événements de la vue.
+     */
+    private long minutes;
+    
+    /**
+     * La position dans la chronologie du premier événement de la vue.
+     */
+    private int premier;
+    
+    /**
+     * Le compteur de modifications de la chronologie lors du dernier calcul
+     * de {@link #premier}.
+     */
+    private int etat = -1;
+    
+    /**
+     * Crée la vue.
+     *
+     * @param minutes la minute après laquelle commencent les événements
+     */
+    private Suite(long minutes) {
+      this.minutes = minutes;
+    }
+    
+    /**
+     * Recalcule la position du premier événement si la chronologie a changé.
+     *
+     * @return la position du premier événement
+     */
+    private int calculer() {
+      if (this.etat != Chronologie.this.modCount) {
+        this.premier = Chronologie.this.compterAvant(this.minutes);
+        this.etat = Chronologie.this.modCount;
+      }
+      
+      return this.premier;
+    }
+    
+    @Override
+    public Evenement get(int index) {
+      if (index < 0 || index >= this.size()) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      
+      return Chronologie.this.tableau()[this.premier + index];
+    }
+    
+    @Override
+    public int size() {
+      return Chronologie.this.size() - this.calculer();
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package association;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Ensemble d'entiers par adressage ouvert, rangés dans un tableau
+ * d'<code>int</code> sans encapsulation, comme les clés d'une
+ * {@link TableEntiers}. La valeur 0 est réservée pour les cases vides.
+ * L'ajout, le retrait et le test sont en O(1) ; le tableau est réduit quand
+ * l'ensemble se vide, pour que sa taille reste proportionnelle au nombre
+ * d'éléments.
+ *
+ * @author Josselin Scouarnec
+ * @see TableEntiers
+ */
+final class EnsembleEntiers {
+  
+  /**
+   * Capacité initiale, puissance de 2.
+   */
+  private static final int CAPACITE_INITIALE = 4;
+  
+  /**
+   * Les éléments, 0 pour une case vide.
+   */
+  private int[] elements;
+  
+  /**
+   * Le nombre d'éléments.
+   */
+  private int taille;
+  
+  /**
+   * Crée un ensemble vide.
+   */
+  EnsembleEntiers() {
+    this.elements = new int[CAPACITE_INITIALE];
+  }
+  
+  /**
+   * Crée un ensemble vide qui peut recevoir un nombre d'éléments donné sans
+   * être agrandi.
+   *
+   * @param attendus le nombre d'éléments attendus
+   */
+  EnsembleEntiers(int attendus) {
+    int capacite = CAPACITE_INITIALE;
+    while (capacite * 2 < attendus * 3) {
+      capacite *= 2;
+    }
+    this.elements = new int[capacite];
+  }
+  
+  /**
+   * Renvoie la case d'un élément, ou la case vide où l'insérer.
+   *
+   * @param element l'élément
+   * @return la case de l'élément
+   */
+  private int chercher(int element) {
+    int masque = this.elements.length - 1;
+    int i = TableEntiers.position(element, masque);
+    
+    while (this.elements[i] != 0 && this.elements[i] != element) {
+      i = (i + 1) & masque;
+    }
+    
+    return i;
+  }
+  
+  /**
+   * Teste si un élément appartient à l'ensemble.
+   *
+   * @param element l'élément
+   * @return <code>true</code> si l'élément est présent
+   */
+  boolean contient(int element) {
+    return element != 0 && this.elements[this.chercher(element)] == element;
+  }
+  
+  /**
+   * Ajoute un élément à l'ensemble.
+   *
+   * @param element l'élément, différent de 0
+   * @return <code>true</code> si l'élément était absent
+   */
+  boolean ajouter(int element) {
+    if (element == 0) {
+      throw new IllegalArgumentException("élément 0");
+    }
+    
+    int i = this.chercher(element);
+    if (this.elements[i] != 0) {
+      return false;
+    }
+    
+    this.elements[i] = element;
+    if (++this.taille * 3 > this.elements.length * 2) {
+      this.redimensionner(2 * this.elements.length);
+    }
+    
+    return true;
+  }
+  
+  /**
+   * Range les éléments dans un tableau d'une autre capacité.
+   *
+   * @param capacite la nouvelle capacité, puissance de 2
+   */
+  private void redimensionner(int capacite) {
+    int[] anciens = this.elements;
+    this.elements = new int[capacite];
+    for (int e : anciens) {
+      if (e != 0) {
+        this.elements[this.chercher(e)] = e;
+      }
+    }
+  }
+  
+  /**
+   * Retire un élément de l'ensemble.
+   *
+   * @param element l'élément
+   * @return <code>true</code> si l'élément était présent
+   */
+  boolean retirer(int element) {
+    if (element == 0) {
+      return false;
+    }
+    
+    int i = this.chercher(element);
+    if (this.elements[i] == 0) {
+      return false;
+    }
+    
+    this.taille--;
+    
+    /* Recule les éléments suivants de la grappe, comme TableEntiers */
+    int masque = this.elements.length - 1;
+    int j = i;
+    while (true) {
+      j = (j + 1) & masque;
+      if (this.elements[j] == 0) {
+        break;
+      }
+      
+      int depart = TableEntiers.position(this.elements[j], masque);
+      if (((j - depart) & masque) >= ((j - i) & masque)) {
+        this.elements[i] = this.elements[j];
+        i = j;
+      }
+    }
+    
+    this.elements[i] = 0;
+    if (this.elements.length > CAPACITE_INITIALE
+        && this.taille * 8 < this.elements.length) {
+      this.redimensionner(this.elements.length / 2);
+    }
+    
+    return true;
+  }
+  
+  /**
+   * Renvoie le nombre d'éléments de l'ensemble.
+   *
+   * @return le nombre d'éléments
+   */
+  int taille() {
+    return this.taille;
+  }
+  
+  /**
+   * Applique une action à chaque élément, dans un ordre quelconque.
+   *
+   * @param action l'action à appliquer
+   */
+  void pourChaque(IntConsumer action) {
+    for (int e : this.elements) {
+      if (e != 0) {
+        action.accept(e);
+      }
+    }
+  }
+}
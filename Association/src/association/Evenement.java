@@ -1,11 +1,24 @@
 package association;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
@@ -23,16 +36,42 @@ public class Evenement implements java.io.Serializable, Cloneable {
    */
   private static final long serialVersionUID = 1019861634709625909L;
   
+  /**
+   * Ordre chronologique des événements : par début, puis par fin, puis par nom
+   * et par lieu.
+   */
+  static final Comparator<Evenement> ORDRE_CHRONOLOGIQUE =
+      Comparator.comparingLong(Evenement::debutMinutes)
+          .thenComparingLong(Evenement::finMinutes)
+          .thenComparing(Evenement::getNom,
+              Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparing(Evenement::getLieu,
+              Comparator.nullsFirst(Comparator.naturalOrder()));
+  
+  /**
+   * Le numéro de l'événement, attribué par son {@link GestionEvenements} à
+   * partir de 1, 0 si l'événement n'a pas été créé par un gestionnaire.
+   */
+  private int numero;
+  
   /**
    * Le nom de l'événement.
    */
   private String nom;
   
   /**
-   * Le lieu où l'événement a ou aura lieu.
+   * Le lieu où l'événement a ou aura lieu, partagé avec les autres événements
+   * du même lieu par le {@link RegistreLieux} du gestionnaire.
    */
   private String lieu;
   
+  /**
+   * L'identifiant du lieu dans le {@link RegistreLieux} du gestionnaire,
+   * {@link RegistreLieux#AUCUN} si l'événement n'est indexé par aucun
+   * gestionnaire.
+   */
+  private transient int idLieu = RegistreLieux.AUCUN;
+  
   /**
    * La date et l'heure à laquelle l'événement a eu ou aura lieu.
    */
@@ -43,16 +82,84 @@ public class Evenement implements java.io.Serializable, Cloneable {
    */
   private int duree;
   
+  /**
+   * Le début de l'événement en minutes depuis l'époque, calculé à partir de
+   * {@link #date}.
+   */
+  private transient long debut;
+  
+  /**
+   * La fin de l'événement en minutes depuis l'époque, calculée à partir de
+   * {@link #date} et {@link #duree}.
+   */
+  private transient long fin;
+  
   /**
    * Le nombre maximum de participants.
    */
   private int nbParticipantsMax;
   
   /**
-   * Les participants.
+   * Les participants, comparés par identité : l'ajout, le retrait et le test
+   * d'un participant ne calculent ni <code>hashCode</code> ni
+   * <code>equals</code> sur les membres. Ils ne sont pas rangés par numéro :
+   * un participant peut n'appartenir à aucun {@link GestionMembres} et n'a
+   * alors pas de numéro.
    */
   private Set<InterMembre> participants;
   
+  /**
+   * Vue non modifiable sur les participants.
+   */
+  private transient Set<InterMembre> vueParticipants;
+  
+  /**
+   * Vue non modifiable sur les participants, sous forme de liste.
+   */
+  private transient VueListe<InterMembre> listeVueParticipants;
+  
+  /**
+   * Les membres en attente d'une place, dans l'ordre de leur demande.
+   */
+  private LinkedHashSet<InterMembre> listeAttente = new LinkedHashSet<>();
+  
+  /**
+   * Le rang de chaque membre de la liste d'attente, croissant avec l'ordre des
+   * demandes.
+   */
+  private transient Map<InterMembre, Long> rangsAttente =
+      new IdentityHashMap<>();
+  
+  /**
+   * Les membres de la liste d'attente qui peuvent être promus, par rang. Un
+   * {@link Membre} trouvé indisponible en est écarté jusqu'à ce qu'il quitte
+   * un de ses événements ou que l'événement soit modifié : les promotions
+   * suivantes ne le réexaminent pas.
+   */
+  private transient TreeMap<Long, InterMembre> candidats = new TreeMap<>();
+  
+  /**
+   * Le dernier rang donné dans la liste d'attente.
+   */
+  private transient long dernierRang;
+  
+  /**
+   * La série dont l'événement est une occurrence, <code>null</code> si ce
+   * n'est pas une occurrence.
+   */
+  private transient SerieEvenements serie;
+  
+  /**
+   * Le numéro de l'occurrence dans sa série.
+   */
+  private transient int rang;
+  
+  /**
+   * Le gestionnaire qui indexe l'événement, <code>null</code> si l'événement
+   * n'a pas été créé par un {@link GestionEvenements}.
+   */
+  transient GestionEvenements gestionnaire;
+  
   /**
    * Crée un événement avec tous les paramètres.
    *
@@ -100,6 +207,17 @@ public class Evenement implements java.io.Serializable, Cloneable {
    * @return la chaîne formatée
    */
   protected String strReformat(String str) {
+    return reformater(str);
+  }
+  
+  /**
+   * Reformate une chaîne comme {@link #strReformat(String)}, sans avoir besoin
+   * d'un événement.
+   *
+   * @param str la chaîne à reformater
+   * @return la chaîne formatée
+   */
+  static String reformater(String str) {
     if (str == null || str.trim().isEmpty()) {
       return str;
     }
@@ -110,6 +228,121 @@ public class Evenement implements java.io.Serializable, Cloneable {
         .collect(Collectors.joining(" "));
   }
   
+  /**
+   * Applique une modification à l'événement en gardant à jour les index de son
+   * gestionnaire. Une occurrence de série, qui n'a pas de gestionnaire, est
+   * replacée dans les chronologies de ses participants.
+   *
+   * @param modification la modification à appliquer
+   */
+  private void modifier(Runnable modification) {
+    if (this.gestionnaire != null) {
+      this.gestionnaire.avantModification(this);
+      modification.run();
+      this.gestionnaire.apresModification(this);
+    } else if (this.serie != null) {
+      for (InterMembre mbr : this.participants) {
+        mbr.retirerEvenement(this);
+      }
+      modification.run();
+      for (InterMembre mbr : this.participants) {
+        mbr.ajouterEvenement(this);
+      }
+    } else {
+      modification.run();
+    }
+    
+    /* L'événement a pu s'éloigner des conflits des membres écartés */
+    this.candidats.clear();
+    for (Map.Entry<InterMembre, Long> e : this.rangsAttente.entrySet()) {
+      this.candidats.put(e.getValue(), e.getKey());
+    }
+    this.suivreOccurrence();
+  }
+  
+  /**
+   * Refuse de modifier l'horaire ou le lieu d'une occurrence de série : ils
+   * sont ceux de la série, dont les conflits de lieu et d'horaire sont
+   * vérifiés sans créer les occurrences.
+   *
+   * @throws UnsupportedOperationException si l'événement est une occurrence
+   */
+  private void exigerHorsSerie() {
+    if (this.serie != null) {
+      throw new UnsupportedOperationException(
+          "L'horaire et le lieu d'une occurrence sont ceux de sa série");
+    }
+  }
+  
+  /**
+   * Teste si l'événement est une occurrence d'une {@link SerieEvenements},
+   * dont l'horaire et le lieu ne peuvent pas être modifiés.
+   *
+   * @return <code>true</code> si l'événement est une occurrence
+   */
+  public boolean estOccurrence() {
+    return this.serie != null;
+  }
+  
+  /**
+   * Fait d'un événement une occurrence d'une série.
+   *
+   * @param serie la série
+   * @param numero le numéro de l'occurrence dans la série
+   */
+  void rattacher(SerieEvenements serie, int numero) {
+    this.serie = serie;
+    this.rang = numero;
+  }
+  
+  /**
+   * Renvoie la série dont l'événement est une occurrence.
+   *
+   * @return la série, <code>null</code> si ce n'est pas une occurrence
+   */
+  SerieEvenements serie() {
+    return this.serie;
+  }
+  
+  /**
+   * Renvoie le numéro de l'occurrence dans sa série.
+   *
+   * @return le numéro de l'occurrence
+   */
+  int rang() {
+    return this.rang;
+  }
+  
+  /**
+   * Prévient la série d'une occurrence qui a changé, pour qu'elle la conserve
+   * ou l'oublie (voir {@link SerieEvenements#suivre(Evenement)}).
+   */
+  private void suivreOccurrence() {
+    if (this.serie != null) {
+      this.serie.suivre(this);
+    }
+  }
+  
+  /**
+   * Renvoie le numéro de l'événement, unique parmi les événements de son
+   * gestionnaire et conservé à la sauvegarde.
+   *
+   * @return le numéro de l'événement, 0 s'il n'a pas été créé par un
+   *         {@link GestionEvenements}
+   */
+  public int getNumero() {
+    return this.numero;
+  }
+  
+  /**
+   * Attribue un numéro à l'événement.
+   *
+   * @param numero le numéro de l'événement
+   */
+  void numeroter(int numero) {
+    this.numero = numero;
+  }
+  
   /**
    * Renvoie le nom de l'événement.
    *
@@ -120,12 +353,24 @@ public class Evenement implements java.io.Serializable, Cloneable {
   }
   
   /**
-   * Modifie le nom de l'événement.
+   * Modifie le nom de l'événement. Si l'événement est géré par un
+   * {@link GestionEvenements} et qu'un autre de ses événements ou une de ses
+   * séries porte déjà ce nom, le nom n'est pas modifié.
    *
    * @param nom le nouveau nom
+   * @return <code>true</code> si le nom a été modifié, <code>false</code> s'il
+   *         est déjà pris
    */
-  public void setNom(String nom) {
-    this.nom = strReformat(nom);
+  public boolean setNom(String nom) {
+    String nouveauNom = strReformat(nom);
+    
+    if (this.gestionnaire != null
+        && !this.gestionnaire.nomDisponible(nouveauNom, this)) {
+      return false;
+    }
+    
+    this.modifier(() -> this.nom = nouveauNom);
+    return true;
   }
   
   /**
@@ -141,9 +386,65 @@ public class Evenement implements java.io.Serializable, Cloneable {
    * Modifie le lieu de l'événement.
    *
    * @param lieu le nouveau lieu
+   * @throws UnsupportedOperationException si l'événement est une occurrence
+   *         de série
    */
   public void setLieu(String lieu) {
-    this.lieu = strReformat(lieu);
+    this.exigerHorsSerie();
+    this.modifier(() -> {
+      this.lieu = strReformat(lieu);
+      this.idLieu = RegistreLieux.AUCUN;
+    });
+  }
+  
+  /**
+   * Enregistre le lieu de l'événement dans le registre de son gestionnaire,
+   * qui lui donne son identifiant et la chaîne partagée du lieu.
+   *
+   * @param registre le registre des lieux du gestionnaire
+   */
+  void enregistrerLieu(RegistreLieux registre) {
+    this.idLieu = registre.enregistrer(this.lieu);
+    this.lieu = registre.lieu(this.idLieu);
+  }
+  
+  /**
+   * Renvoie l'identifiant du lieu de l'événement dans le
+   * {@link RegistreLieux} de son gestionnaire.
+   *
+   * @return l'identifiant du lieu, {@link RegistreLieux#AUCUN} si
+   *         l'événement n'est indexé par aucun gestionnaire
+   */
+  int idLieu() {
+    return this.idLieu;
+  }
+  
+  /**
+   * Recalcule les valeurs non sérialisées après la lecture. Le lieu est
+   * enregistré par le gestionnaire qui indexe l'événement.
+   *
+   * @param ois le flux de lecture
+   * @throws IOException en cas de problème de lecture
+   * @throws ClassNotFoundException si une classe lue est inconnue
+   */
+  private void readObject(ObjectInputStream ois)
+      throws IOException, ClassNotFoundException {
+    ois.defaultReadObject();
+    this.idLieu = RegistreLieux.AUCUN;
+    
+    /* Fichiers où les participants étaient dans un HashSet */
+    this.setParticipants(this.participants);
+    
+    /* Fichiers antérieurs aux listes d'attente */
+    if (this.listeAttente == null) {
+      this.listeAttente = new LinkedHashSet<>();
+    }
+    this.rangsAttente = new IdentityHashMap<>();
+    this.candidats = new TreeMap<>();
+    for (InterMembre mbr : this.listeAttente) {
+      this.classer(mbr);
+    }
+    this.calculerBornes();
   }
   
   /**
@@ -159,9 +460,15 @@ public class Evenement implements java.io.Serializable, Cloneable {
    * Modifie la date de l'événement.
    *
    * @param date la nouvelle date
+   * @throws UnsupportedOperationException si l'événement est une occurrence
+   *         de série
    */
   public void setDate(LocalDateTime date) {
-    this.date = date;
+    this.exigerHorsSerie();
+    this.modifier(() -> {
+      this.date = date;
+      this.calculerBornes();
+    });
   }
   
   /**
@@ -177,9 +484,25 @@ public class Evenement implements java.io.Serializable, Cloneable {
    * Modifie la durée de l'événement.
    *
    * @param duree la nouvelle durée
+   * @throws UnsupportedOperationException si l'événement est une occurrence
+   *         de série
    */
   public void setDuree(int duree) {
-    this.duree = duree;
+    this.exigerHorsSerie();
+    this.modifier(() -> {
+      this.duree = duree;
+      this.calculerBornes();
+    });
+  }
+  
+  /**
+   * Recalcule le début et la fin de l'événement en minutes.
+   */
+  private void calculerBornes() {
+    if (this.date != null) {
+      this.debut = minutes(this.date);
+      this.fin = this.debut + this.duree * 60L;
+    }
   }
   
   /**
@@ -198,24 +521,284 @@ public class Evenement implements java.io.Serializable, Cloneable {
    */
   public void setNbParticipantsMax(int nbParticipantsMax) {
     this.nbParticipantsMax = nbParticipantsMax;
+    
+    /* Les places ajoutées profitent à la liste d'attente */
+    this.promouvoir();
+    this.suivreOccurrence();
   }
   
   /**
-   * Renvoie l'ensemble des participants à l'événement.
+   * Renvoie l'ensemble des participants à l'événement. L'ensemble n'est pas
+   * modifiable : les membres s'inscrivent par {@link InterGestionEvenements}.
    *
    * @return l'ensemble des participants à l'événement
    */
   public Set<InterMembre> getParticipants() {
-    return this.participants;
+    return this.vueParticipants;
   }
   
   /**
-   * Modifie la liste des participants à l'événement.
+   * Renvoie les participants à l'événement sous forme de liste. C'est une vue
+   * non modifiable sur les participants : l'accès par position est en O(1),
+   * les participants étant copiés dans un tableau après chaque inscription
+   * ou désinscription.
    *
-   * @param participants la nouvelle liste des participants
+   * @return la liste des participants à l'événement
+   */
+  public List<InterMembre> listeParticipants() {
+    return this.listeVueParticipants;
+  }
+  
+  /**
+   * Modifie la liste des participants à l'événement. Les événements des
+   * membres ne sont pas modifiés.
+   *
+   * @param participants la nouvelle liste des participants, <code>null</code>
+   *        pour aucun participant
    */
   public void setParticipants(Set<InterMembre> participants) {
-    this.participants = participants;
+    Set<InterMembre> nouveaux =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+    
+    if (participants != null) {
+      nouveaux.addAll(participants);
+    }
+    this.participants = nouveaux;
+    this.vueParticipants = Collections.unmodifiableSet(nouveaux);
+    this.listeVueParticipants = new VueListe<>(nouveaux);
+    this.suivreOccurrence();
+  }
+  
+  /**
+   * Ajoute un participant à l'événement, sans modifier les événements du
+   * membre.
+   *
+   * @param mbr le participant à ajouter
+   * @return <code>true</code> si le membre ne participait pas déjà
+   */
+  boolean ajouterParticipant(InterMembre mbr) {
+    if (!this.participants.add(mbr)) {
+      return false;
+    }
+    
+    this.listeVueParticipants.invalider();
+    this.suivreOccurrence();
+    return true;
+  }
+  
+  /**
+   * Retire un participant de l'événement, sans modifier les événements du
+   * membre.
+   *
+   * @param mbr le participant à retirer
+   * @return <code>true</code> si le membre participait
+   */
+  boolean retirerParticipant(InterMembre mbr) {
+    if (!this.participants.remove(mbr)) {
+      return false;
+    }
+    
+    this.listeVueParticipants.invalider();
+    this.suivreOccurrence();
+    return true;
+  }
+  
+  /**
+   * Renvoie les membres en attente d'une place, dans l'ordre de leur demande.
+   * L'ensemble n'est pas modifiable.
+   *
+   * @return la liste d'attente de l'événement
+   */
+  public Set<InterMembre> getListeAttente() {
+    return Collections.unmodifiableSet(this.listeAttente);
+  }
+  
+  /**
+   * Ajoute un membre à la fin de la liste d'attente.
+   *
+   * @param mbr le membre à mettre en attente
+   * @return <code>true</code> si le membre n'était pas déjà en attente
+   */
+  boolean mettreEnAttente(InterMembre mbr) {
+    if (!this.listeAttente.add(mbr)) {
+      return false;
+    }
+    
+    this.classer(mbr);
+    mbr.ajouterAttente(this);
+    this.suivreOccurrence();
+    return true;
+  }
+  
+  /**
+   * Retire un membre de la liste d'attente.
+   *
+   * @param mbr le membre à retirer
+   * @return <code>true</code> si le membre était en attente
+   */
+  boolean retirerAttente(InterMembre mbr) {
+    if (!this.listeAttente.remove(mbr)) {
+      return false;
+    }
+    
+    Long rang = this.rangsAttente.remove(mbr);
+    if (rang != null) {
+      this.candidats.remove(rang);
+    }
+    mbr.retirerAttente(this);
+    this.suivreOccurrence();
+    return true;
+  }
+  
+  /**
+   * Donne le rang suivant à un membre qui arrive sur la liste d'attente.
+   *
+   * @param mbr le membre mis en attente
+   */
+  private void classer(InterMembre mbr) {
+    long rang = ++this.dernierRang;
+    this.rangsAttente.put(mbr, rang);
+    this.candidats.put(rang, mbr);
+  }
+  
+  /**
+   * Remet un membre écarté de la liste d'attente parmi les candidats, à son
+   * rang : il vient de quitter un événement et peut être devenu disponible.
+   *
+   * @param mbr le membre en attente
+   */
+  void reprendreAttente(InterMembre mbr) {
+    Long rang = this.rangsAttente.get(mbr);
+    if (rang != null) {
+      this.candidats.put(rang, mbr);
+    }
+  }
+  
+  /**
+   * Désinscrit un participant de l'événement et donne sa place à la liste
+   * d'attente.
+   *
+   * @param mbr le participant à désinscrire
+   * @return les membres inscrits à sa place, <code>null</code> si le membre
+   *         ne participait pas à l'événement
+   */
+  List<InterMembre> desinscrire(InterMembre mbr) {
+    if (!this.retirerParticipant(mbr)) {
+      return null;
+    }
+    
+    mbr.retirerEvenement(this);
+    return this.promouvoir();
+  }
+  
+  /**
+   * Inscrit les premiers membres disponibles de la liste d'attente tant qu'il
+   * reste des places. Les membres qui se sont inscrits entre-temps à un autre
+   * événement au même moment sont passés mais gardent leur rang dans la
+   * liste : ils seront inscrits à une prochaine place s'ils sont libres.
+   *
+   * Un {@link Membre} passé est écarté des candidats jusqu'à ce qu'il quitte
+   * un de ses événements ({@link #reprendreAttente(InterMembre)}) : une
+   * longue file de membres occupés n'est pas reparcourue à chaque
+   * désinscription. Les autres implémentations de {@link InterMembre}, qui
+   * ne préviennent pas l'événement, sont réexaminées à chaque promotion.
+   *
+   * @return les membres inscrits
+   */
+  List<InterMembre> promouvoir() {
+    List<InterMembre> promus = new ArrayList<>();
+    Iterator<InterMembre> it = this.candidats.values().iterator();
+    
+    while (it.hasNext() && this.participants.size() < this.nbParticipantsMax) {
+      InterMembre mbr = it.next();
+      
+      if (mbr.estDisponible(this)) {
+        it.remove();
+        this.rangsAttente.remove(mbr);
+        this.listeAttente.remove(mbr);
+        mbr.retirerAttente(this);
+        mbr.ajouterEvenement(this);
+        this.ajouterParticipant(mbr);
+        promus.add(mbr);
+      } else if (mbr instanceof Membre) {
+        it.remove();
+      }
+    }
+    
+    return promus;
+  }
+  
+  /**
+   * Convertit une date en minutes depuis l'époque (les secondes sont
+   * ignorées).
+   *
+   * @param date la date à convertir
+   * @return le nombre de minutes depuis l'époque
+   */
+  static long minutes(LocalDateTime date) {
+    return Math.floorDiv(date.toEpochSecond(ZoneOffset.UTC), 60);
+  }
+  
+  /**
+   * Convertit un nombre de minutes depuis l'époque en date.
+   *
+   * @param minutes le nombre de minutes depuis l'époque
+   * @return la date correspondante
+   */
+  static LocalDateTime date(long minutes) {
+    return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+  }
+  
+  /**
+   * Crée un événement repère pour chercher dans un ensemble trié par
+   * {@link #ORDRE_CHRONOLOGIQUE} : il est placé après tous les événements qui
+   * commencent à une minute donnée et avant ceux qui commencent après.
+   *
+   * @param minutes la minute de début (en minutes depuis l'époque)
+   * @return l'événement repère
+   */
+  static Evenement repere(long minutes) {
+    return new Evenement("", null, date(minutes), Integer.MAX_VALUE, 0, null);
+  }
+  
+  /**
+   * Renvoie les événements d'un ensemble trié par
+   * {@link #ORDRE_CHRONOLOGIQUE} qui commencent dans une période, à la minute
+   * près.
+   *
+   * @param chronologie les événements triés
+   * @param debut le début de la période (inclus)
+   * @param fin la fin de la période (exclue)
+   * @return les événements de la période, par ordre chronologique
+   */
+  static List<Evenement> entre(NavigableSet<Evenement> chronologie,
+      LocalDateTime debut, LocalDateTime fin) {
+    if (debut == null || fin == null || !debut.isBefore(fin)) {
+      return new ArrayList<>();
+    }
+    
+    /* Les repères se placent après les événements de la minute précédente */
+    return new ArrayList<>(
+        chronologie.subSet(repere(minutes(debut) - 1), false,
+            repere(minutes(fin) - 1), false));
+  }
+  
+  /**
+   * Renvoie le début de l'événement en minutes depuis l'époque.
+   *
+   * @return le début de l'événement
+   */
+  long debutMinutes() {
+    return this.debut;
+  }
+  
+  /**
+   * Renvoie la fin de l'événement en minutes depuis l'époque.
+   *
+   * @return la fin de l'événement
+   */
+  long finMinutes() {
+    return this.fin;
   }
   
   /**
@@ -225,11 +808,15 @@ public class Evenement implements java.io.Serializable, Cloneable {
    * @return <code>faux</code> si evt a le même lieu
    */
   public boolean pasDeChevauchementLieu(Evenement evt) {
-    return !this.getLieu().equals(evt.getLieu());
+    if (this.gestionnaire != null && this.gestionnaire == evt.gestionnaire) {
+      return this.idLieu != evt.idLieu;
+    }
+    
+    return !Objects.equals(this.lieu, evt.lieu);
   }
   
   /**
-   * Teste si deux événement on lieu en même temps.
+   * Teste si deux événement on lieu en même temps (à la minute près).
    *
    * @param evt l'événement à comparer
    * @return <code>faux</code> si evt se déroule au même moment
@@ -239,8 +826,7 @@ public class Evenement implements java.io.Serializable, Cloneable {
      * Vrai si le début de this est après la fin de evt OU la fin de this est
      * avant le début de evt
      */
-    return this.getDate().isAfter(evt.getDate().plusHours(evt.getDuree()))
-        || this.getDate().plusHours(this.getDuree()).isBefore(evt.getDate());
+    return this.debut > evt.fin || this.fin < evt.debut;
   }
   
   /**
@@ -279,21 +865,15 @@ public class Evenement implements java.io.Serializable, Cloneable {
     Evenement other = (Evenement) obj;
     return this.getDate().equals(other.getDate())
         && this.getDuree() == other.getDuree()
-        && this.getLieu().equals(other.getLieu())
+        && Objects.equals(this.lieu, other.lieu)
         && this.getNbParticipantsMax() == other.getNbParticipantsMax()
         && this.getNom().equals(other.getNom());
   }
   
   @Override
   public Evenement clone() {
-    Evenement evenement =
-        new Evenement(this.getNom(), this.getLieu(), this.getDate(),
-            this.getDuree(), this.getNbParticipantsMax(), new HashSet<>());
-    
-    if (this.getParticipants() != null) {
-      evenement.getParticipants().addAll(this.getParticipants());
-    }
-    return evenement;
+    return new Evenement(this.getNom(), this.getLieu(), this.getDate(),
+        this.getDuree(), this.getNbParticipantsMax(), this.getParticipants());
   }
   
   @Override
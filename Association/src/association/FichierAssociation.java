@@ -0,0 +1,777 @@
+package association;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format binaire des fichiers <code>.aser</code> d'une association, lu et
+ * écrit par blocs sur des canaux NIO.
+ *
+ * <p>
+ * Le fichier commence par un en-tête de taille fixe : le nombre magique
+ * <code>ASER</code>, la version du format, le nombre d'éléments de chaque
+ * section, les derniers numéros attribués et le numéro du président. Suit la
+ * table des chaînes : chaque chaîne distincte (nom, prénom, adresse, lieu)
+ * n'est écrite qu'une fois, en UTF-8 précédée de sa longueur, et les
+ * enregistrements y renvoient par sa position (-1 pour <code>null</code>).
+ * Viennent ensuite les enregistrements de taille fixe des membres, des
+ * événements, des séries et des occurrences créées des séries, puis les
+ * inscriptions et les listes d'attente sous forme de couples (position de
+ * l'événement, numéro du membre). Les événements sont repérés par leur
+ * position : les événements du gestionnaire puis les occurrences.
+ * </p>
+ *
+ * <p>
+ * Les fichiers écrits par la sérialisation Java, qui commencent par
+ * <code>0xACED</code>, sont reconnus par {@link #estSerialisationJava(Path)}
+ * et lus par {@link GestionAssociation} comme avant.
+ * </p>
+ *
+ * @author Nicolas Le Bars
+ * @see GestionAssociation#sauvegarderDonnees(String)
+ * @see GestionAssociation#chargerDonnees(String)
+ */
+final class FichierAssociation {
+  
+  /**
+   * Le nombre magique, « ASER » en ASCII.
+   */
+  private static final int MAGIE = 0x41534552;
+  
+  /**
+   * La version du format.
+   */
+  private static final short VERSION = 1;
+  
+  /**
+   * Les deux premiers octets d'un flux de sérialisation Java.
+   */
+  private static final short MAGIE_SERIALISATION = (short) 0xACED;
+  
+  /**
+   * La taille des tampons de lecture et d'écriture.
+   */
+  private static final int TAILLE_TAMPON = 1 << 16;
+  
+  /**
+   * La taille d'un enregistrement de membre : numéro, nom, prénom, adresse et
+   * âge.
+   */
+  private static final int TAILLE_MEMBRE = 5 * 4;
+  
+  /**
+   * La taille d'un enregistrement d'événement : numéro, nom, lieu, date,
+   * durée et nombre maximum de participants.
+   */
+  private static final int TAILLE_EVENEMENT = 3 * 4 + 12 + 2 * 4;
+  
+  /**
+   * La taille d'un enregistrement de série : nom, lieu, première date,
+   * période, dernier jour, durée et nombre maximum de participants.
+   */
+  private static final int TAILLE_SERIE = 2 * 4 + 12 + 4 + 8 + 2 * 4;
+  
+  /**
+   * La taille d'un enregistrement d'occurrence : position de la série, numéro
+   * de l'occurrence, puis les champs d'un événement sans son numéro.
+   */
+  private static final int TAILLE_OCCURRENCE = 4 * 4 + 12 + 2 * 4;
+  
+  private FichierAssociation() {
+  }
+  
+  /**
+   * Teste si un fichier a été écrit par la sérialisation Java, l'ancien
+   * format des fichiers <code>.aser</code>.
+   *
+   * @param chemin le fichier
+   * @return <code>true</code> si le fichier commence par <code>0xACED</code>
+   * @throws IOException en cas de problème de lecture
+   */
+  static boolean estSerialisationJava(Path chemin) throws IOException {
+    try (FileChannel canal = FileChannel.open(chemin)) {
+      ByteBuffer debut = ByteBuffer.allocate(2);
+      while (debut.hasRemaining() && canal.read(debut) >= 0) {
+        continue;
+      }
+      return !debut.hasRemaining() && debut.getShort(0) == MAGIE_SERIALISATION;
+    }
+  }
+  
+  /**
+   * Écrit les données d'une association dans un fichier. Les participants et
+   * les membres en attente qui ne sont pas des membres de l'association ne
+   * sont pas écrits.
+   *
+   * @param chemin le fichier, remplacé s'il existe
+   * @param gestEvenements le gestionnaire des événements
+   * @param gestMembres le gestionnaire des membres
+   * @throws IOException en cas de problème d'écriture
+   */
+  static void ecrire(Path chemin, GestionEvenements gestEvenements,
+      GestionMembres gestMembres) throws IOException {
+    List<InterMembre> membres = gestMembres.listeMembres();
+    List<Evenement> evenements = gestEvenements.ensembleEvenements();
+    List<SerieEvenements> series = gestEvenements.ensembleSeries();
+    
+    /* Occurrences créées, repérées par leur série et leur numéro */
+    List<Evenement> occurrences = new ArrayList<>();
+    List<int[]> rangs = new ArrayList<>();
+    for (int s = 0; s < series.size(); s++) {
+      for (Map.Entry<Integer, Evenement> entree : series.get(s)
+          .occurrencesParNumero().entrySet()) {
+        occurrences.add(entree.getValue());
+        rangs.add(new int[] {s, entree.getKey()});
+      }
+    }
+    
+    /* Table des chaînes et couples d'inscription */
+    TableChaines chaines = new TableChaines();
+    for (InterMembre mbr : membres) {
+      InformationPersonnelle info = mbr.getInformationPersonnelle();
+      chaines.ajouter(info.getNom());
+      chaines.ajouter(info.getPrenom());
+      chaines.ajouter(info.getAdresse());
+    }
+    for (SerieEvenements serie : series) {
+      chaines.ajouter(serie.getNom());
+      chaines.ajouter(serie.getLieu());
+    }
+    
+    List<Evenement> tous = new ArrayList<>(evenements);
+    tous.addAll(occurrences);
+    Couples participations = new Couples();
+    Couples attentes = new Couples();
+    for (int e = 0; e < tous.size(); e++) {
+      Evenement evt = tous.get(e);
+      chaines.ajouter(evt.getNom());
+      chaines.ajouter(evt.getLieu());
+      
+      for (InterMembre mbr : evt.getParticipants()) {
+        if (gestMembres.membre(mbr.getNumero()) == mbr) {
+          participations.ajouter(e, mbr.getNumero());
+        }
+      }
+      for (InterMembre mbr : evt.getListeAttente()) {
+        if (gestMembres.membre(mbr.getNumero()) == mbr) {
+          attentes.ajouter(e, mbr.getNumero());
+        }
+      }
+    }
+    
+    InterMembre president = gestMembres.president();
+    
+    try (FileChannel canal = FileChannel.open(chemin,
+        StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      Ecrivain out = new Ecrivain(canal);
+      
+      /* En-tête */
+      out.entier(MAGIE);
+      out.reserver(4);
+      out.tampon.putShort(VERSION);
+      out.tampon.putShort((short) 0);
+      out.entier(chaines.taille());
+      out.entier(membres.size());
+      out.entier(evenements.size());
+      out.entier(series.size());
+      out.entier(occurrences.size());
+      out.entier(participations.taille);
+      out.entier(attentes.taille);
+      out.entier(gestMembres.dernierNumero());
+      out.entier(gestEvenements.dernierNumero());
+      out.entier(president == null ? 0 : president.getNumero());
+      
+      for (byte[] octets : chaines.octets) {
+        out.entier(octets.length);
+        out.octets(octets);
+      }
+      
+      for (InterMembre mbr : membres) {
+        InformationPersonnelle info = mbr.getInformationPersonnelle();
+        out.reserver(TAILLE_MEMBRE);
+        out.tampon.putInt(mbr.getNumero());
+        out.tampon.putInt(chaines.position(info.getNom()));
+        out.tampon.putInt(chaines.position(info.getPrenom()));
+        out.tampon.putInt(chaines.position(info.getAdresse()));
+        out.tampon.putInt(info.getAge());
+      }
+      
+      for (Evenement evt : evenements) {
+        out.reserver(TAILLE_EVENEMENT);
+        out.tampon.putInt(evt.getNumero());
+        ecrireEvenement(out.tampon, evt, chaines);
+      }
+      
+      for (SerieEvenements serie : series) {
+        out.reserver(TAILLE_SERIE);
+        out.tampon.putInt(chaines.position(serie.getNom()));
+        out.tampon.putInt(chaines.position(serie.getLieu()));
+        ecrireDate(out.tampon, serie.getPremiere());
+        out.tampon.putInt(serie.getPeriode());
+        out.tampon.putLong(serie.getFin().toEpochDay());
+        out.tampon.putInt(serie.getDuree());
+        out.tampon.putInt(serie.getNbParticipantsMax());
+      }
+      
+      for (int o = 0; o < occurrences.size(); o++) {
+        out.reserver(TAILLE_OCCURRENCE);
+        out.tampon.putInt(rangs.get(o)[0]);
+        out.tampon.putInt(rangs.get(o)[1]);
+        ecrireEvenement(out.tampon, occurrences.get(o), chaines);
+      }
+      
+      participations.ecrire(out);
+      attentes.ecrire(out);
+      out.vider();
+    }
+  }
+  
+  /**
+   * Lit les données d'une association dans des gestionnaires vides. Les
+   * index des gestionnaires sont construits au fur et à mesure, et les
+   * inscriptions sont reportées dans les chronologies des membres.
+   *
+   * @param chemin le fichier
+   * @param gestEvenements le gestionnaire des événements à remplir
+   * @param gestMembres le gestionnaire des membres à remplir
+   * @throws IOException en cas de problème de lecture, ou si le fichier n'est
+   *         pas au format attendu : les nombres d'enregistrements, les
+   *         longueurs des chaînes et les numéros d'occurrence sont vérifiés
+   *         avant toute allocation
+   */
+  static void lire(Path chemin, GestionEvenements gestEvenements,
+      GestionMembres gestMembres) throws IOException {
+    try (FileChannel canal = FileChannel.open(chemin)) {
+      Lecteur in = new Lecteur(canal);
+      
+      /* En-tête */
+      in.exiger(8);
+      if (in.tampon.getInt() != MAGIE) {
+        throw new IOException("Fichier d'association inconnu : " + chemin);
+      }
+      short version = in.tampon.getShort();
+      in.tampon.getShort();
+      if (version != VERSION) {
+        throw new IOException("Version de fichier non prise en charge : "
+            + version);
+      }
+      
+      int nbChaines = in.taille();
+      int nbMembres = in.taille();
+      int nbEvenements = in.taille();
+      int nbSeries = in.taille();
+      int nbOccurrences = in.taille();
+      int nbParticipations = in.taille();
+      int nbAttentes = in.taille();
+      int dernierMembre = in.entier();
+      int dernierEvenement = in.entier();
+      int numeroPresident = in.entier();
+      
+      /* Chaque enregistrement annoncé doit tenir dans la suite du fichier */
+      long minimum = 4L * nbChaines + (long) TAILLE_MEMBRE * nbMembres
+          + (long) TAILLE_EVENEMENT * nbEvenements
+          + (long) TAILLE_SERIE * nbSeries
+          + (long) TAILLE_OCCURRENCE * nbOccurrences
+          + 8L * ((long) nbParticipations + nbAttentes);
+      if (minimum > in.restants()) {
+        throw new EOFException("Fichier d'association tronqué : "
+            + minimum + " octets annoncés, " + in.restants() + " disponibles");
+      }
+      if ((long) nbEvenements + nbOccurrences > Integer.MAX_VALUE - 8) {
+        throw new IOException("Trop d'événements : "
+            + ((long) nbEvenements + nbOccurrences));
+      }
+      
+      String[] chaines = new String[nbChaines];
+      for (int i = 0; i < nbChaines; i++) {
+        chaines[i] = in.chaine(in.taille());
+      }
+      
+      List<InterMembre> membres = new ArrayList<>(nbMembres);
+      for (int i = 0; i < nbMembres; i++) {
+        in.exiger(TAILLE_MEMBRE);
+        int numero = in.tampon.getInt();
+        String nom = chaine(chaines, in.tampon.getInt());
+        String prenom = chaine(chaines, in.tampon.getInt());
+        String adresse = chaine(chaines, in.tampon.getInt());
+        Membre mbr = new Membre();
+        mbr.definirInformationPersonnnelle(
+            new InformationPersonnelle(nom, prenom, adresse,
+                in.tampon.getInt()));
+        mbr.numeroter(numero);
+        membres.add(mbr);
+      }
+      gestMembres.ajouterMembres(membres);
+      gestMembres.restaurerDernierNumero(dernierMembre);
+      gestMembres.designerPresident(gestMembres.membre(numeroPresident));
+      
+      Evenement[] tous = new Evenement[nbEvenements + nbOccurrences];
+      for (int i = 0; i < nbEvenements; i++) {
+        in.exiger(TAILLE_EVENEMENT);
+        int numero = in.tampon.getInt();
+        tous[i] = lireEvenement(in.tampon, chaines);
+        tous[i].numeroter(numero);
+        gestEvenements.ajouter(tous[i]);
+      }
+      gestEvenements.restaurerDernierNumero(dernierEvenement);
+      
+      SerieEvenements[] series = new SerieEvenements[nbSeries];
+      for (int i = 0; i < nbSeries; i++) {
+        in.exiger(TAILLE_SERIE);
+        String nom = chaine(chaines, in.tampon.getInt());
+        String lieu = chaine(chaines, in.tampon.getInt());
+        LocalDateTime premiere = lireDate(in.tampon);
+        int periode = in.tampon.getInt();
+        LocalDate fin = lireJour(in.tampon);
+        if (premiere == null || periode <= 0) {
+          throw new IOException("Série invalide : " + nom);
+        }
+        series[i] = new SerieEvenements(nom, lieu, premiere, periode, fin,
+            in.tampon.getInt(), in.tampon.getInt());
+        gestEvenements.ajouterSerie(series[i]);
+      }
+      
+      for (int i = nbEvenements; i < tous.length; i++) {
+        in.exiger(TAILLE_OCCURRENCE);
+        int serie = in.tampon.getInt();
+        int numero = in.tampon.getInt();
+        tous[i] = lireEvenement(in.tampon, chaines);
+        if (serie < 0 || serie >= nbSeries) {
+          throw new IOException("Série inconnue : " + serie);
+        }
+        if (numero < 0 || numero >= series[serie].nombreOccurrences()) {
+          throw new IOException("Occurrence inconnue : " + numero);
+        }
+        series[serie].restaurerOccurrence(numero, tous[i]);
+      }
+      
+      /* Inscriptions puis listes d'attente, dans l'ordre des demandes */
+      for (long i = 0; i < (long) nbParticipations + nbAttentes; i++) {
+        in.exiger(8);
+        int e = in.tampon.getInt();
+        InterMembre mbr = gestMembres.membre(in.tampon.getInt());
+        if (e < 0 || e >= tous.length) {
+          throw new IOException("Événement inconnu : " + e);
+        }
+        
+        if (mbr == null) {
+          continue;
+        }
+        if (i < nbParticipations) {
+          tous[e].ajouterParticipant(mbr);
+          mbr.ajouterEvenement(tous[e]);
+        } else {
+          tous[e].mettreEnAttente(mbr);
+        }
+      }
+    }
+  }
+  
+  /**
+   * Écrit les champs d'un événement, sans son numéro.
+   *
+   * @param tampon le tampon, qui a la place nécessaire
+   * @param evt l'événement
+   * @param chaines la table des chaînes
+   */
+  private static void ecrireEvenement(ByteBuffer tampon, Evenement evt,
+      TableChaines chaines) {
+    tampon.putInt(chaines.position(evt.getNom()));
+    tampon.putInt(chaines.position(evt.getLieu()));
+    ecrireDate(tampon, evt.getDate());
+    tampon.putInt(evt.getDuree());
+    tampon.putInt(evt.getNbParticipantsMax());
+  }
+  
+  /**
+   * Lit les champs d'un événement écrits par
+   * {@link #ecrireEvenement(ByteBuffer, Evenement, TableChaines)}.
+   *
+   * @param tampon le tampon, qui contient les champs
+   * @param chaines la table des chaînes
+   * @return l'événement, sans participants
+   * @throws IOException si une chaîne est inconnue
+   */
+  private static Evenement lireEvenement(ByteBuffer tampon, String[] chaines)
+      throws IOException {
+    String nom = chaine(chaines, tampon.getInt());
+    String lieu = chaine(chaines, tampon.getInt());
+    LocalDateTime date = lireDate(tampon);
+    return new Evenement(nom, lieu, date, tampon.getInt(), tampon.getInt(),
+        null);
+  }
+  
+  /**
+   * Écrit une date sur 12 octets : les secondes depuis l'époque, puis les
+   * nanosecondes.
+   *
+   * @param tampon le tampon, qui a la place nécessaire
+   * @param date la date, ou <code>null</code>
+   */
+  private static void ecrireDate(ByteBuffer tampon, LocalDateTime date) {
+    if (date == null) {
+      tampon.putLong(Long.MIN_VALUE);
+      tampon.putInt(0);
+    } else {
+      tampon.putLong(date.toEpochSecond(ZoneOffset.UTC));
+      tampon.putInt(date.getNano());
+    }
+  }
+  
+  /**
+   * Lit une date écrite par {@link #ecrireDate(ByteBuffer, LocalDateTime)}.
+   *
+   * @param tampon le tampon, qui contient la date
+   * @return la date, ou <code>null</code>
+   * @throws IOException si la date n'est pas valide
+   */
+  private static LocalDateTime lireDate(ByteBuffer tampon)
+      throws IOException {
+    long secondes = tampon.getLong();
+    int nanos = tampon.getInt();
+    if (secondes == Long.MIN_VALUE) {
+      return null;
+    }
+    
+    try {
+      return LocalDateTime.ofEpochSecond(secondes, nanos, ZoneOffset.UTC);
+    } catch (DateTimeException e) {
+      throw new IOException("Date invalide : " + secondes, e);
+    }
+  }
+  
+  /**
+   * Lit un jour écrit en nombre de jours depuis l'époque.
+   *
+   * @param tampon le tampon, qui contient le jour
+   * @return le jour
+   * @throws IOException si le jour n'est pas valide
+   */
+  private static LocalDate lireJour(ByteBuffer tampon) throws IOException {
+    long jour = tampon.getLong();
+    
+    try {
+      return LocalDate.ofEpochDay(jour);
+    } catch (DateTimeException e) {
+      throw new IOException("Jour invalide : " + jour, e);
+    }
+  }
+  
+  /**
+   * Renvoie la chaîne d'une position de la table des chaînes.
+   *
+   * @param chaines la table des chaînes
+   * @param position la position, -1 pour <code>null</code>
+   * @return la chaîne
+   * @throws IOException si la position est hors de la table
+   */
+  private static String chaine(String[] chaines, int position)
+      throws IOException {
+    if (position == -1) {
+      return null;
+    }
+    if (position < 0 || position >= chaines.length) {
+      throw new IOException("Chaîne inconnue : " + position);
+    }
+    return chaines[position];
+  }
+  
+  /**
+   * Table des chaînes distinctes d'un fichier, dans l'ordre de leur première
+   * apparition.
+   */
+  private static final class TableChaines {
+    
+    /**
+     * La position de chaque chaîne.
+     */
+    private final Map<String, Integer> positions = new HashMap<>();
+    
+    /**
+     * Les chaînes encodées en UTF-8, par position.
+     */
+    private final List<byte[]> octets = new ArrayList<>();
+    
+    /**
+     * Ajoute une chaîne à la table si elle n'y est pas déjà.
+     *
+     * @param chaine la chaîne, ignorée si elle est <code>null</code>
+     */
+    void ajouter(String chaine) {
+      if (chaine != null && !this.positions.containsKey(chaine)) {
+        this.positions.put(chaine, this.octets.size());
+        this.octets.add(chaine.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    
+    /**
+     * Renvoie la position d'une chaîne de la table.
+     *
+     * @param chaine la chaîne
+     * @return la position, -1 pour <code>null</code>
+     */
+    int position(String chaine) {
+      return chaine == null ? -1 : this.positions.get(chaine);
+    }
+    
+    /**
+     * Renvoie le nombre de chaînes de la table.
+     *
+     * @return le nombre de chaînes
+     */
+    int taille() {
+      return this.octets.size();
+    }
+  }
+  
+  /**
+   * Liste de couples (position d'un événement, numéro d'un membre), rangés
+   * à la suite dans un tableau d'entiers.
+   */
+  private static final class Couples {
+    
+    /**
+     * Les couples, à plat.
+     */
+    private int[] valeurs = new int[16];
+    
+    /**
+     * Le nombre de couples.
+     */
+    private int taille;
+    
+    /**
+     * Ajoute un couple à la fin de la liste.
+     *
+     * @param evenement la position de l'événement
+     * @param membre le numéro du membre
+     */
+    void ajouter(int evenement, int membre) {
+      if (2 * this.taille == this.valeurs.length) {
+        this.valeurs = java.util.Arrays.copyOf(this.valeurs,
+            2 * this.valeurs.length);
+      }
+      this.valeurs[2 * this.taille] = evenement;
+      this.valeurs[2 * this.taille + 1] = membre;
+      this.taille++;
+    }
+    
+    /**
+     * Écrit les couples dans l'ordre de la liste.
+     *
+     * @param out l'écrivain
+     * @throws IOException en cas de problème d'écriture
+     */
+    void ecrire(Ecrivain out) throws IOException {
+      for (int i = 0; i < 2 * this.taille; i++) {
+        out.entier(this.valeurs[i]);
+      }
+    }
+  }
+  
+  /**
+   * Écriture par blocs dans un canal.
+   */
+  private static final class Ecrivain {
+    
+    /**
+     * Le canal d'écriture.
+     */
+    private final WritableByteChannel canal;
+    
+    /**
+     * Le tampon des octets qui n'ont pas encore été écrits.
+     */
+    private final ByteBuffer tampon = ByteBuffer.allocate(TAILLE_TAMPON);
+    
+    /**
+     * Crée un écrivain sur un canal.
+     *
+     * @param canal le canal d'écriture
+     */
+    Ecrivain(WritableByteChannel canal) {
+      this.canal = canal;
+    }
+    
+    /**
+     * Vide le tampon si la place restante est insuffisante.
+     *
+     * @param n le nombre d'octets à écrire, au plus la taille du tampon
+     * @throws IOException en cas de problème d'écriture
+     */
+    void reserver(int n) throws IOException {
+      if (this.tampon.remaining() < n) {
+        this.vider();
+      }
+    }
+    
+    /**
+     * Écrit le contenu du tampon dans le canal.
+     *
+     * @throws IOException en cas de problème d'écriture
+     */
+    void vider() throws IOException {
+      this.tampon.flip();
+      while (this.tampon.hasRemaining()) {
+        this.canal.write(this.tampon);
+      }
+      this.tampon.clear();
+    }
+    
+    /**
+     * Écrit un entier.
+     *
+     * @param valeur l'entier
+     * @throws IOException en cas de problème d'écriture
+     */
+    void entier(int valeur) throws IOException {
+      this.reserver(4);
+      this.tampon.putInt(valeur);
+    }
+    
+    /**
+     * Écrit des octets, directement dans le canal s'ils dépassent la taille
+     * du tampon.
+     *
+     * @param octets les octets
+     * @throws IOException en cas de problème d'écriture
+     */
+    void octets(byte[] octets) throws IOException {
+      if (octets.length > this.tampon.capacity()) {
+        this.vider();
+        ByteBuffer grand = ByteBuffer.wrap(octets);
+        while (grand.hasRemaining()) {
+          this.canal.write(grand);
+        }
+      } else {
+        this.reserver(octets.length);
+        this.tampon.put(octets);
+      }
+    }
+  }
+  
+  /**
+   * Lecture par blocs dans un canal.
+   */
+  private static final class Lecteur {
+    
+    /**
+     * Le canal de lecture.
+     */
+    private final FileChannel canal;
+    
+    /**
+     * Le tampon des octets lus et pas encore décodés.
+     */
+    private ByteBuffer tampon = ByteBuffer.allocate(TAILLE_TAMPON);
+    
+    /**
+     * Crée un lecteur sur un canal.
+     *
+     * @param canal le canal de lecture
+     */
+    Lecteur(FileChannel canal) {
+      this.canal = canal;
+      this.tampon.flip();
+    }
+    
+    /**
+     * Lit le canal jusqu'à ce que le tampon contienne au moins un nombre
+     * d'octets, en agrandissant le tampon si besoin.
+     *
+     * @param n le nombre d'octets nécessaires
+     * @throws IOException si le fichier se termine avant
+     */
+    void exiger(int n) throws IOException {
+      if (this.tampon.remaining() >= n) {
+        return;
+      }
+      
+      if (n > this.tampon.capacity()) {
+        ByteBuffer grand = ByteBuffer.allocate(n);
+        grand.put(this.tampon);
+        this.tampon = grand;
+      } else {
+        this.tampon.compact();
+      }
+      
+      while (this.tampon.position() < n) {
+        if (this.canal.read(this.tampon) < 0) {
+          throw new EOFException("Fichier d'association tronqué");
+        }
+      }
+      this.tampon.flip();
+    }
+    
+    /**
+     * Renvoie le nombre d'octets du fichier qui restent à décoder.
+     *
+     * @return le nombre d'octets restants
+     * @throws IOException en cas de problème de lecture
+     */
+    long restants() throws IOException {
+      return this.canal.size() - this.canal.position()
+          + this.tampon.remaining();
+    }
+    
+    /**
+     * Lit un entier.
+     *
+     * @return l'entier
+     * @throws IOException en cas de problème de lecture
+     */
+    int entier() throws IOException {
+      this.exiger(4);
+      return this.tampon.getInt();
+    }
+    
+    /**
+     * Lit un nombre d'éléments ou une longueur, qui ne peut pas être négatif.
+     *
+     * @return le nombre lu
+     * @throws IOException si le nombre est négatif
+     */
+    int taille() throws IOException {
+      int taille = this.entier();
+      if (taille < 0) {
+        throw new IOException("Taille négative : " + taille);
+      }
+      return taille;
+    }
+    
+    /**
+     * Lit une chaîne encodée en UTF-8.
+     *
+     * @param longueur le nombre d'octets de la chaîne
+     * @return la chaîne
+     * @throws IOException en cas de problème de lecture, ou si la chaîne
+     *         dépasse la fin du fichier
+     */
+    String chaine(int longueur) throws IOException {
+      if (longueur > this.restants()) {
+        throw new EOFException("Chaîne tronquée : " + longueur + " octets");
+      }
+      this.exiger(longueur);
+      int debut = this.tampon.position();
+      String chaine = new String(this.tampon.array(),
+          this.tampon.arrayOffset() + debut, longueur, StandardCharsets.UTF_8);
+      this.tampon.position(debut + longueur);
+      return chaine;
+    }
+  }
+}
@@ -1,12 +1,12 @@
 package association;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -22,6 +22,16 @@ public class GestionAssociation implements InterGestionAssociation {
   private InterGestionEvenements gestionEvenements;
   private InterGestionMembres gestionMembres;
   
+  /**
+   * Les incohérences trouvées et réparées lors du dernier chargement.
+   */
+  private List<Anomalie> anomaliesChargement = List.of();
+  
+  /**
+   * Les observateurs prévenus quand les données sont remplacées.
+   */
+  private final List<ObservateurAssociation> observateurs = new ArrayList<>();
+  
   /**
    * Renvoie le gestionnaire d'événements de l'association. L'objet retourné est
    * unique. Au premier appel de la méthode, il est créé et aux appels suivants,
@@ -54,43 +64,148 @@ public class GestionAssociation implements InterGestionAssociation {
     return this.gestionMembres;
   }
   
+  /**
+   * Supprime toutes les données de l'association en temps constant : les
+   * gestionnaires sont abandonnés et seront recréés vides au prochain accès.
+   * Les observateurs sont prévenus une fois.
+   */
+  @Override
+  public void reinitialiser() {
+    this.gestionEvenements = null;
+    this.gestionMembres = null;
+    this.anomaliesChargement = List.of();
+    this.notifierObservateurs();
+  }
+  
   /**
    * Enregistre dans un fichier toutes les données de l'association,
-   * c'est-à-dire l'ensemble des membres et des événéments.
+   * c'est-à-dire l'ensemble des membres et des événéments, au format binaire
+   * décrit par {@link FichierAssociation}.
    *
    * @param nomFichier le fichier dans lequel enregistrer les données
    * @throws IOException en cas de problème d'écriture dans le fichier
    */
   @Override
   public void sauvegarderDonnees(String nomFichier) throws IOException {
-    ObjectOutputStream oos = new ObjectOutputStream(
-        new BufferedOutputStream(new FileOutputStream(nomFichier)));
-    oos.writeObject(this.gestionnaireEvenements());
-    oos.writeObject(this.gestionnaireMembre());
-    oos.close();
+    FichierAssociation.ecrire(Path.of(nomFichier),
+        (GestionEvenements) this.gestionnaireEvenements(),
+        (GestionMembres) this.gestionnaireMembre());
   }
   
   /**
    * Charge à partir d'un fichier toutes les données de l'association,
    * c'est-à-dire un ensemble de membres et d'événements. Si des membres et des
    * événéments avaient déjà été définis, ils sont écrasés par le contenu trouvé
-   * dans le fichier.
+   * dans le fichier. Les données chargées sont vérifiées et réparées si
+   * besoin (voir {@link #anomaliesChargement()}), puis les observateurs sont
+   * prévenus. Les fichiers écrits par la sérialisation Java des versions
+   * précédentes sont toujours lus.
    *
    * @param nomFichier le fichier à partir duquel charger les données
-   * @throws IOException en cas de problème de lecture dans le fichier
+   * @throws IOException en cas de problème de lecture dans le fichier ; les
+   *         données de l'association ne sont alors pas modifiées
    */
   @Override
   public void chargerDonnees(String nomFichier) throws IOException {
+    Path chemin = Path.of(nomFichier);
+    
+    if (FichierAssociation.estSerialisationJava(chemin)) {
+      this.chargerSerialisation(nomFichier);
+    } else {
+      GestionEvenements evenements = new GestionEvenements();
+      GestionMembres membres = new GestionMembres();
+      FichierAssociation.lire(chemin, evenements, membres);
+      this.gestionEvenements = evenements;
+      this.gestionMembres = membres;
+    }
+    
+    this.anomaliesChargement = this.verifierIntegrite(true);
+    this.notifierObservateurs();
+  }
+  
+  /**
+   * Charge les gestionnaires d'un fichier écrit par la sérialisation Java.
+   * Les deux gestionnaires ne remplacent ceux de l'association qu'une fois
+   * lus tous les deux.
+   *
+   * @param nomFichier le fichier à partir duquel charger les données
+   * @throws IOException en cas de problème de lecture dans le fichier, ou si
+   *         le fichier ne contient pas les gestionnaires attendus
+   */
+  private void chargerSerialisation(String nomFichier) throws IOException {
     ObjectInputStream ois = new ObjectInputStream(
         new BufferedInputStream(new FileInputStream(nomFichier)));
+    GestionEvenements evenements;
+    GestionMembres membres;
     try {
-      this.gestionEvenements = (GestionEvenements) ois.readObject();
-      this.gestionMembres = (GestionMembres) ois.readObject();
-    } catch (ClassNotFoundException e) {
-      e.printStackTrace();
+      evenements = (GestionEvenements) ois.readObject();
+      membres = (GestionMembres) ois.readObject();
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IOException("Contenu du fichier inattendu", e);
     } finally {
       ois.close();
     }
+    
+    this.gestionEvenements = evenements;
+    this.gestionMembres = membres;
+  }
+  
+  /**
+   * Vérifie la cohérence des données de l'association : chevauchements,
+   * inscriptions asymétriques, participants inconnus, nombre maximum de
+   * participants dépassé.
+   *
+   * @param reparer <code>true</code> pour réparer les incohérences qui peuvent
+   *        l'être
+   * @return les incohérences trouvées
+   * @see VerificateurIntegrite
+   */
+  @Override
+  public List<Anomalie> verifierIntegrite(boolean reparer) {
+    return new VerificateurIntegrite(this.gestionnaireEvenements(),
+        this.gestionnaireMembre()).verifier(reparer);
+  }
+  
+  /**
+   * Renvoie les incohérences trouvées, et réparées si possible, lors du
+   * dernier chargement des données.
+   *
+   * @return les incohérences du dernier chargement
+   */
+  @Override
+  public List<Anomalie> anomaliesChargement() {
+    return this.anomaliesChargement;
+  }
+  
+  /**
+   * Ajoute un observateur prévenu à chaque remplacement des données de
+   * l'association.
+   *
+   * @param observateur l'observateur à ajouter
+   */
+  @Override
+  public void ajouterObservateur(ObservateurAssociation observateur) {
+    this.observateurs.add(Objects.requireNonNull(observateur));
+  }
+  
+  /**
+   * Retire un observateur de l'association.
+   *
+   * @param observateur l'observateur à retirer
+   * @return <code>true</code> si l'observateur était enregistré
+   */
+  @Override
+  public boolean retirerObservateur(ObservateurAssociation observateur) {
+    return this.observateurs.remove(observateur);
+  }
+  
+  /**
+   * Prévient les observateurs que les données ont été remplacées.
+   */
+  private void notifierObservateurs() {
+    for (ObservateurAssociation observateur : List.copyOf(this.observateurs)) {
+      observateur.donneesRemplacees(this);
+    }
   }
   
   @Override
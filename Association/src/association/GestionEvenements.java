@@ -1,11 +1,25 @@
 package association;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Clock;
 import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Gestionnaire des événements d'une association {@link GestionAssociation}.
@@ -29,37 +43,467 @@ public class GestionEvenements
   private List<Evenement> evenements;
   
   /**
-   * L'ensemble des événements à venir de l'association.
+   * Les séries d'événements récurrents de l'association.
    */
-  private List<Evenement> evenementsAvenir;
+  private List<SerieEvenements> series;
   
+  /**
+   * Le dernier numéro attribué à un événement. Les numéros ne sont pas
+   * réutilisés.
+   */
+  private int dernierNumero;
+  
+  /**
+   * Les événements rangés par numéro. La table n'est pas sérialisée.
+   */
+  private transient TableEntiers<Evenement> parNumero;
+  
+  /**
+   * Vue non modifiable sur les événements de l'association.
+   */
+  private transient List<Evenement> vueEvenements;
+  
+  /**
+   * L'horloge qui donne la date courante, pour les événements à venir.
+   */
+  private transient Clock horloge;
+  
+  /**
+   * Les événements à venir de l'association, par ordre chronologique. Les
+   * événements qui commencent sont retirés en tête de l'ensemble.
+   */
+  private transient NavigableSet<Evenement> evenementsAvenir;
+  
+  /**
+   * Vue non modifiable sur les événements à venir de l'association.
+   */
+  private transient VueListe<Evenement> vueEvenementsAvenir;
+  
+  /**
+   * Les événements de l'association indexés par lieu, pour la détection des
+   * chevauchements. La liste est rangée par identifiant de lieu dans
+   * {@link #lieux} et contient <code>null</code> pour les lieux sans
+   * événement.
+   */
+  private transient List<ArbreIntervalles> indexLieux;
+  
+  /**
+   * Le registre des lieux des événements et des séries de l'association.
+   */
+  private transient RegistreLieux lieux;
+  
+  /**
+   * Les événements de l'association indexés par nom.
+   */
+  private transient Map<String, Evenement> indexNoms;
+  
+  /**
+   * Les événements de l'association par ordre chronologique, pour les
+   * recherches par période.
+   */
+  private transient NavigableSet<Evenement> chronologie;
+  
+  /**
+   * Les événements de l'association indexés par les mots de leur nom et de
+   * leur lieu, pour la recherche.
+   */
+  private transient IndexEvenements indexMots;
   
   /**
    * Crée un gestionnaire d'événements avec aucun événement.
    */
   public GestionEvenements() {
+    this(Clock.systemDefaultZone());
+  }
+  
+  /**
+   * Crée un gestionnaire d'événements avec aucun événement, dont les
+   * événements à venir sont déterminés par une horloge.
+   *
+   * @param horloge l'horloge qui donne la date courante
+   */
+  public GestionEvenements(Clock horloge) {
     this.evenements = new ArrayList<Evenement>();
-    this.evenementsAvenir = new ArrayList<Evenement>();
+    this.series = new ArrayList<SerieEvenements>();
+    this.horloge = horloge;
+    this.initialiserIndex();
+  }
+  
+  /**
+   * Crée les index vides des événements.
+   */
+  private void initialiserIndex() {
+    this.vueEvenements = Collections.unmodifiableList(this.evenements);
+    this.evenementsAvenir = new TreeSet<>(Evenement.ORDRE_CHRONOLOGIQUE);
+    this.vueEvenementsAvenir = new VueListe<>(this.evenementsAvenir);
+    this.indexLieux = new ArrayList<>();
+    this.lieux = new RegistreLieux();
+    this.indexNoms = new HashMap<>();
+    this.chronologie = new TreeSet<>(Evenement.ORDRE_CHRONOLOGIQUE);
+    this.parNumero = new TableEntiers<>();
+    this.indexMots = new IndexEvenements(this.parNumero);
+  }
+  
+  /**
+   * Reconstruit les index après la désérialisation du gestionnaire.
+   *
+   * @param ois le flux de lecture
+   * @throws IOException en cas de problème de lecture
+   * @throws ClassNotFoundException si une classe lue est inconnue
+   */
+  private void readObject(ObjectInputStream ois)
+      throws IOException, ClassNotFoundException {
+    ois.defaultReadObject();
+    this.horloge = Clock.systemDefaultZone();
+    this.initialiserIndex();
+    
+    /* Fichiers antérieurs aux séries */
+    if (this.series == null) {
+      this.series = new ArrayList<SerieEvenements>();
+    }
+    
+    for (SerieEvenements serie : this.series) {
+      serie.enregistrerLieu(this.lieux);
+      for (Evenement evt : serie.occurrencesCreees()) {
+        for (InterMembre mbr : evt.getParticipants()) {
+          mbr.ajouterEvenement(evt);
+        }
+        for (InterMembre mbr : evt.getListeAttente()) {
+          mbr.ajouterAttente(evt);
+        }
+      }
+    }
+    
+    /* Les événements des fichiers antérieurs aux numéros sont numérotés */
+    for (Evenement evt : this.evenements) {
+      this.dernierNumero = Math.max(this.dernierNumero, evt.getNumero());
+    }
+    
+    for (Evenement evt : this.evenements) {
+      evt.gestionnaire = this;
+      this.indexer(evt);
+      this.planifier(evt);
+      
+      /* Les chronologies des membres ne sont pas sérialisées */
+      for (InterMembre mbr : evt.getParticipants()) {
+        mbr.ajouterEvenement(evt);
+      }
+      for (InterMembre mbr : evt.getListeAttente()) {
+        mbr.ajouterAttente(evt);
+      }
+    }
+  }
+  
+  /**
+   * Numérote un événement s'il n'a pas encore de numéro libre dans le
+   * gestionnaire et l'ajoute aux index du gestionnaire.
+   *
+   * @param evt l'événement à indexer
+   */
+  void indexer(Evenement evt) {
+    int numero = evt.getNumero();
+    if (numero == 0 || this.parNumero.contient(numero)) {
+      numero = ++this.dernierNumero;
+      evt.numeroter(numero);
+    }
+    this.parNumero.put(numero, evt);
+    
+    evt.enregistrerLieu(this.lieux);
+    int id = evt.idLieu();
+    
+    if (id != RegistreLieux.AUCUN) {
+      while (this.indexLieux.size() <= id) {
+        this.indexLieux.add(null);
+      }
+      
+      if (this.indexLieux.get(id) == null) {
+        this.indexLieux.set(id, new ArbreIntervalles());
+      }
+      this.indexLieux.get(id).ajouter(evt);
+    }
+    this.indexNoms.putIfAbsent(evt.getNom(), evt);
+    this.chronologie.add(evt);
+    this.indexMots.ajouter(evt);
+  }
+  
+  /**
+   * Retire un événement des index du gestionnaire. Doit être appelée avant
+   * toute modification de l'événement.
+   *
+   * @param evt l'événement à retirer des index
+   */
+  void desindexer(Evenement evt) {
+    ArbreIntervalles arbre = this.arbreLieu(evt.idLieu());
+    
+    if (arbre != null) {
+      arbre.retirer(evt);
+      
+      if (arbre.taille() == 0) {
+        this.indexLieux.set(evt.idLieu(), null);
+      }
+    }
+    
+    this.indexNoms.remove(evt.getNom(), evt);
+    this.chronologie.remove(evt);
+    this.indexMots.retirer(evt);
+    this.parNumero.remove(evt.getNumero());
+  }
+  
+  /**
+   * Prépare la modification d'un événement du gestionnaire : l'événement est
+   * retiré des index et des chronologies de ses participants.
+   *
+   * @param evt l'événement qui va être modifié
+   */
+  void avantModification(Evenement evt) {
+    this.desindexer(evt);
+    this.evenementsAvenir.remove(evt);
+    this.vueEvenementsAvenir.invalider();
+    
+    for (InterMembre mbr : evt.getParticipants()) {
+      mbr.retirerEvenement(evt);
+    }
+  }
+  
+  /**
+   * Termine la modification d'un événement du gestionnaire : l'événement est
+   * remis dans les index et dans les chronologies de ses participants.
+   *
+   * @param evt l'événement qui a été modifié
+   */
+  void apresModification(Evenement evt) {
+    this.indexer(evt);
+    this.planifier(evt);
+    
+    for (InterMembre mbr : evt.getParticipants()) {
+      mbr.ajouterEvenement(evt);
+    }
+  }
+  
+  /**
+   * Teste si un nom peut être donné à un événement sans entrer en conflit avec
+   * le nom d'un autre événement de l'association.
+   *
+   * @param nom le nom (déjà reformaté)
+   * @param evt l'événement à renommer
+   * @return <code>true</code> si aucun autre événement ne porte ce nom
+   */
+  boolean nomDisponible(String nom, Evenement evt) {
+    Evenement existant = this.indexNoms.get(nom);
+    return existant == null ? this.trouverSerie(nom) == null : existant == evt;
+  }
+  
+  /**
+   * Teste si un nom est déjà porté par un événement ou par une série de
+   * l'association.
+   *
+   * @param nom le nom (déjà reformaté)
+   * @return <code>true</code> si le nom est utilisé
+   */
+  private boolean nomUtilise(String nom) {
+    return this.indexNoms.containsKey(nom) || this.trouverSerie(nom) != null;
+  }
+  
+  /**
+   * Renvoie l'occurrence conservée par sa série qui correspond à une
+   * occurrence, pour que les inscriptions faites à partir de plusieurs
+   * résultats de recherche portent sur le même événement.
+   *
+   * @param evt l'événement ou l'occurrence
+   * @return l'occurrence conservée, ou <code>evt</code> lui-même
+   */
+  private static Evenement occurrenceConservee(Evenement evt) {
+    SerieEvenements serie = evt.serie();
+    return serie == null ? evt : serie.conservee(evt);
+  }
+  
+  /**
+   * Renvoie l'arbre des événements d'un lieu.
+   *
+   * @param id l'identifiant du lieu
+   * @return l'arbre des événements du lieu, <code>null</code> si aucun
+   *         événement de l'association n'a lieu à cet endroit
+   */
+  private ArbreIntervalles arbreLieu(int id) {
+    return id < 0 || id >= this.indexLieux.size() ? null
+        : this.indexLieux.get(id);
+  }
+  
+  /**
+   * Teste si un événement qui n'est pas encore dans l'association chevauche
+   * un de ses événements sur le même lieu.
+   *
+   * @param evt l'événement à tester
+   * @return <code>true</code> s'il y a un chevauchement
+   */
+  private boolean chevauchementLieu(Evenement evt) {
+    int id = this.lieux.identifiant(evt.getLieu());
+    ArbreIntervalles arbre = this.arbreLieu(id);
+    return arbre != null
+        && arbre.chevauche(evt.debutMinutes(), evt.finMinutes())
+        || this.chevauchementSeries(id, evt.debutMinutes(), evt.finMinutes());
+  }
+  
+  /**
+   * Teste si une période chevauche une occurrence d'une série de
+   * l'association dans un lieu, sans créer d'occurrence.
+   *
+   * @param idLieu l'identifiant du lieu
+   * @param debut le début de la période (en minutes)
+   * @param fin la fin de la période (en minutes)
+   * @return <code>true</code> s'il y a un chevauchement
+   */
+  private boolean chevauchementSeries(int idLieu, long debut, long fin) {
+    for (SerieEvenements serie : this.series) {
+      if (serie.idLieu() == idLieu && serie.chevauche(debut, fin)) {
+        return true;
+      }
+    }
+    return false;
   }
   
   /**
-   * Renvoie l'ensemble des événements de l'association.
+   * Renvoie l'ensemble des événements de l'association. La liste n'est pas
+   * modifiable : les événements sont ajoutés par <code>creerEvenement</code>
+   * et retirés par {@link #supprimerEvenement(Evenement)}.
    *
    * @return l'ensemble des événements
    */
   @Override
   public List<Evenement> ensembleEvenements() {
-    return this.evenements;
+    return this.vueEvenements;
   }
   
   /**
-   * Renvoie l'ensemble des événements à venir de l'association.
+   * Renvoie l'ensemble des événements à venir de l'association, par ordre
+   * chronologique. Les événements qui ont commencé depuis le dernier appel
+   * sont d'abord retirés, en <code>O(log n)</code> chacun. La liste n'est
+   * pas modifiable ; l'accès par position est en O(1) tant que les
+   * événements à venir ne changent pas (voir {@link VueListe}).
    *
    * @return l'ensemble des événements à venir
    */
   @Override
   public List<Evenement> ensembleEvenementsAvenir() {
-    return this.evenementsAvenir;
+    long maintenant = this.maintenant();
+    
+    while (!this.evenementsAvenir.isEmpty()
+        && this.evenementsAvenir.first().debutMinutes() <= maintenant) {
+      this.evenementsAvenir.pollFirst();
+      this.vueEvenementsAvenir.invalider();
+    }
+    return this.vueEvenementsAvenir;
+  }
+  
+  /**
+   * Recherche les événements de l'association dont le nom ou le lieu
+   * contiennent des débuts de mots, sans distinction de casse ni d'accents :
+   * « fet bre » trouve la « Fête » à « Brest ». La recherche peut être
+   * limitée à une période.
+   *
+   * @param texte les débuts de mots recherchés
+   * @param debut le début de la période (inclus), <code>null</code> pour ne
+   *        pas la limiter
+   * @param fin la fin de la période (exclue), <code>null</code> pour ne pas la
+   *        limiter
+   * @param max le nombre maximum d'événements renvoyés
+   * @return les événements trouvés, au plus <code>max</code>, par ordre
+   *         chronologique
+   */
+  @Override
+  public List<Evenement> rechercherEvenements(String texte,
+      LocalDateTime debut, LocalDateTime fin, int max) {
+    List<Evenement> trouves = this.indexMots.rechercher(texte, debut, fin, max);
+    trouves.sort(Evenement.ORDRE_CHRONOLOGIQUE);
+    return trouves;
+  }
+  
+  /**
+   * Renvoie les événements de l'association qui commencent dans une période,
+   * y compris les occurrences des séries. Les occurrences qui ne sont pas
+   * conservées par leur série sont créées sans l'être : une recherche ne fait
+   * pas grossir les séries.
+   *
+   * @param debut le début de la période (inclus)
+   * @param fin la fin de la période (exclue)
+   * @return les événements de la période, par ordre chronologique
+   */
+  @Override
+  public List<Evenement> evenementsEntre(LocalDateTime debut,
+      LocalDateTime fin) {
+    if (debut == null || fin == null || !debut.isBefore(fin)) {
+      return new ArrayList<>();
+    }
+    
+    List<Evenement> resultat = Evenement.entre(this.chronologie, debut, fin);
+    long debutPeriode = Evenement.minutes(debut);
+    long finPeriode = Evenement.minutes(fin);
+    boolean occurrences = false;
+    
+    for (SerieEvenements serie : this.series) {
+      for (Evenement evt : serie.occurrences(debut, fin)) {
+        if (evt.debutMinutes() >= debutPeriode
+            && evt.debutMinutes() < finPeriode) {
+          resultat.add(evt);
+          occurrences = true;
+        }
+      }
+    }
+    
+    if (occurrences) {
+      resultat.sort(Evenement.ORDRE_CHRONOLOGIQUE);
+    }
+    return resultat;
+  }
+  
+  /**
+   * Renvoie les événements de l'association qui commencent un jour donné, y
+   * compris les occurrences des séries.
+   *
+   * @param jour le jour
+   * @return les événements du jour, par ordre chronologique
+   */
+  @Override
+  public List<Evenement> evenementsDuJour(LocalDate jour) {
+    if (jour == null) {
+      return new ArrayList<>();
+    }
+    
+    return this.evenementsEntre(jour.atStartOfDay(),
+        jour.plusDays(1).atStartOfDay());
+  }
+  
+  /**
+   * Modifie l'horloge qui donne la date courante. Les événements déjà passés
+   * pour la nouvelle horloge sont retirés des événements à venir au prochain
+   * appel de {@link #ensembleEvenementsAvenir()}, mais les événements passés
+   * ne redeviennent pas à venir.
+   *
+   * @param horloge la nouvelle horloge
+   */
+  public void setHorloge(Clock horloge) {
+    this.horloge = horloge;
+  }
+  
+  /**
+   * Renvoie la date courante de l'horloge du gestionnaire.
+   *
+   * @return la date courante (en minutes depuis l'époque)
+   */
+  private long maintenant() {
+    return Evenement.minutes(LocalDateTime.now(this.horloge));
+  }
+  
+  /**
+   * Ajoute un événement aux événements à venir s'il n'a pas encore commencé.
+   *
+   * @param evt l'événement à ajouter
+   */
+  private void planifier(Evenement evt) {
+    if (evt.debutMinutes() > this.maintenant()) {
+      this.evenementsAvenir.add(evt);
+      this.vueEvenementsAvenir.invalider();
+    }
   }
   
   /**
@@ -101,17 +545,401 @@ public class GestionEvenements
     // if (evt.getDate().isBefore(LocalDateTime.now()))
     // return null;
     
-    /* Conflit avec d'autres événements */
-    for (Evenement e : this.ensembleEvenements()) {
-      if (!evt.pasDeChevauchement(e) || evt.getNom().equals(e.getNom())) {
+    /* Conflit avec d'autres événements du même lieu */
+    if (this.chevauchementLieu(evt)) {
+      return null;
+    }
+    
+    /* Conflit avec le nom d'un autre événement ou d'une série */
+    if (this.nomUtilise(evt.getNom())) {
+      return null;
+    }
+    
+    this.ajouter(evt);
+    return evt;
+  }
+  
+  /**
+   * Crée un lot d'événements. Les événements donnés servent de modèles : ils
+   * sont vérifiés comme par <code>creerEvenement</code>, contre les événements
+   * de l'association et contre les autres événements du lot, et une copie sans
+   * participants est créée pour chaque modèle accepté.
+   *
+   * <p>
+   * Les paramètres et les noms déjà utilisés par l'association sont vérifiés
+   * d'abord. Les événements du lot sont ensuite parcourus par ordre
+   * chronologique, en gardant la fin du dernier événement accepté de chaque
+   * lieu : quand deux événements du lot se chevauchent, le plus tôt est
+   * accepté. Un nom n'est réservé que par un événement accepté : un événement
+   * refusé pour chevauchement ne prive pas de son nom un événement du même
+   * nom dans un autre lieu.
+   * </p>
+   *
+   * @param modeles les modèles des événements à créer
+   * @return pour chaque modèle, dans l'ordre du lot, l'événement créé ou le
+   *         modèle refusé avec le motif du refus
+   */
+  @Override
+  public List<Resultat<Evenement>> creerEvenements(
+      Collection<Evenement> modeles) {
+    List<Evenement> lot = new ArrayList<>(modeles);
+    List<Resultat<Evenement>> resultats =
+        new ArrayList<>(Collections.nCopies(lot.size(), null));
+    Map<Evenement, Integer> positions = new IdentityHashMap<>();
+    List<Evenement> candidats = new ArrayList<>();
+    
+    /* Paramètres et noms de l'association, dans l'ordre du lot */
+    for (int i = 0; i < lot.size(); i++) {
+      Evenement modele = lot.get(i);
+      
+      if (modele == null || modele.getNom() == null || modele.getNom().isEmpty()
+          || modele.getLieu() == null || modele.getLieu().isEmpty()
+          || modele.getDate() == null || modele.getDuree() <= 0
+          || modele.getNbParticipantsMax() <= 0) {
+        resultats.set(i, Resultat.refuse(modele, Motif.PARAMETRES_INVALIDES));
+      } else if (this.nomUtilise(modele.getNom())) {
+        resultats.set(i, Resultat.refuse(modele, Motif.NOM_DEJA_UTILISE));
+      } else {
+        Evenement evt = new Evenement(modele.getNom(), modele.getLieu(),
+            modele.getDate(), modele.getDuree(), modele.getNbParticipantsMax(),
+            new HashSet<>());
+        positions.put(evt, i);
+        candidats.add(evt);
+      }
+    }
+    
+    /* Chevauchements et noms du lot, par ordre chronologique */
+    candidats.sort(Evenement.ORDRE_CHRONOLOGIQUE);
+    Map<String, Long> finsLieux = new HashMap<>();
+    Set<String> noms = new HashSet<>();
+    
+    for (Evenement evt : candidats) {
+      int i = positions.get(evt);
+      Long finPrecedent = finsLieux.get(evt.getLieu());
+      
+      if ((finPrecedent != null && evt.debutMinutes() <= finPrecedent)
+          || this.chevauchementLieu(evt)) {
+        resultats.set(i, Resultat.refuse(lot.get(i), Motif.CHEVAUCHEMENT));
+      } else if (!noms.add(evt.getNom())) {
+        resultats.set(i, Resultat.refuse(lot.get(i), Motif.NOM_DEJA_UTILISE));
+      } else {
+        finsLieux.put(evt.getLieu(), evt.finMinutes());
+        this.ajouter(evt);
+        resultats.set(i, Resultat.accepte(evt));
+      }
+    }
+    
+    return resultats;
+  }
+  
+  /**
+   * Ajoute un événement vérifié aux ensembles et aux index du gestionnaire.
+   * Sert aussi au chargement d'un {@link FichierAssociation}, dont les
+   * événements sont vérifiés ensuite par le {@link VerificateurIntegrite}.
+   *
+   * @param evt l'événement à ajouter
+   */
+  void ajouter(Evenement evt) {
+    this.evenements.add(evt);
+    evt.gestionnaire = this;
+    this.indexer(evt);
+    this.planifier(evt);
+  }
+  
+  /**
+   * Crée une série d'événements récurrents, par exemple tous les 7 jours à
+   * partir d'un mardi 18h. Les occurrences ne sont pas créées : elles sont
+   * vérifiées contre les événements et les autres séries du même lieu à partir
+   * de leurs dates.
+   *
+   * @param nom le nom de la série
+   * @param lieu le lieu
+   * @param premiere la date et l'heure de la première occurrence
+   * @param periode le nombre de jours entre deux occurrences
+   * @param fin le dernier jour où une occurrence peut commencer
+   * @param duree la durée d'une occurrence (en heures), inférieure à la
+   *        période
+   * @param nbParticipants le nombre maximum de participants à chaque
+   *        occurrence
+   * @return la série créée ou <code>null</code> en cas de problème
+   *         (paramètres non valides, nom déjà utilisé ou chevauchement)
+   */
+  @Override
+  public SerieEvenements creerSerie(String nom, String lieu,
+      LocalDateTime premiere, int periode, LocalDate fin, int duree,
+      int nbParticipants) {
+    
+    /* Valeurs invalides */
+    if (nom == null || nom.trim().isEmpty() || lieu == null
+        || lieu.trim().isEmpty() || premiere == null || fin == null
+        || fin.isBefore(premiere.toLocalDate()) || periode <= 0 || duree <= 0
+        || duree >= periode * 24 || nbParticipants <= 0) {
+      return null;
+    }
+    
+    SerieEvenements serie = new SerieEvenements(nom.trim(), lieu.trim(),
+        premiere, periode, fin, duree, nbParticipants);
+    
+    /* Conflit avec le nom d'un événement ou d'une autre série */
+    if (this.nomUtilise(serie.getNom())) {
+      return null;
+    }
+    
+    /* Conflit avec les séries du même lieu */
+    int idLieu = this.lieux.identifiant(serie.getLieu());
+    for (SerieEvenements autre : this.series) {
+      if (autre.idLieu() == idLieu && autre.chevauche(serie)) {
         return null;
       }
     }
     
-    /* Ajout aux ensembles */
-    this.ensembleEvenements().add(evt);
-    this.ensembleEvenementsAvenir().add(evt);
-    return evt;
+    /* Conflit avec les événements du même lieu */
+    ArbreIntervalles arbre = this.arbreLieu(idLieu);
+    if (arbre != null) {
+      for (Evenement e : arbre.chevauchements(serie.debutMinutes(),
+          serie.finMinutes())) {
+        if (serie.chevauche(e.debutMinutes(), e.finMinutes())) {
+          return null;
+        }
+      }
+    }
+    
+    serie.enregistrerLieu(this.lieux);
+    this.series.add(serie);
+    return serie;
+  }
+  
+  /**
+   * Renvoie la série de l'association qui porte un nom. Le nom est comparé
+   * après avoir été reformaté.
+   *
+   * @param nom le nom de la série
+   * @return la série qui porte ce nom ou <code>null</code> si elle n'existe
+   *         pas
+   */
+  @Override
+  public SerieEvenements trouverSerie(String nom) {
+    if (nom == null || nom.trim().isEmpty()) {
+      return null;
+    }
+    
+    String reformate = Evenement.reformater(nom.trim());
+    for (SerieEvenements serie : this.series) {
+      if (serie.getNom().equals(reformate)) {
+        return serie;
+      }
+    }
+    return null;
+  }
+  
+  /**
+   * Renvoie les séries d'événements récurrents de l'association. La liste
+   * n'est pas modifiable.
+   *
+   * @return les séries de l'association
+   */
+  @Override
+  public List<SerieEvenements> ensembleSeries() {
+    return Collections.unmodifiableList(this.series);
+  }
+  
+  /**
+   * Supprime une série. Les membres inscrits à ses occurrences en sont
+   * désinscrits.
+   *
+   * @param serie la série à supprimer
+   */
+  @Override
+  public void supprimerSerie(SerieEvenements serie) {
+    if (this.series.remove(serie)) {
+      for (Evenement evt : serie.occurrencesCreees()) {
+        for (InterMembre mbr : evt.getParticipants()) {
+          mbr.retirerEvenement(evt);
+        }
+        for (InterMembre mbr : evt.getListeAttente()) {
+          mbr.retirerAttente(evt);
+        }
+      }
+    }
+  }
+  
+  /**
+   * Ajoute une série lue dans un {@link FichierAssociation}, sans vérifier
+   * ses chevauchements.
+   *
+   * @param serie la série à ajouter
+   */
+  void ajouterSerie(SerieEvenements serie) {
+    serie.enregistrerLieu(this.lieux);
+    this.series.add(serie);
+  }
+  
+  /**
+   * Renvoie le dernier numéro attribué à un événement, pour la sauvegarde.
+   *
+   * @return le dernier numéro attribué
+   */
+  int dernierNumero() {
+    return this.dernierNumero;
+  }
+  
+  /**
+   * Reprend le dernier numéro attribué d'une sauvegarde, pour que les
+   * numéros des événements supprimés ne soient pas réutilisés.
+   *
+   * @param numero le dernier numéro attribué lu
+   */
+  void restaurerDernierNumero(int numero) {
+    this.dernierNumero = Math.max(this.dernierNumero, numero);
+  }
+  
+  /**
+   * Renvoie l'événement de l'association qui porte un numéro. Les occurrences
+   * des séries ne sont pas numérotées.
+   *
+   * @param numero le numéro de l'événement
+   * @return l'événement, <code>null</code> si aucun événement ne porte ce
+   *         numéro
+   */
+  @Override
+  public Evenement evenement(int numero) {
+    return this.parNumero.get(numero);
+  }
+  
+  /**
+   * Renvoie l'événement de l'association qui porte un nom. Le nom est comparé
+   * après avoir été reformaté comme le sont les noms des événements.
+   *
+   * @param nom le nom de l'événement
+   * @return l'événement qui porte ce nom ou <code>null</code> s'il n'existe
+   *         pas
+   */
+  @Override
+  public Evenement trouverEvenement(String nom) {
+    if (nom == null || nom.trim().isEmpty()) {
+      return null;
+    }
+    
+    return this.indexNoms.get(Evenement.reformater(nom.trim()));
+  }
+  
+  /**
+   * Cherche les premiers créneaux libres d'un lieu pour un événement d'une
+   * durée donnée, dans une période de recherche. Les trous entre les
+   * événements du lieu sont parcourus par ordre chronologique et le début le
+   * plus tôt de chaque trou assez grand est retenu. Comme pour la détection
+   * des conflits, un événement ne peut pas commencer à la minute où un autre
+   * se termine.
+   *
+   * @param lieu le lieu
+   * @param duree la durée de l'événement (en heures)
+   * @param debut le début de la période de recherche
+   * @param fin la fin de la période de recherche, l'événement doit être
+   *        terminé à cette date
+   * @param nombre le nombre maximum de créneaux à renvoyer
+   * @return les débuts possibles de l'événement, par ordre chronologique
+   */
+  @Override
+  public List<LocalDateTime> creneauxLibres(String lieu, int duree,
+      LocalDateTime debut, LocalDateTime fin, int nombre) {
+    List<LocalDateTime> creneaux = new ArrayList<>();
+    
+    if (lieu == null || lieu.trim().isEmpty() || duree <= 0 || nombre <= 0
+        || debut == null || fin == null) {
+      return creneaux;
+    }
+    
+    long debutRecherche = Evenement.minutes(debut);
+    long finRecherche = Evenement.minutes(fin);
+    long dureeMinutes = duree * 60L;
+    int idLieu = this.lieux.identifiant(Evenement.reformater(lieu.trim()));
+    
+    /* Périodes occupées : événements et occurrences des séries du lieu */
+    List<long[]> occupes = new ArrayList<>();
+    ArbreIntervalles arbre = this.arbreLieu(idLieu);
+    if (arbre != null) {
+      for (Evenement e : arbre.chevauchements(debutRecherche, finRecherche)) {
+        occupes.add(new long[] {e.debutMinutes(), e.finMinutes()});
+      }
+    }
+    
+    for (SerieEvenements serie : this.series) {
+      if (serie.idLieu() == idLieu) {
+        for (int k = serie.premierNumero(debutRecherche); k < serie
+            .nombreOccurrences()
+            && serie.debutOccurrence(k) <= finRecherche; k++) {
+          long debutOccurrence = serie.debutOccurrence(k);
+          occupes.add(new long[] {debutOccurrence,
+              debutOccurrence + serie.dureeMinutes()});
+        }
+      }
+    }
+    occupes.sort(Comparator.comparingLong(periode -> periode[0]));
+    
+    /* Parcours des trous entre les périodes occupées */
+    long candidat = debutRecherche;
+    for (long[] periode : occupes) {
+      if (candidat + dureeMinutes > finRecherche
+          || creneaux.size() == nombre) {
+        return creneaux;
+      }
+      
+      if (candidat + dureeMinutes < periode[0]) {
+        creneaux.add(Evenement.date(candidat));
+      }
+      candidat = Math.max(candidat, periode[1] + 1);
+    }
+    
+    if (candidat + dureeMinutes <= finRecherche && creneaux.size() < nombre) {
+      creneaux.add(Evenement.date(candidat));
+    }
+    return creneaux;
+  }
+  
+  /**
+   * Renvoie les lieux de l'association qui sont libres pendant une période,
+   * c'est-à-dire les lieux où ont lieu des événements de l'association mais
+   * où aucun événement ne chevauche la période.
+   *
+   * @param date le début de la période
+   * @param duree la durée de la période (en heures)
+   * @return les lieux libres, par ordre alphabétique
+   */
+  @Override
+  public List<String> lieuxLibres(LocalDateTime date, int duree) {
+    List<String> lieux = new ArrayList<>();
+    long debut = Evenement.minutes(date);
+    long fin = debut + duree * 60L;
+    
+    Set<Integer> occupes = new HashSet<>();
+    Set<Integer> connus = new HashSet<>();
+    
+    for (SerieEvenements serie : this.series) {
+      connus.add(serie.idLieu());
+      if (serie.chevauche(debut, fin)) {
+        occupes.add(serie.idLieu());
+      }
+    }
+    
+    for (int id = 0; id < this.indexLieux.size(); id++) {
+      ArbreIntervalles arbre = this.indexLieux.get(id);
+      
+      if (arbre != null) {
+        connus.add(id);
+        if (arbre.chevauche(debut, fin)) {
+          occupes.add(id);
+        }
+      }
+    }
+    
+    for (int id : connus) {
+      if (!occupes.contains(id)) {
+        lieux.add(this.lieux.lieu(id));
+      }
+    }
+    
+    Collections.sort(lieux);
+    return lieux;
   }
   
   /**
@@ -125,17 +953,27 @@ public class GestionEvenements
   public void supprimerEvenement(Evenement evt) {
     /* Supprime evt des des membres inscrits */
     for (InterMembre mbr : evt.getParticipants()) {
-      mbr.ensembleEvenements().remove(evt);
-      mbr.ensembleEvenementsAvenir().remove(evt);
+      mbr.retirerEvenement(evt);
+    }
+    for (InterMembre mbr : evt.getListeAttente()) {
+      mbr.retirerAttente(evt);
     }
     
     /* Supprime evt */
-    this.ensembleEvenements().remove(evt);
-    this.ensembleEvenementsAvenir().remove(evt);
+    if (evt.gestionnaire == this) {
+      this.desindexer(evt);
+      this.evenementsAvenir.remove(evt);
+      this.vueEvenementsAvenir.invalider();
+      evt.gestionnaire = null;
+    }
+    
+    this.evenements.remove(evt);
   }
   
   /**
-   * Un membre est incrit à un événement.
+   * Un membre est incrit à un événement. Si l'événement est complet, le
+   * membre est mis sur sa liste d'attente et sera inscrit automatiquement
+   * quand une place se libérera.
    *
    * @param evt l'événement auquel s'inscrire
    * @param mbr le membre qui s'inscrit
@@ -146,36 +984,83 @@ public class GestionEvenements
    */
   @Override
   public boolean inscriptionEvenement(Evenement evt, InterMembre mbr) {
-    /* Membre déjà inscrit */
-    if (evt.getParticipants().contains(mbr)) {
+    evt = occurrenceConservee(evt);
+    
+    /* Membre déjà inscrit ou en attente */
+    if (evt.getParticipants().contains(mbr)
+        || evt.getListeAttente().contains(mbr)) {
+      return false;
+    }
+    
+    /* Conflits avec les inscriptions du membre */
+    if (!mbr.estDisponible(evt)) {
       return false;
     }
     
     /* Nombre max de participants atteint */
     if (evt.getParticipants().size() >= evt.getNbParticipantsMax()) {
+      evt.mettreEnAttente(mbr);
       return false;
     }
     
-    /* Conflits avec les inscriptions du membre */
-    for (Evenement e : mbr.ensembleEvenements()) {
-      if (!evt.pasDeChevauchementTemps(e)) {
-        return false;
+    /* Ajout de l'événement */
+    mbr.ajouterEvenement(evt);
+    evt.ajouterParticipant(mbr);
+    return true;
+  }
+  
+  /**
+   * Inscrit un lot de membres à un événement. Les membres sont vérifiés dans
+   * l'ordre du lot comme par <code>inscriptionEvenement</code> : les places
+   * restantes sont calculées une seule fois et attribuées aux premiers membres
+   * acceptés, les suivants sont mis sur la liste d'attente.
+   *
+   * @param evt l'événement auquel inscrire les membres
+   * @param membres les membres à inscrire
+   * @return pour chaque membre, dans l'ordre du lot, s'il a été inscrit ou le
+   *         motif du refus
+   */
+  @Override
+  public List<Resultat<InterMembre>> inscriptionEvenement(Evenement evt,
+      Collection<InterMembre> membres) {
+    evt = occurrenceConservee(evt);
+    List<Resultat<InterMembre>> resultats = new ArrayList<>(membres.size());
+    List<InterMembre> acceptes = new ArrayList<>();
+    Set<InterMembre> lot = new HashSet<>();
+    int placesRestantes =
+        evt.getNbParticipantsMax() - evt.getParticipants().size();
+    
+    for (InterMembre mbr : membres) {
+      if (mbr == null) {
+        resultats.add(Resultat.refuse(mbr, Motif.PARAMETRES_INVALIDES));
+      } else if (evt.getParticipants().contains(mbr)
+          || evt.getListeAttente().contains(mbr) || !lot.add(mbr)) {
+        resultats.add(Resultat.refuse(mbr, Motif.DEJA_INSCRIT));
+      } else if (!mbr.estDisponible(evt)) {
+        resultats.add(Resultat.refuse(mbr, Motif.CONFLIT_CALENDRIER));
+      } else if (placesRestantes <= 0) {
+        evt.mettreEnAttente(mbr);
+        resultats.add(Resultat.refuse(mbr, Motif.LISTE_ATTENTE));
+      } else {
+        placesRestantes--;
+        acceptes.add(mbr);
+        resultats.add(Resultat.accepte(mbr));
       }
     }
     
-    /* Ajout de l'événement */
-    mbr.ensembleEvenements().add(evt);
-    
-    if (evt.getDate().isAfter(LocalDateTime.now())) {
-      mbr.ensembleEvenementsAvenir().add(evt);
+    /* Ajout des inscriptions */
+    for (InterMembre mbr : acceptes) {
+      mbr.ajouterEvenement(evt);
+      evt.ajouterParticipant(mbr);
     }
     
-    evt.getParticipants().add(mbr);
-    return true;
+    return resultats;
   }
   
   /**
-   * Désincrit un membre d'un événement.
+   * Désincrit un membre d'un événement, ou le retire de sa liste d'attente.
+   * La place libérée est donnée au premier membre de la liste d'attente qui
+   * est encore disponible.
    *
    * @param evt l'événement auquel se désinscrire
    * @param mbr le membre qui se désincrit
@@ -186,20 +1071,18 @@ public class GestionEvenements
    */
   @Override
   public boolean annulerEvenement(Evenement evt, InterMembre mbr) {
-    if (evt.getParticipants().contains(mbr)) {
-      evt.getParticipants().remove(mbr);
-      mbr.ensembleEvenements().remove(evt);
-      mbr.ensembleEvenementsAvenir().remove(evt);
+    evt = occurrenceConservee(evt);
+    if (evt.desinscrire(mbr) != null) {
       return true;
     }
     
-    return false;
+    return evt.retirerAttente(mbr);
   }
   
   @Override
   public int hashCode() {
     return Objects.hash(this.ensembleEvenements(),
-        this.ensembleEvenementsAvenir());
+        this.ensembleEvenementsAvenir(), this.ensembleSeries());
   }
   
   @Override
@@ -219,7 +1102,8 @@ public class GestionEvenements
     GestionEvenements other = (GestionEvenements) obj;
     return Objects.equals(this.ensembleEvenements(), other.ensembleEvenements())
         && Objects.equals(this.ensembleEvenementsAvenir(),
-            other.ensembleEvenementsAvenir());
+            other.ensembleEvenementsAvenir())
+        && Objects.equals(this.ensembleSeries(), other.ensembleSeries());
   }
   
   @Override
@@ -1,8 +1,21 @@
 package association;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 /**
  * Gestionnaire des membres d'une association {@link GestionAssociation}.
@@ -21,21 +34,130 @@ public class GestionMembres
   private static final long serialVersionUID = 7891213782426876524L;
   
   /**
-   * Ensemble des membres.
+   * Taille d'un lot de membres à partir de laquelle les doublons sont
+   * cherchés en parallèle.
    */
-  private Set<InterMembre> membres;
+  private static final int SEUIL_PARALLELE = 2048;
+  
+  /**
+   * Les champs sérialisés : les membres sont écrits en ensemble, comme dans
+   * les fichiers antérieurs, et rangés par numéro à la lecture.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("membres", Set.class),
+      new ObjectStreamField("president", InterMembre.class),
+      new ObjectStreamField("dernierNumero", int.class)};
   
   /**
    * Président de l'association, doit faire partie des membres.
    */
   private InterMembre president;
   
+  /**
+   * Le dernier numéro attribué à un membre. Les numéros ne sont pas
+   * réutilisés.
+   */
+  private int dernierNumero;
+  
+  /**
+   * Les membres rangés par numéro. Avec {@link #ordre}, c'est le seul
+   * stockage des membres : l'ensemble des membres n'en est qu'une vue.
+   */
+  private transient TableEntiers<InterMembre> parNumero;
+  
+  /**
+   * Les membres dans l'ordre de leur ajout, pour l'accès par position. Un
+   * membre supprimé est remplacé par le dernier (voir
+   * {@link #desindexer(InterMembre)}). La liste n'est pas sérialisée.
+   */
+  private transient List<InterMembre> ordre;
+  
+  /**
+   * Vue non modifiable sur la liste des membres.
+   */
+  private transient List<InterMembre> vueOrdre;
+  
+  /**
+   * Vue non modifiable sur l'ensemble des membres.
+   */
+  private transient Set<InterMembre> vueMembres;
+  
+  /**
+   * Index de recherche des membres par nom et prénom. Il n'est pas
+   * sérialisé.
+   */
+  private transient IndexMembres index;
+  
+  /**
+   * Index de recherche approchée des membres. Il n'est pas sérialisé.
+   */
+  private transient IndexTrigrammes trigrammes;
+  
+  /**
+   * Index des membres par âge et par adresse. Il n'est pas sérialisé.
+   */
+  private transient IndexCoordonnees coordonnees;
+  
   /**
    * Crée un gestionnaire de membres avec aucun membres.
    */
   public GestionMembres() {
-    this.membres = new HashSet<InterMembre>();
     this.president = null;
+    this.initialiserIndex();
+  }
+  
+  /**
+   * Crée les index vides des membres.
+   */
+  private void initialiserIndex() {
+    this.parNumero = new TableEntiers<>();
+    this.ordre = new ArrayList<>();
+    this.vueOrdre = Collections.unmodifiableList(this.ordre);
+    this.vueMembres = new VueMembres();
+    this.index = new IndexMembres();
+    this.trigrammes = new IndexTrigrammes(this.parNumero);
+    this.coordonnees = new IndexCoordonnees(this.parNumero);
+  }
+  
+  /**
+   * Reconstruit les index après la désérialisation du gestionnaire. Les
+   * membres des fichiers antérieurs aux numéros sont numérotés.
+   *
+   * @param ois le flux de lecture
+   * @throws IOException en cas de problème de lecture
+   * @throws ClassNotFoundException si une classe lue est inconnue
+   */
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream ois)
+      throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField champs = ois.readFields();
+    Set<InterMembre> membres =
+        (Set<InterMembre>) champs.get("membres", Collections.emptySet());
+    this.president = (InterMembre) champs.get("president", null);
+    this.dernierNumero = champs.get("dernierNumero", 0);
+    this.initialiserIndex();
+    
+    for (InterMembre membre : membres) {
+      this.dernierNumero = Math.max(this.dernierNumero, membre.getNumero());
+    }
+    
+    for (InterMembre membre : membres) {
+      this.indexer(membre);
+    }
+  }
+  
+  /**
+   * Écrit le gestionnaire, les membres dans un ensemble.
+   *
+   * @param oos le flux d'écriture
+   * @throws IOException en cas de problème d'écriture
+   */
+  private void writeObject(ObjectOutputStream oos) throws IOException {
+    ObjectOutputStream.PutField champs = oos.putFields();
+    champs.put("membres", new HashSet<>(this.ordre));
+    champs.put("president", this.president);
+    champs.put("dernierNumero", this.dernierNumero);
+    oos.writeFields();
   }
   
   /**
@@ -49,11 +171,122 @@ public class GestionMembres
    */
   @Override
   public boolean ajouterMembre(InterMembre membre) {
-    return this.ensembleMembres().add(membre);
+    if (this.index.membre(membre.getInformationPersonnelle()) != null) {
+      return false;
+    }
+    
+    this.indexer(membre);
+    return true;
   }
   
   /**
-   * Supprime un membre de l'association.
+   * Ajoute un lot de membres à l'association, par exemple une liste
+   * d'inscriptions de début de saison.
+   *
+   * <p>
+   * Les identités des membres (nom et prénom sans distinction de casse, voir
+   * {@link Membre#equals(Object)}) sont calculées en parallèle, puis les
+   * membres sont répartis en tranches selon leur identité : deux doublons
+   * tombent dans la même tranche. Chaque tranche est comparée en parallèle aux
+   * membres de l'association et à elle-même, dans l'ordre du lot. Les membres
+   * acceptés sont enfin numérotés dans l'ordre du lot, puis les trois index de
+   * recherche sont remplis en parallèle, chacun par un seul fil d'exécution.
+   * </p>
+   *
+   * @param membres les membres à ajouter
+   * @return pour chaque membre, dans l'ordre du lot, le membre ajouté ou le
+   *         membre refusé avec le motif du refus
+   */
+  @Override
+  public List<Resultat<InterMembre>> ajouterMembres(
+      Collection<InterMembre> membres) {
+    InterMembre[] lot = membres.toArray(new InterMembre[0]);
+    String[] identites = new String[lot.length];
+    Motif[] motifs = new Motif[lot.length];
+    boolean parallele = lot.length >= SEUIL_PARALLELE;
+    
+    /* Identités, calculées une fois pour toutes les comparaisons */
+    flux(lot.length, parallele).forEach(i -> {
+      if (lot[i] == null || lot[i].getInformationPersonnelle() == null) {
+        motifs[i] = Motif.PARAMETRES_INVALIDES;
+      } else {
+        identites[i] = lot[i].getInformationPersonnelle().identite();
+      }
+    });
+    
+    /* Répartition par identité, en gardant l'ordre du lot dans la tranche */
+    int nbTranches = parallele
+        ? Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors())
+        : 1;
+    int[] debuts = new int[nbTranches + 1];
+    int[] tranches = new int[lot.length];
+    for (int i = 0; i < lot.length; i++) {
+      if (identites[i] != null) {
+        debuts[(identites[i].hashCode() & (nbTranches - 1)) + 1]++;
+      }
+    }
+    for (int t = 0; t < nbTranches; t++) {
+      debuts[t + 1] += debuts[t];
+    }
+    int[] places = Arrays.copyOf(debuts, nbTranches);
+    for (int i = 0; i < lot.length; i++) {
+      if (identites[i] != null) {
+        tranches[places[identites[i].hashCode() & (nbTranches - 1)]++] = i;
+      }
+    }
+    
+    /* Doublons, tranche par tranche ; l'index n'est ici que lu */
+    flux(nbTranches, parallele).forEach(t -> {
+      Set<String> vues = new HashSet<>();
+      
+      for (int k = debuts[t]; k < debuts[t + 1]; k++) {
+        int i = tranches[k];
+        
+        if (this.index.membre(lot[i].getInformationPersonnelle()) != null
+            || !vues.add(identites[i])) {
+          motifs[i] = Motif.MEMBRE_EXISTANT;
+        }
+      }
+    });
+    
+    /* Ajout des membres acceptés, dans l'ordre du lot */
+    List<Resultat<InterMembre>> resultats = new ArrayList<>(lot.length);
+    List<InterMembre> acceptes = new ArrayList<>(lot.length);
+    for (int i = 0; i < lot.length; i++) {
+      if (motifs[i] == null) {
+        this.enregistrer(lot[i]);
+        acceptes.add(lot[i]);
+        resultats.add(Resultat.accepte(lot[i]));
+      } else {
+        resultats.add(Resultat.refuse(lot[i], motifs[i]));
+      }
+    }
+    
+    /* Chaque index n'est rempli que par un fil d'exécution */
+    List<Consumer<InterMembre>> index = List.of(this.index::ajouter,
+        this.trigrammes::ajouter, this.coordonnees::ajouter);
+    (parallele ? index.parallelStream() : index.stream())
+        .forEach(ajout -> acceptes.forEach(ajout));
+    
+    return resultats;
+  }
+  
+  /**
+   * Renvoie le flux des entiers de 0 à une borne, parallèle ou non.
+   *
+   * @param n la borne (exclue)
+   * @param parallele <code>true</code> pour un flux parallèle
+   * @return le flux des entiers
+   */
+  private static IntStream flux(int n, boolean parallele) {
+    IntStream flux = IntStream.range(0, n);
+    return parallele ? flux.parallel() : flux;
+  }
+  
+  /**
+   * Supprime un membre de l'association. Le membre est désinscrit de ses
+   * événements et retiré des listes d'attente, comme par
+   * {@link #radierMembre(InterMembre)}.
    *
    * @param membre le membre à supprimer
    * @return <code>true</code> si le membre était présent et a été supprimé,
@@ -61,11 +294,210 @@ public class GestionMembres
    */
   @Override
   public boolean supprimerMembre(InterMembre membre) {
-    if (this.president() == membre) {
+    return this.radierMembre(membre).estRetire();
+  }
+  
+  /**
+   * Supprime un membre de l'association et annule toutes ses inscriptions. Le
+   * membre est désinscrit de ses événements, les places libérées sont données
+   * aux listes d'attente, et il est retiré des listes d'attente où il se
+   * trouvait. Seuls les événements du membre sont parcourus. Un membre qui
+   * n'est pas dans l'association n'est pas touché : ses inscriptions restent
+   * en place et le bilan est vide.
+   *
+   * @param membre le membre à supprimer
+   * @return le bilan de la suppression
+   */
+  @Override
+  public Radiation radierMembre(InterMembre membre) {
+    /* Le membre enregistré, si celui qui est donné n'en est qu'une copie */
+    boolean retire = false;
+    if (membre != null && membre.getInformationPersonnelle() != null) {
+      InterMembre enregistre =
+          this.index.membre(membre.getInformationPersonnelle());
+      if (enregistre != null) {
+        membre = enregistre;
+        retire = true;
+      }
+    }
+    
+    boolean president = retire && this.president() == membre;
+    if (president) {
       this.designerPresident(null);
     }
     
-    return this.ensembleMembres().remove(membre);
+    List<Evenement> desinscriptions = new ArrayList<>();
+    List<Evenement> attentes = new ArrayList<>();
+    List<InterMembre> promotions = new ArrayList<>();
+    
+    if (retire) {
+      this.desindexer(membre);
+      
+      desinscriptions.addAll(membre.ensembleEvenements());
+      for (Evenement evt : desinscriptions) {
+        promotions.addAll(evt.desinscrire(membre));
+      }
+      
+      attentes.addAll(membre.ensembleAttentes());
+      for (Evenement evt : attentes) {
+        evt.retirerAttente(membre);
+      }
+    }
+    
+    return new Radiation(membre, retire, president, desinscriptions,
+        attentes, promotions);
+  }
+  
+  /**
+   * Numérote un membre s'il n'a pas encore de numéro libre dans le
+   * gestionnaire, l'ajoute aux index et le rattache au gestionnaire pour être
+   * prévenu des modifications de ses informations.
+   *
+   * @param membre le membre à indexer
+   */
+  private void indexer(InterMembre membre) {
+    this.enregistrer(membre);
+    this.ajouterIndex(membre);
+  }
+  
+  /**
+   * Numérote un membre s'il n'a pas encore de numéro libre dans le
+   * gestionnaire, le range par numéro et par ordre d'ajout, et le rattache au
+   * gestionnaire, sans l'ajouter aux index de recherche.
+   *
+   * @param membre le membre à enregistrer
+   */
+  private void enregistrer(InterMembre membre) {
+    int numero = membre.getNumero();
+    if (numero == 0 || this.parNumero.contient(numero)) {
+      numero = ++this.dernierNumero;
+      membre.numeroter(numero);
+    }
+    this.parNumero.put(numero, membre);
+    this.ordre.add(membre);
+    
+    if (membre instanceof Membre) {
+      ((Membre) membre).gestionnaire = this;
+      ((Membre) membre).position = this.ordre.size() - 1;
+    }
+  }
+  
+  /**
+   * Retire un membre des index et le détache du gestionnaire. Le dernier
+   * membre de la liste prend sa place, pour un retrait en O(1).
+   *
+   * @param membre le membre à retirer
+   */
+  private void desindexer(InterMembre membre) {
+    this.retirerIndex(membre);
+    this.parNumero.remove(membre.getNumero());
+    
+    int i = this.position(membre);
+    int dernier = this.ordre.size() - 1;
+    InterMembre deplace = this.ordre.remove(dernier);
+    if (i < dernier) {
+      this.ordre.set(i, deplace);
+      if (deplace instanceof Membre) {
+        ((Membre) deplace).position = i;
+      }
+    }
+    
+    if (membre instanceof Membre && ((Membre) membre).gestionnaire == this) {
+      ((Membre) membre).gestionnaire = null;
+    }
+  }
+  
+  /**
+   * Renvoie la position d'un membre dans la liste des membres. Elle est
+   * connue des {@link Membre} ; les autres sont cherchés dans la liste.
+   *
+   * @param membre un membre du gestionnaire
+   * @return la position du membre
+   */
+  private int position(InterMembre membre) {
+    if (membre instanceof Membre) {
+      int i = ((Membre) membre).position;
+      if (i < this.ordre.size() && this.ordre.get(i) == membre) {
+        return i;
+      }
+    }
+    
+    for (int i = this.ordre.size() - 1; i >= 0; i--) {
+      if (this.ordre.get(i) == membre) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("membre absent de la liste");
+  }
+  
+  /**
+   * Prépare la modification des informations d'un membre du gestionnaire :
+   * le membre est retiré des index. Si seul
+   * l'âge change, il n'est retiré que de l'index des coordonnées.
+   *
+   * @param membre le membre qui va être modifié
+   * @param texte <code>false</code> si la modification ne touche que l'âge
+   */
+  void avantModification(Membre membre, boolean texte) {
+    if (texte) {
+      this.retirerIndex(membre);
+    } else {
+      this.coordonnees.retirer(membre);
+    }
+  }
+  
+  /**
+   * Termine la modification des informations d'un membre du gestionnaire : le
+   * membre est remis dans les index.
+   *
+   * @param membre le membre qui a été modifié
+   * @param texte <code>false</code> si la modification ne touche que l'âge
+   */
+  void apresModification(Membre membre, boolean texte) {
+    if (texte) {
+      this.ajouterIndex(membre);
+    } else {
+      this.coordonnees.ajouter(membre);
+    }
+  }
+  
+  /**
+   * Ajoute un membre à tous les index.
+   *
+   * @param membre le membre à indexer
+   */
+  private void ajouterIndex(InterMembre membre) {
+    this.index.ajouter(membre);
+    this.trigrammes.ajouter(membre);
+    this.coordonnees.ajouter(membre);
+  }
+  
+  /**
+   * Retire un membre de tous les index.
+   *
+   * @param membre le membre à retirer
+   */
+  private void retirerIndex(InterMembre membre) {
+    this.index.retirer(membre);
+    this.trigrammes.retirer(membre);
+    this.coordonnees.retirer(membre);
+  }
+  
+  /**
+   * Teste si des informations personnelles peuvent être données à un membre
+   * sans qu'il ait le même nom et le même prénom qu'un autre membre.
+   *
+   * @param info les nouvelles informations
+   * @param membre le membre à modifier
+   * @return <code>true</code> si aucun autre membre ne porte cette identité
+   */
+  boolean identiteDisponible(InformationPersonnelle info, Membre membre) {
+    if (info == null) {
+      return false;
+    }
+    
+    InterMembre existant = this.index.membre(info);
+    return existant == null || existant == membre;
   }
   
   /**
@@ -88,13 +520,142 @@ public class GestionMembres
   }
   
   /**
-   * Renvoie l'ensemble des membres de l'association.
+   * Renvoie l'ensemble des membres de l'association. L'ensemble n'est pas
+   * modifiable : les membres sont ajoutés et supprimés par le gestionnaire.
+   * C'est une vue sur les membres rangés par numéro, parcourue dans l'ordre
+   * de {@link #listeMembres()} ; le test d'appartenance passe par l'identité
+   * des membres.
    *
    * @return l'ensemble des membres de l'association.
    */
   @Override
   public Set<InterMembre> ensembleMembres() {
-    return this.membres;
+    return this.vueMembres;
+  }
+  
+  /**
+   * Vue non modifiable sur l'ensemble des membres du gestionnaire.
+   */
+  private final class VueMembres extends AbstractSet<InterMembre> {
+    
+    @Override
+    public Iterator<InterMembre> iterator() {
+      return GestionMembres.this.vueOrdre.iterator();
+    }
+    
+    @Override
+    public int size() {
+      return GestionMembres.this.ordre.size();
+    }
+    
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof InterMembre)
+          || ((InterMembre) o).getInformationPersonnelle() == null) {
+        return false;
+      }
+      
+      InterMembre membre = GestionMembres.this.index
+          .membre(((InterMembre) o).getInformationPersonnelle());
+      return membre != null && membre.equals(o);
+    }
+  }
+  
+  /**
+   * Renvoie les membres de l'association dans l'ordre de leur ajout. La liste
+   * est une vue non modifiable, tenue à jour par le gestionnaire, dont
+   * l'accès par position est en temps constant. La suppression d'un membre
+   * met le dernier membre de la liste à sa place.
+   *
+   * @return la liste des membres de l'association
+   */
+  @Override
+  public List<InterMembre> listeMembres() {
+    return this.vueOrdre;
+  }
+  
+  /**
+   * Renvoie le dernier numéro attribué à un membre, pour la sauvegarde.
+   *
+   * @return le dernier numéro attribué
+   */
+  int dernierNumero() {
+    return this.dernierNumero;
+  }
+  
+  /**
+   * Reprend le dernier numéro attribué d'une sauvegarde, pour que les
+   * numéros des membres supprimés ne soient pas réutilisés.
+   *
+   * @param numero le dernier numéro attribué lu
+   */
+  void restaurerDernierNumero(int numero) {
+    this.dernierNumero = Math.max(this.dernierNumero, numero);
+  }
+  
+  /**
+   * Renvoie le membre de l'association qui porte un numéro.
+   *
+   * @param numero le numéro du membre
+   * @return le membre, <code>null</code> si aucun membre ne porte ce numéro
+   */
+  @Override
+  public InterMembre membre(int numero) {
+    return this.parNumero.get(numero);
+  }
+  
+  /**
+   * Recherche les membres dont le nom ou le prénom commence par un préfixe,
+   * sans distinction de casse. Le préfixe peut continuer sur le prénom après
+   * le nom (« le bars n ») ou sur le nom après le prénom.
+   *
+   * @param prefixe le début du nom ou du prénom
+   * @param max le nombre maximum de membres renvoyés
+   * @return les premiers membres trouvés dans l'ordre alphabétique, au plus
+   *         <code>max</code>
+   */
+  @Override
+  public List<InterMembre> rechercherMembres(String prefixe, int max) {
+    return this.index.rechercher(prefixe, max);
+  }
+  
+  /**
+   * Recherche les membres dont le nom, le prénom ou l'adresse ressemblent à un
+   * texte, sans tenir compte de la casse ni des accents et en tolérant des
+   * fautes de frappe.
+   *
+   * @param texte le texte recherché
+   * @param max le nombre maximum de membres renvoyés
+   * @return les membres trouvés, du plus proche au moins proche, au plus
+   *         <code>max</code>
+   */
+  @Override
+  public List<InterMembre> rechercherMembresProches(String texte, int max) {
+    return this.trigrammes.rechercher(texte, max);
+  }
+  
+  /**
+   * Renvoie les membres dont l'âge est compris entre deux bornes.
+   *
+   * @param min l'âge minimum (inclus)
+   * @param max l'âge maximum (inclus)
+   * @return les membres de la tranche d'âge, par âge croissant
+   */
+  @Override
+  public List<InterMembre> rechercherMembresAge(int min, int max) {
+    return this.coordonnees.rechercherAge(min, max);
+  }
+  
+  /**
+   * Renvoie les membres dont l'adresse contient tous les mots d'un texte,
+   * sans distinction de casse ni d'accents, par exemple une ville.
+   *
+   * @param adresse les mots recherchés dans l'adresse
+   * @return les membres trouvés
+   */
+  @Override
+  public List<InterMembre> rechercherMembresAdresse(String adresse) {
+    return this.coordonnees.rechercherAdresse(adresse);
   }
   
   /**
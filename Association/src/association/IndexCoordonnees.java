@@ -0,0 +1,191 @@
+package association;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index des membres par âge et par mots de leur adresse, pour les recherches
+ * par tranche d'âge et par ville.
+ *
+ * <p>
+ * Les âges sont rangés dans un arbre trié : les membres d'une tranche d'âge
+ * sont ceux d'un sous-arbre, trouvés en O(log n + k). Les adresses sont
+ * découpées en mots sans casse ni accents (« Saint-Malo » donne « saint » et
+ * « malo »), chaque mot renvoyant aux membres dont l'adresse le contient.
+ * Les ensembles contiennent les numéros des membres. L'index n'est pas
+ * sérialisé : {@link GestionMembres} le reconstruit au chargement.
+ * </p>
+ *
+ * @author Gwendolyn Mandin
+ * @see GestionMembres#rechercherMembresAge(int, int)
+ * @see GestionMembres#rechercherMembresAdresse(String)
+ */
+final class IndexCoordonnees {
+  
+  /**
+   * Les numéros des membres de chaque âge.
+   */
+  private final NavigableMap<Integer, EnsembleEntiers> ages = new TreeMap<>();
+  
+  /**
+   * Les numéros des membres dont l'adresse contient chaque mot.
+   */
+  private final Map<String, EnsembleEntiers> mots = new HashMap<>();
+  
+  /**
+   * L'âge indexé de chaque membre, par numéro, pour le retirer même après sa
+   * modification.
+   */
+  private final TableEntiers<Integer> agesMembres = new TableEntiers<>();
+  
+  /**
+   * Les mots indexés de l'adresse de chaque membre, par numéro.
+   */
+  private final TableEntiers<String[]> motsMembres = new TableEntiers<>();
+  
+  /**
+   * Les membres du gestionnaire, par numéro.
+   */
+  private final TableEntiers<InterMembre> membres;
+  
+  /**
+   * Crée un index vide.
+   *
+   * @param membres les membres du gestionnaire par numéro, pour retrouver les
+   *        membres des ensembles
+   */
+  IndexCoordonnees(TableEntiers<InterMembre> membres) {
+    this.membres = membres;
+  }
+  
+  /**
+   * Ajoute un membre à l'index, ou le réindexe s'il y était déjà.
+   *
+   * @param mbr le membre à indexer, déjà numéroté
+   */
+  void ajouter(InterMembre mbr) {
+    this.retirer(mbr);
+    
+    InformationPersonnelle info = mbr.getInformationPersonnelle();
+    String[] motsAdresse = IndexTrigrammes.mots(info.getAdresse());
+    int numero = mbr.getNumero();
+    
+    this.agesMembres.put(numero, info.getAge());
+    ensemble(this.ages, info.getAge()).ajouter(numero);
+    this.motsMembres.put(numero, motsAdresse);
+    for (String mot : motsAdresse) {
+      ensemble(this.mots, mot).ajouter(numero);
+    }
+  }
+  
+  /**
+   * Retire un membre de l'index.
+   *
+   * @param mbr le membre à retirer
+   */
+  void retirer(InterMembre mbr) {
+    int numero = mbr.getNumero();
+    Integer age = this.agesMembres.remove(numero);
+    
+    if (age == null) {
+      return;
+    }
+    
+    retirer(this.ages, age, numero);
+    for (String mot : this.motsMembres.remove(numero)) {
+      retirer(this.mots, mot, numero);
+    }
+  }
+  
+  /**
+   * Renvoie les membres dont l'âge est compris entre deux bornes.
+   *
+   * @param min l'âge minimum (inclus)
+   * @param max l'âge maximum (inclus)
+   * @return les membres de la tranche d'âge, par âge croissant
+   */
+  List<InterMembre> rechercherAge(int min, int max) {
+    List<InterMembre> trouves = new ArrayList<>();
+    
+    if (min <= max) {
+      for (EnsembleEntiers numeros : this.ages.subMap(min, true, max, true)
+          .values()) {
+        numeros.pourChaque(numero -> trouves.add(this.membres.get(numero)));
+      }
+    }
+    
+    return trouves;
+  }
+  
+  /**
+   * Renvoie les membres dont l'adresse contient tous les mots d'un texte.
+   * Seuls les membres du mot le moins fréquent sont parcourus.
+   *
+   * @param texte les mots recherchés, par exemple une ville
+   * @return les membres trouvés
+   */
+  List<InterMembre> rechercherAdresse(String texte) {
+    String[] requete = IndexTrigrammes.mots(texte);
+    List<InterMembre> trouves = new ArrayList<>();
+    EnsembleEntiers plusRare = null;
+    
+    for (String mot : requete) {
+      EnsembleEntiers numeros = this.mots.get(mot);
+      
+      if (numeros == null) {
+        return trouves;
+      }
+      if (plusRare == null || numeros.taille() < plusRare.taille()) {
+        plusRare = numeros;
+      }
+    }
+    
+    if (plusRare == null) {
+      return trouves;
+    }
+    
+    List<String> motsRequete = List.of(requete);
+    plusRare.pourChaque(numero -> {
+      if (List.of(this.motsMembres.get(numero)).containsAll(motsRequete)) {
+        trouves.add(this.membres.get(numero));
+      }
+    });
+    
+    return trouves;
+  }
+  
+  /**
+   * Renvoie l'ensemble des numéros d'une clé, en le créant si besoin.
+   *
+   * @param <K> le type des clés
+   * @param index l'index
+   * @param cle la clé
+   * @return l'ensemble des numéros de la clé
+   */
+  private static <K> EnsembleEntiers ensemble(Map<K, EnsembleEntiers> index,
+      K cle) {
+    return index.computeIfAbsent(cle, c -> new EnsembleEntiers());
+  }
+  
+  /**
+   * Retire un numéro de l'ensemble d'une clé, et la clé si l'ensemble devient
+   * vide.
+   *
+   * @param <K> le type des clés
+   * @param index l'index
+   * @param cle la clé
+   * @param numero le numéro du membre à retirer
+   */
+  private static <K> void retirer(Map<K, EnsembleEntiers> index, K cle,
+      int numero) {
+    EnsembleEntiers numeros = index.get(cle);
+    numeros.retirer(numero);
+    if (numeros.taille() == 0) {
+      index.remove(cle);
+    }
+  }
+}
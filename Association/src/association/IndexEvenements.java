@@ -0,0 +1,181 @@
+package association;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index de recherche des événements par les mots de leur nom et de leur
+ * lieu, sans distinction de casse ni d'accents.
+ *
+ * <p>
+ * Chaque mot renvoie aux événements qui le contiennent, dans un arbre trié
+ * par mot : les événements dont un mot commence par un préfixe sont ceux des
+ * entrées consécutives de l'arbre à partir de ce préfixe. Une requête de
+ * plusieurs mots renvoie les événements qui ont, pour chaque mot de la
+ * requête, un mot qui commence par lui. Les événements sont désignés par
+ * leur numéro. L'index n'est pas sérialisé : {@link GestionEvenements} le
+ * reconstruit au chargement.
+ * </p>
+ *
+ * @author Josselin Scouarnec
+ * @see GestionEvenements#rechercherEvenements(String, LocalDateTime,
+ *      LocalDateTime, int)
+ */
+final class IndexEvenements {
+  
+  /**
+   * Les numéros des événements de chaque mot.
+   */
+  private final NavigableMap<String, EnsembleEntiers> mots = new TreeMap<>();
+  
+  /**
+   * Les mots de chaque événement indexé, par numéro, pour le retirer même
+   * après sa modification et pour vérifier les autres mots d'une requête.
+   */
+  private final TableEntiers<String[]> motsEvenements = new TableEntiers<>();
+  
+  /**
+   * Les événements du gestionnaire, par numéro.
+   */
+  private final TableEntiers<Evenement> evenements;
+  
+  /**
+   * Crée un index vide.
+   *
+   * @param evenements les événements du gestionnaire par numéro, pour
+   *        retrouver les événements des ensembles
+   */
+  IndexEvenements(TableEntiers<Evenement> evenements) {
+    this.evenements = evenements;
+  }
+  
+  /**
+   * Ajoute un événement à l'index.
+   *
+   * @param evt l'événement à indexer, déjà numéroté
+   */
+  void ajouter(Evenement evt) {
+    String[] motsEvt = IndexTrigrammes.mots(evt.getNom() + ' ' + evt.getLieu());
+    int numero = evt.getNumero();
+    
+    this.motsEvenements.put(numero, motsEvt);
+    for (String mot : motsEvt) {
+      this.mots.computeIfAbsent(mot, m -> new EnsembleEntiers())
+          .ajouter(numero);
+    }
+  }
+  
+  /**
+   * Retire un événement de l'index.
+   *
+   * @param evt l'événement à retirer
+   */
+  void retirer(Evenement evt) {
+    int numero = evt.getNumero();
+    String[] motsEvt = this.motsEvenements.remove(numero);
+    
+    if (motsEvt == null) {
+      return;
+    }
+    
+    for (String mot : motsEvt) {
+      EnsembleEntiers numeros = this.mots.get(mot);
+      numeros.retirer(numero);
+      if (numeros.taille() == 0) {
+        this.mots.remove(mot);
+      }
+    }
+  }
+  
+  /**
+   * Recherche les événements dont chaque mot du texte commence un mot du nom
+   * ou du lieu, et qui commencent dans une période. Les événements sont
+   * parcourus à partir du mot le plus long de la requête, le plus sélectif.
+   *
+   * @param texte les débuts de mots recherchés
+   * @param debut le début de la période (inclus), <code>null</code> pour ne
+   *        pas la limiter
+   * @param fin la fin de la période (exclue), <code>null</code> pour ne pas la
+   *        limiter
+   * @param max le nombre maximum d'événements renvoyés
+   * @return les événements trouvés, au plus <code>max</code>, dans l'ordre des
+   *         mots de l'index
+   */
+  List<Evenement> rechercher(String texte, LocalDateTime debut,
+      LocalDateTime fin, int max) {
+    String[] requete = IndexTrigrammes.mots(texte);
+    List<Evenement> trouves = new ArrayList<>();
+    
+    if (requete.length == 0) {
+      return trouves;
+    }
+    
+    String selectif = requete[0];
+    for (String mot : requete) {
+      if (mot.length() > selectif.length()) {
+        selectif = mot;
+      }
+    }
+    
+    EnsembleEntiers vus = new EnsembleEntiers();
+    for (Map.Entry<String, EnsembleEntiers> entree : this.mots
+        .tailMap(selectif, true).entrySet()) {
+      if (trouves.size() >= max || !entree.getKey().startsWith(selectif)) {
+        break;
+      }
+      
+      entree.getValue().pourChaque(numero -> {
+        Evenement evt = this.evenements.get(numero);
+        
+        if (trouves.size() < max && vus.ajouter(numero)
+            && dansPeriode(evt, debut, fin)
+            && contientPrefixes(this.motsEvenements.get(numero), requete)) {
+          trouves.add(evt);
+        }
+      });
+    }
+    
+    return trouves;
+  }
+  
+  /**
+   * Teste si un événement commence dans une période.
+   *
+   * @param evt l'événement
+   * @param debut le début de la période (inclus), ou <code>null</code>
+   * @param fin la fin de la période (exclue), ou <code>null</code>
+   * @return <code>true</code> si l'événement commence dans la période
+   */
+  private static boolean dansPeriode(Evenement evt, LocalDateTime debut,
+      LocalDateTime fin) {
+    return (debut == null || !evt.getDate().isBefore(debut))
+        && (fin == null || evt.getDate().isBefore(fin));
+  }
+  
+  /**
+   * Teste si chaque mot d'une requête commence un des mots d'un événement.
+   *
+   * @param motsEvt les mots de l'événement
+   * @param requete les mots de la requête
+   * @return <code>true</code> si tous les mots de la requête sont trouvés
+   */
+  private static boolean contientPrefixes(String[] motsEvt, String[] requete) {
+    for (String prefixe : requete) {
+      boolean trouve = false;
+      
+      for (int i = 0; i < motsEvt.length && !trouve; i++) {
+        trouve = motsEvt[i].startsWith(prefixe);
+      }
+      
+      if (!trouve) {
+        return false;
+      }
+    }
+    
+    return true;
+  }
+}
@@ -0,0 +1,156 @@
+package association;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index de recherche des membres par préfixe du nom ou du prénom, sans
+ * distinction de casse.
+ *
+ * <p>
+ * Chaque membre est rangé deux fois dans un arbre trié : sous « nom prénom »
+ * et sous « prénom nom ». Les membres dont une clé commence par le préfixe
+ * recherché sont donc consécutifs dans l'arbre, et les <code>k</code> premiers
+ * sont trouvés en O(log n + k). L'index n'est pas sérialisé :
+ * {@link GestionMembres} le reconstruit au chargement.
+ * </p>
+ *
+ * @author Gwendolyn Mandin
+ * @see GestionMembres#rechercherMembres(String, int)
+ */
+final class IndexMembres {
+  
+  /**
+   * Sépare le texte d'une clé de l'identité du membre, qui rend la clé unique.
+   * Il ne peut pas apparaître dans un préfixe normalisé.
+   */
+  private static final char SEPARATEUR = '\u0001';
+  
+  /**
+   * Les membres rangés par clé.
+   */
+  private final NavigableMap<String, InterMembre> entrees = new TreeMap<>();
+  
+  /**
+   * Les clés de chaque membre indexé, par numéro, pour le retirer même si ses
+   * informations personnelles ont changé depuis.
+   */
+  private final TableEntiers<String[]> cles = new TableEntiers<>();
+  
+  /**
+   * Les membres indexés, par identité (voir
+   * {@link InformationPersonnelle#identite()}).
+   */
+  private final Map<String, InterMembre> identites = new HashMap<>();
+  
+  /**
+   * Ajoute un membre à l'index, ou le réindexe s'il y était déjà.
+   *
+   * @param mbr le membre à indexer
+   */
+  void ajouter(InterMembre mbr) {
+    this.retirer(mbr);
+    
+    InformationPersonnelle info = mbr.getInformationPersonnelle();
+    String nom = normaliser(info.getNom());
+    String prenom = normaliser(info.getPrenom());
+    String identite = SEPARATEUR + info.identite();
+    String[] clesMembre = {nom + ' ' + prenom + identite,
+        prenom + ' ' + nom + identite};
+    
+    this.cles.put(mbr.getNumero(), clesMembre);
+    this.identites.put(info.identite(), mbr);
+    for (String cle : clesMembre) {
+      this.entrees.put(cle, mbr);
+    }
+  }
+  
+  /**
+   * Retire un membre de l'index.
+   *
+   * @param mbr le membre à retirer
+   */
+  void retirer(InterMembre mbr) {
+    String[] clesMembre = this.cles.remove(mbr.getNumero());
+    
+    if (clesMembre != null) {
+      for (String cle : clesMembre) {
+        this.entrees.remove(cle);
+      }
+      String cle = clesMembre[0];
+      this.identites.remove(cle.substring(cle.indexOf(SEPARATEUR) + 1));
+    }
+  }
+  
+  /**
+   * Renvoie le membre indexé qui porte une identité.
+   *
+   * @param info les informations personnelles dont l'identité est cherchée
+   * @return le membre qui porte cette identité, <code>null</code> s'il n'y en
+   *         a pas
+   */
+  InterMembre membre(InformationPersonnelle info) {
+    return this.identites.get(info.identite());
+  }
+  
+  /**
+   * Renvoie les premiers membres, dans l'ordre alphabétique, dont le nom ou
+   * le prénom commence par un préfixe. Le préfixe peut continuer sur le
+   * prénom après le nom, ou sur le nom après le prénom.
+   *
+   * @param prefixe le début du nom ou du prénom
+   * @param max le nombre maximum de membres renvoyés
+   * @return les membres trouvés, au plus <code>max</code>
+   */
+  List<InterMembre> rechercher(String prefixe, int max) {
+    List<InterMembre> trouves = new ArrayList<>();
+    EnsembleEntiers vus = new EnsembleEntiers();
+    String debut = normaliser(prefixe);
+    
+    for (Map.Entry<String, InterMembre> entree : this.entrees
+        .tailMap(debut, true).entrySet()) {
+      if (trouves.size() >= max || !entree.getKey().startsWith(debut)) {
+        break;
+      }
+      
+      if (vus.ajouter(entree.getValue().getNumero())) {
+        trouves.add(entree.getValue());
+      }
+    }
+    
+    return trouves;
+  }
+  
+  /**
+   * Met un texte sous la forme des clés de l'index : sans distinction de
+   * casse, sans caractères de contrôle, les blancs réduits à une espace.
+   *
+   * @param texte le texte à normaliser
+   * @return le texte normalisé
+   */
+  private static String normaliser(String texte) {
+    String plie = InformationPersonnelle.plierCasse(texte);
+    StringBuilder sb = new StringBuilder(plie.length());
+    boolean blanc = false;
+    
+    for (int i = 0; i < plie.length(); i++) {
+      char c = plie.charAt(i);
+      
+      if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+        blanc = sb.length() > 0;
+      } else if (!Character.isISOControl(c)) {
+        if (blanc) {
+          sb.append(' ');
+          blanc = false;
+        }
+        sb.append(c);
+      }
+    }
+    
+    return sb.toString();
+  }
+}
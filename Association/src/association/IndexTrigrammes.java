@@ -0,0 +1,256 @@
+package association;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Index de recherche approchée des membres par trigrammes : tolère les
+ * accents oubliés et les fautes de frappe dans le nom, le prénom et
+ * l'adresse.
+ *
+ * <p>
+ * Les textes sont normalisés (sans casse ni accents, la ponctuation
+ * remplacée par des espaces) puis découpés en trigrammes, chaque mot étant
+ * entouré d'une espace : « le bars » donne « _le », « le_ », « _ba », « bar »,
+ * « ars », « rs_ ». Chaque trigramme renvoie à l'ensemble des numéros des
+ * membres qui le contiennent (voir {@link InterMembre#getNumero()}) : un
+ * membre est ajouté ou retiré en O(1) par trigramme, même pour les
+ * trigrammes les plus courants. Une recherche compte les trigrammes de la
+ * requête présents chez chaque membre.
+ * </p>
+ *
+ * <p>
+ * Les ensembles sont réduits quand ils se vident : la mémoire reste
+ * proportionnelle au nombre de membres indexés. L'index n'est pas sérialisé :
+ * {@link GestionMembres} le reconstruit au chargement.
+ * </p>
+ *
+ * @author Gwendolyn Mandin
+ * @see GestionMembres#rechercherMembresProches(String, int)
+ */
+final class IndexTrigrammes {
+  
+  /**
+   * Part minimale des trigrammes de la requête qu'un membre doit contenir
+   * pour être renvoyé.
+   */
+  private static final double COUVERTURE_MIN = 0.5;
+  
+  /**
+   * Ensemble vide, pour les trigrammes qu'aucun membre ne contient.
+   */
+  private static final EnsembleEntiers VIDE = new EnsembleEntiers();
+  
+  /**
+   * Les numéros des membres qui contiennent chaque trigramme.
+   */
+  private final Map<String, EnsembleEntiers> ensembles = new HashMap<>();
+  
+  /**
+   * Les membres du gestionnaire, par numéro.
+   */
+  private final TableEntiers<InterMembre> membres;
+  
+  /**
+   * Les trigrammes de chaque membre indexé, par numéro.
+   */
+  private final TableEntiers<String[]> trigrammes = new TableEntiers<>();
+  
+  /**
+   * Crée un index vide.
+   *
+   * @param membres les membres du gestionnaire par numéro, pour retrouver les
+   *        membres des ensembles
+   */
+  IndexTrigrammes(TableEntiers<InterMembre> membres) {
+    this.membres = membres;
+  }
+  
+  /**
+   * Ajoute un membre à l'index, ou le réindexe s'il y était déjà.
+   *
+   * @param mbr le membre à indexer, déjà numéroté
+   */
+  void ajouter(InterMembre mbr) {
+    this.retirer(mbr);
+    
+    InformationPersonnelle info = mbr.getInformationPersonnelle();
+    String[] trigrammesMembre =
+        trigrammes(Objects.toString(info.getNom(), "") + ' '
+            + Objects.toString(info.getPrenom(), "") + ' '
+            + Objects.toString(info.getAdresse(), ""));
+    int numero = mbr.getNumero();
+    
+    this.trigrammes.put(numero, trigrammesMembre);
+    for (String trigramme : trigrammesMembre) {
+      this.ensembles.computeIfAbsent(trigramme, t -> new EnsembleEntiers())
+          .ajouter(numero);
+    }
+  }
+  
+  /**
+   * Retire un membre de l'index.
+   *
+   * @param mbr le membre à retirer
+   */
+  void retirer(InterMembre mbr) {
+    int numero = mbr.getNumero();
+    String[] trigrammesMembre = this.trigrammes.remove(numero);
+    
+    if (trigrammesMembre == null) {
+      return;
+    }
+    
+    for (String trigramme : trigrammesMembre) {
+      EnsembleEntiers numeros = this.ensembles.get(trigramme);
+      numeros.retirer(numero);
+      if (numeros.taille() == 0) {
+        this.ensembles.remove(trigramme);
+      }
+    }
+  }
+  
+  /**
+   * Renvoie les membres les plus proches d'un texte. Un membre est renvoyé
+   * s'il contient au moins la moitié des trigrammes du texte ; les membres
+   * sont classés par nombre de trigrammes du texte trouvés, puis du plus
+   * court au plus long.
+   *
+   * @param texte le texte recherché
+   * @param max le nombre maximum de membres renvoyés
+   * @return les membres trouvés, du plus proche au moins proche
+   */
+  List<InterMembre> rechercher(String texte, int max) {
+    String[] requete = trigrammes(texte);
+    int seuil = (int) Math.ceil(COUVERTURE_MIN * requete.length);
+    EnsembleEntiers[] trouves = new EnsembleEntiers[requete.length];
+    
+    for (int i = 0; i < requete.length; i++) {
+      trouves[i] = this.ensembles.getOrDefault(requete[i], VIDE);
+    }
+    Arrays.sort(trouves, Comparator.comparingInt(EnsembleEntiers::taille));
+    
+    /* Un membre qui a au moins seuil trigrammes de la requête est dans un
+     * des (longueur - seuil + 1) ensembles les plus petits : seuls leurs
+     * membres sont comptés, un test par trigramme de la requête */
+    int candidats = 0;
+    for (int i = 0; i <= requete.length - seuil; i++) {
+      candidats += trouves[i].taille();
+    }
+    
+    EnsembleEntiers vus = new EnsembleEntiers(candidats);
+    List<int[]> retenus = new ArrayList<>();
+    for (int i = 0; i <= requete.length - seuil; i++) {
+      trouves[i].pourChaque(numero -> {
+        if (vus.ajouter(numero)) {
+          int communs = 0;
+          for (int k = 0; k < trouves.length
+              && communs + trouves.length - k >= seuil; k++) {
+            if (trouves[k].contient(numero)) {
+              communs++;
+            }
+          }
+          
+          /* Numéro, trigrammes communs, trigrammes du membre */
+          if (communs >= seuil) {
+            retenus.add(new int[] {numero, communs,
+                this.trigrammes.get(numero).length});
+          }
+        }
+      });
+    }
+    
+    /* À nombre égal de trigrammes communs, le texte le plus court */
+    retenus.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1])
+        : a[2] != b[2] ? Integer.compare(a[2], b[2])
+            : Integer.compare(a[0], b[0]));
+    
+    List<InterMembre> membresTrouves = new ArrayList<>();
+    for (int[] retenu : retenus.subList(0, Math.min(max, retenus.size()))) {
+      membresTrouves.add(this.membres.get(retenu[0]));
+    }
+    
+    return membresTrouves;
+  }
+  
+  /**
+   * Met un texte sous la forme indexée : sans distinction de casse, sans
+   * accents, les caractères qui ne sont ni des lettres ni des chiffres
+   * remplacés par des espaces.
+   *
+   * @param texte le texte à normaliser
+   * @return le texte normalisé, les mots séparés par une espace
+   */
+  static String normaliser(String texte) {
+    String decompose = Normalizer.normalize(
+        InformationPersonnelle.plierCasse(texte), Normalizer.Form.NFD);
+    StringBuilder sb = new StringBuilder(decompose.length());
+    boolean blanc = false;
+    
+    for (int i = 0; i < decompose.length(); i++) {
+      char c = decompose.charAt(i);
+      
+      if (Character.getType(c) == Character.NON_SPACING_MARK) {
+        continue;
+      }
+      
+      if (Character.isLetterOrDigit(c)) {
+        if (blanc) {
+          sb.append(' ');
+          blanc = false;
+        }
+        sb.append(c);
+      } else {
+        blanc = sb.length() > 0;
+      }
+    }
+    
+    return sb.toString();
+  }
+  
+  /**
+   * Découpe un texte en mots distincts, après l'avoir normalisé.
+   *
+   * @param texte le texte à découper
+   * @return les mots du texte, dans leur ordre d'apparition
+   */
+  static String[] mots(String texte) {
+    String normalise = normaliser(texte);
+    
+    if (normalise.isEmpty()) {
+      return new String[0];
+    }
+    
+    return new LinkedHashSet<>(List.of(normalise.split(" ")))
+        .toArray(new String[0]);
+  }
+  
+  /**
+   * Découpe un texte en trigrammes distincts, après l'avoir normalisé.
+   *
+   * @param texte le texte à découper
+   * @return les trigrammes du texte
+   */
+  static String[] trigrammes(String texte) {
+    Set<String> resultat = new LinkedHashSet<>();
+    
+    for (String mot : normaliser(texte).split(" ")) {
+      if (!mot.isEmpty()) {
+        String entoure = ' ' + mot + ' ';
+        for (int i = 0; i + 3 <= entoure.length(); i++) {
+          resultat.add(entoure.substring(i, i + 3));
+        }
+      }
+    }
+    
+    return resultat.toArray(new String[0]);
+  }
+}
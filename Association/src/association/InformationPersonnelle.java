@@ -36,6 +36,22 @@ public final class InformationPersonnelle implements java.io.Serializable {
    */
   private String adresse;
   
+  /**
+   * Le nom et le prénom sans distinction de casse, calculés au premier
+   * besoin. Ils ne sont pas sérialisés.
+   */
+  private transient String identite;
+  
+  /**
+   * Le code de hachage de l'identité, valable si l'identité est calculée.
+   */
+  private transient int hashIdentite;
+  
+  /**
+   * Le membre qui porte ces informations, prévenu de leurs modifications.
+   */
+  transient Membre proprietaire;
+  
   /**
    * Renvoie le nom de la personne.
    *
@@ -70,7 +86,7 @@ public final class InformationPersonnelle implements java.io.Serializable {
    */
   public void setAge(int age) {
     if (age > 0) {
-      this.age = age;
+      this.modifier(() -> this.age = age, false);
     }
   }
   
@@ -90,7 +106,22 @@ public final class InformationPersonnelle implements java.io.Serializable {
    */
   public void setAdresse(String adresse) {
     if (adresse != null) {
-      this.adresse = adresse;
+      this.modifier(() -> this.adresse = adresse, true);
+    }
+  }
+  
+  /**
+   * Applique une modification aux informations en prévenant le membre qui
+   * les porte.
+   *
+   * @param modification la modification à appliquer
+   * @param texte <code>false</code> si la modification ne touche que l'âge
+   */
+  private void modifier(Runnable modification, boolean texte) {
+    if (this.proprietaire == null) {
+      modification.run();
+    } else {
+      this.proprietaire.modifier(modification, texte);
     }
   }
   
@@ -121,6 +152,79 @@ public final class InformationPersonnelle implements java.io.Serializable {
     this.age = age;
   }
   
+  /**
+   * Renvoie l'identité de la personne : son nom et son prénom sans distinction
+   * de casse. Chaque caractère est converti en majuscule puis en minuscule,
+   * comme le fait {@link String#equalsIgnoreCase(String)}, sans dépendre de
+   * la langue du système. L'identité est calculée une seule fois car le nom et
+   * le prénom ne peuvent pas être modifiés.
+   *
+   * @return l'identité de la personne
+   */
+  String identite() {
+    if (this.identite == null) {
+      StringBuilder sb = new StringBuilder();
+      plierCasse(sb, this.nom);
+      sb.append('\0');
+      plierCasse(sb, this.prenom);
+      String cle = sb.toString();
+      this.hashIdentite = cle.hashCode();
+      this.identite = cle;
+    }
+    
+    return this.identite;
+  }
+  
+  /**
+   * Renvoie le code de hachage de l'identité de la personne.
+   *
+   * @return le code de hachage de {@link #identite()}
+   */
+  int hashIdentite() {
+    this.identite();
+    return this.hashIdentite;
+  }
+  
+  /**
+   * Teste si deux personnes ont le même nom et le même prénom, sans
+   * distinction de casse.
+   *
+   * @param other l'autre personne
+   * @return <code>true</code> si les deux personnes ont la même identité
+   */
+  boolean memeIdentite(InformationPersonnelle other) {
+    return this == other || this.hashIdentite() == other.hashIdentite()
+        && this.identite().equals(other.identite());
+  }
+  
+  /**
+   * Renvoie une chaîne sans distinction de casse, de la même manière que
+   * {@link #identite()}.
+   *
+   * @param chaine la chaîne à convertir
+   * @return la chaîne convertie, vide si la chaîne est <code>null</code>
+   */
+  static String plierCasse(String chaine) {
+    StringBuilder sb = new StringBuilder();
+    plierCasse(sb, chaine);
+    return sb.toString();
+  }
+  
+  /**
+   * Ajoute une chaîne sans distinction de casse à la fin d'un tampon.
+   *
+   * @param sb le tampon
+   * @param chaine la chaîne à ajouter, ignorée si <code>null</code>
+   */
+  private static void plierCasse(StringBuilder sb, String chaine) {
+    if (chaine == null) {
+      return;
+    }
+    
+    chaine.codePoints().forEach(cp -> sb
+        .appendCodePoint(Character.toLowerCase(Character.toUpperCase(cp))));
+  }
+  
   @Override
   public int hashCode() {
     return Objects.hash(adresse, age, nom, prenom);
@@ -1,6 +1,7 @@
 package association;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Définition des actions de gestion de l'association.
@@ -27,6 +28,13 @@ public interface InterGestionAssociation {
    */
   InterGestionMembres gestionnaireMembre();
   
+  /**
+   * Supprime toutes les données de l'association : les gestionnaires de
+   * membres et d'événements sont remplacés par des gestionnaires vides, puis
+   * les observateurs sont prévenus une fois.
+   */
+  void reinitialiser();
+  
   /**
    * Enregistre dans un fichier toutes les données de l'association,
    * c'est-à-dire l'ensemble des membres et des événéments.
@@ -40,10 +48,46 @@ public interface InterGestionAssociation {
    * Charge à partir d'un fichier toutes les données de l'association,
    * c'est-à-dire un ensemble de membres et d'événements. Si des membres et des
    * événéments avaient déjà été définis, ils sont écrasés par le contenu trouvé
-   * dans le fichier.
+   * dans le fichier. Les observateurs sont prévenus une fois le chargement
+   * terminé.
    *
    * @param nomFichier le fichier à partir duquel charger les données
    * @throws IOException en cas de problème de lecture dans le fichier
    */
   void chargerDonnees(String nomFichier) throws IOException;
+  
+  /**
+   * Vérifie la cohérence des données de l'association : chevauchements,
+   * inscriptions asymétriques, participants inconnus, nombre maximum de
+   * participants dépassé.
+   *
+   * @param reparer <code>true</code> pour réparer les incohérences qui peuvent
+   *        l'être
+   * @return les incohérences trouvées
+   */
+  List<Anomalie> verifierIntegrite(boolean reparer);
+  
+  /**
+   * Renvoie les incohérences trouvées, et réparées si possible, lors du
+   * dernier chargement des données.
+   *
+   * @return les incohérences du dernier chargement
+   */
+  List<Anomalie> anomaliesChargement();
+  
+  /**
+   * Ajoute un observateur prévenu à chaque remplacement des données de
+   * l'association.
+   *
+   * @param observateur l'observateur à ajouter
+   */
+  void ajouterObservateur(ObservateurAssociation observateur);
+  
+  /**
+   * Retire un observateur de l'association.
+   *
+   * @param observateur l'observateur à retirer
+   * @return <code>true</code> si l'observateur était enregistré
+   */
+  boolean retirerObservateur(ObservateurAssociation observateur);
 }
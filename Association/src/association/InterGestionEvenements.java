@@ -1,6 +1,9 @@
 package association;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,6 +35,111 @@ public interface InterGestionEvenements {
   Evenement creerEvenement(String nom, String lieu, int jour, Month mois,
       int annee, int heure, int minutes, int duree, int nbParticipants);
   
+  /**
+   * Crée un lot d'événements. Les événements donnés servent de modèles : ils
+   * sont vérifiés comme par <code>creerEvenement</code>, contre les événements
+   * de l'association et contre les autres événements du lot, et une copie sans
+   * participants est créée pour chaque modèle accepté.
+   *
+   * @param modeles les modèles des événements à créer
+   * @return pour chaque modèle, dans l'ordre du lot, l'événement créé ou le
+   *         modèle refusé avec le motif du refus
+   */
+  List<Resultat<Evenement>> creerEvenements(Collection<Evenement> modeles);
+  
+  /**
+   * Crée une série d'événements récurrents, par exemple tous les 7 jours à
+   * partir d'un mardi 18h. Les occurrences ne sont pas créées : elles sont
+   * vérifiées contre les événements et les autres séries du même lieu à partir
+   * de leurs dates.
+   *
+   * @param nom le nom de la série
+   * @param lieu le lieu
+   * @param premiere la date et l'heure de la première occurrence
+   * @param periode le nombre de jours entre deux occurrences
+   * @param fin le dernier jour où une occurrence peut commencer
+   * @param duree la durée d'une occurrence (en heures), inférieure à la
+   *        période
+   * @param nbParticipants le nombre maximum de participants à chaque
+   *        occurrence
+   * @return la série créée ou <code>null</code> en cas de problème
+   *         (paramètres non valides, nom déjà utilisé ou chevauchement)
+   */
+  SerieEvenements creerSerie(String nom, String lieu, LocalDateTime premiere,
+      int periode, LocalDate fin, int duree, int nbParticipants);
+  
+  /**
+   * Renvoie la série de l'association qui porte un nom. Le nom est comparé
+   * après avoir été reformaté.
+   *
+   * @param nom le nom de la série
+   * @return la série qui porte ce nom ou <code>null</code> si elle n'existe
+   *         pas
+   */
+  SerieEvenements trouverSerie(String nom);
+  
+  /**
+   * Renvoie les séries d'événements récurrents de l'association.
+   *
+   * @return les séries de l'association
+   */
+  List<SerieEvenements> ensembleSeries();
+  
+  /**
+   * Supprime une série. Les membres inscrits à ses occurrences en sont
+   * désinscrits.
+   *
+   * @param serie la série à supprimer
+   */
+  void supprimerSerie(SerieEvenements serie);
+  
+  /**
+   * Renvoie l'événement de l'association qui porte un numéro.
+   *
+   * @param numero le numéro de l'événement
+   * @return l'événement, <code>null</code> si aucun événement ne porte ce
+   *         numéro
+   */
+  Evenement evenement(int numero);
+  
+  /**
+   * Renvoie l'événement de l'association qui porte un nom. Le nom est comparé
+   * après avoir été reformaté comme le sont les noms des événements.
+   *
+   * @param nom le nom de l'événement
+   * @return l'événement qui porte ce nom ou <code>null</code> s'il n'existe
+   *         pas
+   */
+  Evenement trouverEvenement(String nom);
+  
+  /**
+   * Cherche les premiers créneaux libres d'un lieu pour un événement d'une
+   * durée donnée, dans une période de recherche. Un créneau est renvoyé pour
+   * chaque trou assez grand entre les événements du lieu : le début le plus
+   * tôt possible dans ce trou.
+   *
+   * @param lieu le lieu
+   * @param duree la durée de l'événement (en heures)
+   * @param debut le début de la période de recherche
+   * @param fin la fin de la période de recherche, l'événement doit être
+   *        terminé à cette date
+   * @param nombre le nombre maximum de créneaux à renvoyer
+   * @return les débuts possibles de l'événement, par ordre chronologique
+   */
+  List<LocalDateTime> creneauxLibres(String lieu, int duree,
+      LocalDateTime debut, LocalDateTime fin, int nombre);
+  
+  /**
+   * Renvoie les lieux de l'association qui sont libres pendant une période,
+   * c'est-à-dire les lieux où ont lieu des événements de l'association mais
+   * où aucun événement ne chevauche la période.
+   *
+   * @param date le début de la période
+   * @param duree la durée de la période (en heures)
+   * @return les lieux libres, par ordre alphabétique
+   */
+  List<String> lieuxLibres(LocalDateTime date, int duree);
+  
   /**
    * Supprime un événement. Les membres qui étaient inscrits sont
    * automatiquement désinscrits de l'événement supprimé. Si l'événement
@@ -49,14 +157,53 @@ public interface InterGestionEvenements {
   List<Evenement> ensembleEvenements();
   
   /**
-   * Renvoie l'ensemble des événements à venir de l'association.
+   * Renvoie l'ensemble des événements à venir de l'association, par ordre
+   * chronologique. Les événements en sortent quand ils commencent.
    *
    * @return l'ensemble des événements à venir
    */
   List<Evenement> ensembleEvenementsAvenir();
   
   /**
-   * Un membre est incrit à un événement.
+   * Recherche les événements de l'association dont le nom ou le lieu
+   * contiennent des débuts de mots, sans distinction de casse ni d'accents.
+   * La recherche peut être limitée à une période.
+   *
+   * @param texte les débuts de mots recherchés
+   * @param debut le début de la période (inclus), <code>null</code> pour ne
+   *        pas la limiter
+   * @param fin la fin de la période (exclue), <code>null</code> pour ne pas la
+   *        limiter
+   * @param max le nombre maximum d'événements renvoyés
+   * @return les événements trouvés, au plus <code>max</code>, par ordre
+   *         chronologique
+   */
+  List<Evenement> rechercherEvenements(String texte, LocalDateTime debut,
+      LocalDateTime fin, int max);
+  
+  /**
+   * Renvoie les événements de l'association qui commencent dans une période,
+   * y compris les occurrences des séries.
+   *
+   * @param debut le début de la période (inclus)
+   * @param fin la fin de la période (exclue)
+   * @return les événements de la période, par ordre chronologique
+   */
+  List<Evenement> evenementsEntre(LocalDateTime debut, LocalDateTime fin);
+  
+  /**
+   * Renvoie les événements de l'association qui commencent un jour donné, y
+   * compris les occurrences des séries.
+   *
+   * @param jour le jour
+   * @return les événements du jour, par ordre chronologique
+   */
+  List<Evenement> evenementsDuJour(LocalDate jour);
+  
+  /**
+   * Un membre est incrit à un événement. Si l'événement est complet, le
+   * membre est mis sur sa liste d'attente et sera inscrit automatiquement
+   * quand une place se libérera.
    *
    * @param evt l'événement auquel s'inscrire
    * @param mbr le membre qui s'inscrit
@@ -68,7 +215,23 @@ public interface InterGestionEvenements {
   boolean inscriptionEvenement(Evenement evt, InterMembre mbr);
   
   /**
-   * Désincrit un membre d'un événement.
+   * Inscrit un lot de membres à un événement. Les membres sont vérifiés dans
+   * l'ordre du lot comme par <code>inscriptionEvenement</code> : les places
+   * restantes sont attribuées aux premiers membres acceptés, les suivants
+   * sont mis sur la liste d'attente.
+   *
+   * @param evt l'événement auquel inscrire les membres
+   * @param membres les membres à inscrire
+   * @return pour chaque membre, dans l'ordre du lot, s'il a été inscrit ou le
+   *         motif du refus
+   */
+  List<Resultat<InterMembre>> inscriptionEvenement(Evenement evt,
+      Collection<InterMembre> membres);
+  
+  /**
+   * Désincrit un membre d'un événement, ou le retire de sa liste d'attente.
+   * La place libérée est donnée au premier membre de la liste d'attente qui
+   * est encore disponible.
    *
    * @param evt l'événement auquel se désinscrire
    * @param mbr le membre qui se désincrit
@@ -1,5 +1,7 @@
 package association;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -19,6 +21,18 @@ public interface InterGestionMembres {
    */
   boolean ajouterMembre(InterMembre membre);
   
+  /**
+   * Ajoute un lot de membres à l'association. Les membres sont comparés
+   * comme par <code>ajouterMembre</code>, sans distinction de casse, aux
+   * membres de l'association et aux autres membres du lot : seul le premier
+   * membre d'une même identité est ajouté.
+   *
+   * @param membres les membres à ajouter
+   * @return pour chaque membre, dans l'ordre du lot, le membre ajouté ou le
+   *         membre refusé avec le motif du refus
+   */
+  List<Resultat<InterMembre>> ajouterMembres(Collection<InterMembre> membres);
+  
   /**
    * Supprime un membre de l'association.
    *
@@ -28,6 +42,16 @@ public interface InterGestionMembres {
    */
   boolean supprimerMembre(InterMembre membre);
   
+  /**
+   * Supprime un membre de l'association et annule toutes ses inscriptions :
+   * il est désinscrit de ses événements et retiré des listes d'attente. Un
+   * membre absent de l'association n'est pas touché.
+   *
+   * @param membre le membre à supprimer
+   * @return le bilan de la suppression
+   */
+  Radiation radierMembre(InterMembre membre);
+  
   /**
    * Désigne le président de l'association. Il doit être un des membres de
    * l'association.
@@ -46,6 +70,64 @@ public interface InterGestionMembres {
    */
   Set<InterMembre> ensembleMembres();
   
+  /**
+   * Renvoie les membres de l'association, sous la forme d'une vue non
+   * modifiable. Les membres y sont dans l'ordre de leur ajout, à ceci près
+   * que la suppression d'un membre peut déplacer un autre membre à sa place.
+   *
+   * @return la liste des membres de l'association
+   */
+  List<InterMembre> listeMembres();
+  
+  /**
+   * Renvoie le membre de l'association qui porte un numéro.
+   *
+   * @param numero le numéro du membre
+   * @return le membre, <code>null</code> si aucun membre ne porte ce numéro
+   */
+  InterMembre membre(int numero);
+  
+  /**
+   * Recherche les membres dont le nom ou le prénom commence par un préfixe,
+   * sans distinction de casse.
+   *
+   * @param prefixe le début du nom ou du prénom
+   * @param max le nombre maximum de membres renvoyés
+   * @return les premiers membres trouvés dans l'ordre alphabétique, au plus
+   *         <code>max</code>
+   */
+  List<InterMembre> rechercherMembres(String prefixe, int max);
+  
+  /**
+   * Recherche les membres dont le nom, le prénom ou l'adresse ressemblent à un
+   * texte, sans tenir compte de la casse ni des accents et en tolérant des
+   * fautes de frappe.
+   *
+   * @param texte le texte recherché
+   * @param max le nombre maximum de membres renvoyés
+   * @return les membres trouvés, du plus proche au moins proche, au plus
+   *         <code>max</code>
+   */
+  List<InterMembre> rechercherMembresProches(String texte, int max);
+  
+  /**
+   * Renvoie les membres dont l'âge est compris entre deux bornes.
+   *
+   * @param min l'âge minimum (inclus)
+   * @param max l'âge maximum (inclus)
+   * @return les membres de la tranche d'âge, par âge croissant
+   */
+  List<InterMembre> rechercherMembresAge(int min, int max);
+  
+  /**
+   * Renvoie les membres dont l'adresse contient tous les mots d'un texte,
+   * sans distinction de casse ni d'accents, par exemple une ville.
+   *
+   * @param adresse les mots recherchés dans l'adresse
+   * @return les membres trouvés
+   */
+  List<InterMembre> rechercherMembresAdresse(String adresse);
+  
   /**
    * Renvoie le président de l'association.
    *
@@ -1,6 +1,9 @@
 package association;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Définit les actions pour un membre d'une association qui peut participer à
@@ -18,12 +21,82 @@ public interface InterMembre {
   
   /**
    * La liste des événements auquel le membre est inscrit et qui n'ont pas
-   * encore eu lieu.
+   * encore eu lieu, par ordre chronologique.
    *
    * @return la liste des événements à venir du memmbre
    */
   List<Evenement> ensembleEvenementsAvenir();
   
+  /**
+   * Renvoie les événements du membre qui commencent dans une période.
+   *
+   * @param debut le début de la période (inclus)
+   * @param fin la fin de la période (exclue)
+   * @return les événements de la période, par ordre chronologique
+   */
+  List<Evenement> evenementsEntre(LocalDateTime debut, LocalDateTime fin);
+  
+  /**
+   * Renvoie les événements du membre qui commencent un jour donné.
+   *
+   * @param jour le jour
+   * @return les événements du jour, par ordre chronologique
+   */
+  List<Evenement> evenementsDuJour(LocalDate jour);
+  
+  /**
+   * Ajoute un événement à la liste des événements du membre. Ne modifie pas
+   * les participants de l'événement : un membre s'inscrit à un événement par
+   * {@link InterGestionEvenements}.
+   *
+   * @param evt l'événement à ajouter
+   * @return <code>true</code> si l'événement a été ajouté, <code>false</code>
+   *         s'il était déjà dans la liste
+   */
+  boolean ajouterEvenement(Evenement evt);
+  
+  /**
+   * Retire un événement de la liste des événements du membre.
+   *
+   * @param evt l'événement à retirer
+   * @return <code>true</code> si l'événement était dans la liste
+   */
+  boolean retirerEvenement(Evenement evt);
+  
+  /**
+   * Renvoie les événements sur la liste d'attente desquels le membre est
+   * inscrit. L'ensemble n'est pas modifiable.
+   *
+   * @return les événements attendus par le membre
+   */
+  Set<Evenement> ensembleAttentes();
+  
+  /**
+   * Ajoute un événement aux événements attendus par le membre. Ne modifie pas
+   * la liste d'attente de l'événement.
+   *
+   * @param evt l'événement attendu
+   * @return <code>true</code> si l'événement n'était pas déjà attendu
+   */
+  boolean ajouterAttente(Evenement evt);
+  
+  /**
+   * Retire un événement des événements attendus par le membre.
+   *
+   * @param evt l'événement qui n'est plus attendu
+   * @return <code>true</code> si l'événement était attendu
+   */
+  boolean retirerAttente(Evenement evt);
+  
+  /**
+   * Teste si le membre est libre pendant un événement, c'est-à-dire qu'il
+   * n'est inscrit à aucun autre événement qui a lieu en même temps.
+   *
+   * @param evt l'événement à tester
+   * @return <code>true</code> si le membre est libre
+   */
+  boolean estDisponible(Evenement evt);
+  
   /**
    * Définit les informations personnelles du membre.
    *
@@ -38,4 +111,21 @@ public interface InterMembre {
    *         <code>null</code> si elles n'ont pas été définies
    */
   InformationPersonnelle getInformationPersonnelle();
+  
+  /**
+   * Renvoie le numéro du membre, unique parmi les membres de son gestionnaire
+   * et conservé à la sauvegarde.
+   *
+   * @return le numéro du membre, 0 s'il n'a été ajouté à aucun gestionnaire
+   */
+  int getNumero();
+  
+  /**
+   * Attribue un numéro au membre. Le numéro est donné par le
+   * {@link GestionMembres} qui reçoit le membre : les autres classes ne
+   * doivent pas l'appeler.
+   *
+   * @param numero le numéro du membre
+   */
+  void numeroter(int numero);
 }
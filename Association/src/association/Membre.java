@@ -1,8 +1,15 @@
 package association;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 
 /**
  * Description d'un membre géré par {@link GestionMembres}.
@@ -20,59 +27,282 @@ public class Membre implements InterMembre, java.io.Serializable, Cloneable {
    */
   private static final long serialVersionUID = 4167389720104587479L;
   
+  /**
+   * Le numéro du membre, attribué par son {@link GestionMembres} à partir de
+   * 1, 0 si le membre n'a été ajouté à aucun gestionnaire.
+   */
+  private int numero;
+  
   /**
    * Les informations personnelles du membre.
    */
   private InformationPersonnelle informationPersonnelle;
   
   /**
-   * La liste des événements auquel le membre est inscrit ou a participé.
+   * Les événements auquel le membre est inscrit ou a participé, triés par
+   * ordre chronologique. Ils ne sont pas sérialisés : {@link
+   * GestionEvenements} les reconstruit à partir des participants de ses
+   * événements.
    */
-  private List<Evenement> evenements;
+  private transient Chronologie chronologie;
   
   /**
-   * La liste des événements auquel le membre est inscrit et qui n'ont pas
-   * encore eu lieu.
+   * Les événements sur la liste d'attente desquels le membre est inscrit,
+   * comparés par identité. Ils ne sont pas sérialisés : {@link
+   * GestionEvenements} les reconstruit à partir des listes d'attente.
+   */
+  private transient Set<Evenement> attentes;
+  
+  /**
+   * L'horloge qui donne la date courante, pour les événements à venir.
    */
-  private List<Evenement> evenementsAvenir;
+  private transient Clock horloge;
+  
+  /**
+   * Le gestionnaire dont le membre fait partie, <code>null</code> si le
+   * membre n'a été ajouté à aucun {@link GestionMembres}.
+   */
+  transient GestionMembres gestionnaire;
+  
+  /**
+   * La position du membre dans la liste des membres de son gestionnaire
+   * (voir {@link GestionMembres#listeMembres()}).
+   */
+  transient int position;
   
   /**
    * Crée un membre sans événements.
    */
   public Membre() {
-    this.evenements = new ArrayList<>();
-    this.evenementsAvenir = new ArrayList<>();
+    this(Clock.systemDefaultZone());
   }
   
   /**
-   * La liste des événements auquel le membre est inscrit ou a participé.
+   * Crée un membre sans événements, dont les événements à venir sont
+   * déterminés par une horloge.
+   *
+   * @param horloge l'horloge qui donne la date courante
+   */
+  public Membre(Clock horloge) {
+    this.horloge = horloge;
+    this.initialiserEvenements();
+  }
+  
+  /**
+   * Crée les listes vides des événements du membre.
+   */
+  private void initialiserEvenements() {
+    this.chronologie = new Chronologie();
+    this.attentes = Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+  
+  /**
+   * Initialise les listes des événements après la désérialisation du membre.
+   *
+   * @param ois le flux de lecture
+   * @throws IOException en cas de problème de lecture
+   * @throws ClassNotFoundException si une classe lue est inconnue
+   */
+  private void readObject(ObjectInputStream ois)
+      throws IOException, ClassNotFoundException {
+    ois.defaultReadObject();
+    this.horloge = Clock.systemDefaultZone();
+    this.initialiserEvenements();
+    
+    if (this.informationPersonnelle != null) {
+      this.informationPersonnelle.proprietaire = this;
+    }
+  }
+  
+  /**
+   * Applique une modification aux informations du membre en gardant à jour
+   * les index de son gestionnaire.
+   *
+   * @param modification la modification à appliquer
+   * @param texte <code>false</code> si la modification ne touche que l'âge :
+   *        les index du nom, du prénom et de l'adresse ne sont pas mis à jour
+   */
+  void modifier(Runnable modification, boolean texte) {
+    if (this.gestionnaire == null) {
+      modification.run();
+    } else {
+      this.gestionnaire.avantModification(this, texte);
+      modification.run();
+      this.gestionnaire.apresModification(this, texte);
+    }
+  }
+  
+  /**
+   * La liste des événements auquel le membre est inscrit ou a participé, par
+   * ordre chronologique. La liste n'est pas modifiable.
    *
    * @return la liste des événements du membre
    */
   @Override
   public List<Evenement> ensembleEvenements() {
-    return this.evenements;
+    return this.chronologie;
   }
   
   /**
    * La liste des événements auquel le membre est inscrit et qui n'ont pas
-   * encore eu lieu.
+   * encore eu lieu, par ordre chronologique. C'est une vue non modifiable sur
+   * la fin de la chronologie, la même à chaque appel : les inscriptions et
+   * désinscriptions y sont visibles, et les événements qui ont commencé à la
+   * date de l'horloge du membre en sortent à l'appel suivant, comme pour
+   * {@link GestionEvenements#ensembleEvenementsAvenir()}.
    *
    * @return la liste des événements à venir du memmbre
    */
   @Override
   public List<Evenement> ensembleEvenementsAvenir() {
-    return this.evenementsAvenir;
+    return this.chronologie
+        .avenir(Evenement.minutes(LocalDateTime.now(this.horloge)));
+  }
+  
+  /**
+   * Renvoie les événements du membre qui commencent dans une période.
+   *
+   * @param debut le début de la période (inclus)
+   * @param fin la fin de la période (exclue)
+   * @return les événements de la période, par ordre chronologique
+   */
+  @Override
+  public List<Evenement> evenementsEntre(LocalDateTime debut,
+      LocalDateTime fin) {
+    if (debut == null || fin == null || !debut.isBefore(fin)) {
+      return new ArrayList<>();
+    }
+    
+    return this.chronologie.entre(Evenement.minutes(debut),
+        Evenement.minutes(fin));
+  }
+  
+  /**
+   * Renvoie les événements du membre qui commencent un jour donné.
+   *
+   * @param jour le jour
+   * @return les événements du jour, par ordre chronologique
+   */
+  @Override
+  public List<Evenement> evenementsDuJour(LocalDate jour) {
+    if (jour == null) {
+      return new ArrayList<>();
+    }
+    
+    return this.evenementsEntre(jour.atStartOfDay(),
+        jour.plusDays(1).atStartOfDay());
+  }
+  
+  /**
+   * Ajoute un événement à la liste des événements du membre. Ne modifie pas
+   * les participants de l'événement : un membre s'inscrit à un événement par
+   * {@link InterGestionEvenements}.
+   *
+   * @param evt l'événement à ajouter
+   * @return <code>true</code> si l'événement a été ajouté, <code>false</code>
+   *         s'il était déjà dans la liste
+   */
+  @Override
+  public boolean ajouterEvenement(Evenement evt) {
+    return this.chronologie.ajouter(evt);
+  }
+  
+  /**
+   * Retire un événement de la liste des événements du membre. Les événements
+   * attendus par le membre sont prévenus qu'il est peut-être devenu
+   * disponible.
+   *
+   * @param evt l'événement à retirer
+   * @return <code>true</code> si l'événement était dans la liste
+   */
+  @Override
+  public boolean retirerEvenement(Evenement evt) {
+    if (!this.chronologie.retirer(evt)) {
+      return false;
+    }
+    
+    for (Evenement attendu : this.attentes) {
+      attendu.reprendreAttente(this);
+    }
+    return true;
+  }
+  
+  /**
+   * Renvoie les événements sur la liste d'attente desquels le membre est
+   * inscrit. L'ensemble n'est pas modifiable.
+   *
+   * @return les événements attendus par le membre
+   */
+  @Override
+  public Set<Evenement> ensembleAttentes() {
+    return Collections.unmodifiableSet(this.attentes);
+  }
+  
+  /**
+   * Ajoute un événement aux événements attendus par le membre. Ne modifie pas
+   * la liste d'attente de l'événement.
+   *
+   * @param evt l'événement attendu
+   * @return <code>true</code> si l'événement n'était pas déjà attendu
+   */
+  @Override
+  public boolean ajouterAttente(Evenement evt) {
+    return this.attentes.add(evt);
+  }
+  
+  /**
+   * Retire un événement des événements attendus par le membre.
+   *
+   * @param evt l'événement qui n'est plus attendu
+   * @return <code>true</code> si l'événement était attendu
+   */
+  @Override
+  public boolean retirerAttente(Evenement evt) {
+    return this.attentes.remove(evt);
+  }
+  
+  /**
+   * Teste si le membre est libre pendant un événement, c'est-à-dire qu'il
+   * n'est inscrit à aucun autre événement qui a lieu en même temps. La
+   * chronologie garde la plus grande fin des événements de chaque
+   * sous-arbre : le test est en O(log n), et correct même si un événement du
+   * membre a été modifié depuis pour en chevaucher un autre.
+   *
+   * @param evt l'événement à tester
+   * @return <code>true</code> si le membre est libre
+   */
+  @Override
+  public boolean estDisponible(Evenement evt) {
+    return !this.chronologie.chevauche(evt);
   }
   
   /**
    * Définit les informations personnelles du membre.
    *
+   * Si le membre fait partie d'un {@link GestionMembres} et qu'un autre de
+   * ses membres porte déjà ce nom et ce prénom, les informations ne sont pas
+   * modifiées.
+   *
    * @param info les informations personnelles du membre
    */
   @Override
   public void definirInformationPersonnnelle(InformationPersonnelle info) {
-    this.informationPersonnelle = info;
+    if (this.gestionnaire != null
+        && !this.gestionnaire.identiteDisponible(info, this)) {
+      return;
+    }
+    
+    this.modifier(() -> {
+      if (this.informationPersonnelle != null
+          && this.informationPersonnelle.proprietaire == this) {
+        this.informationPersonnelle.proprietaire = null;
+      }
+      
+      this.informationPersonnelle = info;
+      if (info != null) {
+        info.proprietaire = this;
+      }
+    }, true);
   }
   
   /**
@@ -86,10 +316,26 @@ public class Membre implements InterMembre, java.io.Serializable, Cloneable {
     return this.informationPersonnelle;
   }
   
+  /**
+   * Renvoie le numéro du membre, unique parmi les membres de son gestionnaire
+   * et conservé à la sauvegarde.
+   *
+   * @return le numéro du membre, 0 s'il n'a été ajouté à aucun
+   *         {@link GestionMembres}
+   */
+  @Override
+  public int getNumero() {
+    return this.numero;
+  }
+  
+  @Override
+  public void numeroter(int numero) {
+    this.numero = numero;
+  }
+  
   @Override
   public int hashCode() {
-    return Objects.hash(this.getInformationPersonnelle().getNom().toLowerCase(),
-        this.getInformationPersonnelle().getPrenom().toLowerCase());
+    return this.getInformationPersonnelle().hashIdentite();
   }
   
   @Override
@@ -107,19 +353,23 @@ public class Membre implements InterMembre, java.io.Serializable, Cloneable {
     }
     
     Membre other = (Membre) obj;
-    return this.getInformationPersonnelle().getNom()
-        .equalsIgnoreCase(other.getInformationPersonnelle().getNom())
-        && this.getInformationPersonnelle().getPrenom()
-            .equalsIgnoreCase(other.getInformationPersonnelle().getPrenom());
+    return this.getInformationPersonnelle()
+        .memeIdentite(other.getInformationPersonnelle());
   }
   
   @Override
   public Membre clone() {
-    Membre membre = new Membre();
+    Membre membre = new Membre(this.horloge);
     
-    membre.definirInformationPersonnnelle(this.getInformationPersonnelle());
-    membre.ensembleEvenements().addAll(this.ensembleEvenements());
-    membre.ensembleEvenementsAvenir().addAll(this.ensembleEvenementsAvenir());
+    InformationPersonnelle info = this.getInformationPersonnelle();
+    if (info != null) {
+      membre.definirInformationPersonnnelle(
+          new InformationPersonnelle(info.getNom(), info.getPrenom(),
+              info.getAdresse(), info.getAge()));
+    }
+    for (Evenement evt : this.chronologie) {
+      membre.chronologie.ajouter(evt);
+    }
     
     return membre;
   }
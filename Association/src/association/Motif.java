@@ -0,0 +1,83 @@
+package association;
+
+/**
+ * Motif du refus d'une opération de gestion de l'association, rapporté dans
+ * un {@link Resultat}.
+ *
+ * @author Josselin Scouarnec
+ * @see Resultat
+ */
+public enum Motif {
+  
+  /**
+   * Les paramètres ne sont pas valides (par exemple un événement avec un nom
+   * ou un lieu vide, une durée ou un nombre de participants négatif ou nul, ou
+   * un membre absent).
+   */
+  PARAMETRES_INVALIDES("paramètres invalides"),
+  
+  /**
+   * Un autre événement porte déjà le même nom.
+   */
+  NOM_DEJA_UTILISE("un autre événement porte déjà ce nom"),
+  
+  /**
+   * Un autre événement a lieu au même endroit en même temps.
+   */
+  CHEVAUCHEMENT("un autre événement a lieu au même endroit en même temps"),
+  
+  /**
+   * Un autre membre porte déjà le même nom et le même prénom, sans
+   * distinction de casse.
+   */
+  MEMBRE_EXISTANT("un autre membre porte déjà ce nom et ce prénom"),
+  
+  /**
+   * Le membre est déjà inscrit à l'événement.
+   */
+  DEJA_INSCRIT("le membre est déjà inscrit à l'événement"),
+  
+  /**
+   * Le nombre maximum de participants à l'événement est atteint.
+   */
+  NOMBRE_MAX_ATTEINT("le nombre maximum de participants est atteint"),
+  
+  /**
+   * L'événement est complet : le membre a été mis sur la liste d'attente.
+   */
+  LISTE_ATTENTE("l'événement est complet, le membre est en liste d'attente"),
+  
+  /**
+   * Le membre est inscrit à un autre événement qui a lieu en même temps.
+   */
+  CONFLIT_CALENDRIER(
+      "le membre est inscrit à un autre événement au même moment");
+  
+  /**
+   * La description du motif.
+   */
+  private final String description;
+  
+  /**
+   * Crée un motif.
+   *
+   * @param description la description du motif
+   */
+  Motif(String description) {
+    this.description = description;
+  }
+  
+  /**
+   * Renvoie la description du motif.
+   *
+   * @return la description du motif
+   */
+  public String getDescription() {
+    return this.description;
+  }
+  
+  @Override
+  public String toString() {
+    return this.getDescription();
+  }
+}
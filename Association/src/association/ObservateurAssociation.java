@@ -0,0 +1,20 @@
+package association;
+
+/**
+ * Observateur prévenu lorsque toutes les données d'une association sont
+ * remplacées d'un coup, par une réinitialisation ou un chargement.
+ *
+ * @author Nicolas Le Bars
+ * @see InterGestionAssociation#ajouterObservateur(ObservateurAssociation)
+ */
+@FunctionalInterface
+public interface ObservateurAssociation {
+  
+  /**
+   * Appelée une fois après le remplacement des gestionnaires de membres et
+   * d'événements de l'association.
+   *
+   * @param association l'association dont les données ont été remplacées
+   */
+  void donneesRemplacees(InterGestionAssociation association);
+}
@@ -0,0 +1,133 @@
+package association;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bilan de la radiation d'un membre par {@link GestionMembres} : les
+ * inscriptions et les demandes d'attente annulées, et les membres de la liste
+ * d'attente qui ont pris les places libérées.
+ *
+ * @author Gwendolyn Mandin
+ * @see GestionMembres#radierMembre(InterMembre)
+ */
+public final class Radiation {
+  
+  /**
+   * Le membre radié.
+   */
+  private final InterMembre membre;
+  
+  /**
+   * Indique si le membre faisait partie de l'association.
+   */
+  private final boolean retire;
+  
+  /**
+   * Indique si le membre était président de l'association.
+   */
+  private final boolean president;
+  
+  /**
+   * Les événements auxquels le membre a été désinscrit.
+   */
+  private final List<Evenement> desinscriptions;
+  
+  /**
+   * Les événements sur la liste d'attente desquels le membre était inscrit.
+   */
+  private final List<Evenement> attentes;
+  
+  /**
+   * Les membres inscrits aux places libérées.
+   */
+  private final List<InterMembre> promotions;
+  
+  /**
+   * Crée le bilan d'une radiation.
+   *
+   * @param membre le membre radié
+   * @param retire si le membre faisait partie de l'association
+   * @param president si le membre était président de l'association
+   * @param desinscriptions les événements auxquels le membre a été désinscrit
+   * @param attentes les événements dont le membre a quitté la liste d'attente
+   * @param promotions les membres inscrits aux places libérées
+   */
+  Radiation(InterMembre membre, boolean retire, boolean president,
+      List<Evenement> desinscriptions, List<Evenement> attentes,
+      List<InterMembre> promotions) {
+    this.membre = membre;
+    this.retire = retire;
+    this.president = president;
+    this.desinscriptions = Collections.unmodifiableList(desinscriptions);
+    this.attentes = Collections.unmodifiableList(attentes);
+    this.promotions = Collections.unmodifiableList(promotions);
+  }
+  
+  /**
+   * Renvoie le membre radié.
+   *
+   * @return le membre radié
+   */
+  public InterMembre getMembre() {
+    return this.membre;
+  }
+  
+  /**
+   * Teste si le membre faisait partie de l'association et en a été retiré.
+   *
+   * @return <code>true</code> si le membre a été retiré de l'association
+   */
+  public boolean estRetire() {
+    return this.retire;
+  }
+  
+  /**
+   * Teste si le membre était président de l'association. L'association n'a
+   * alors plus de président.
+   *
+   * @return <code>true</code> si le membre était président
+   */
+  public boolean etaitPresident() {
+    return this.president;
+  }
+  
+  /**
+   * Renvoie les événements auxquels le membre a été désinscrit. La liste n'est
+   * pas modifiable.
+   *
+   * @return les événements auxquels le membre a été désinscrit
+   */
+  public List<Evenement> getDesinscriptions() {
+    return this.desinscriptions;
+  }
+  
+  /**
+   * Renvoie les événements dont le membre a quitté la liste d'attente. La
+   * liste n'est pas modifiable.
+   *
+   * @return les événements attendus par le membre
+   */
+  public List<Evenement> getAttentes() {
+    return this.attentes;
+  }
+  
+  /**
+   * Renvoie les membres de la liste d'attente inscrits aux places libérées par
+   * le membre radié. La liste n'est pas modifiable.
+   *
+   * @return les membres inscrits à la place du membre radié
+   */
+  public List<InterMembre> getPromotions() {
+    return this.promotions;
+  }
+  
+  @Override
+  public String toString() {
+    return "Radiation [membre=" + this.getMembre() + ", retire="
+        + this.estRetire() + ", president=" + this.etaitPresident()
+        + ", desinscriptions=" + this.getDesinscriptions().size()
+        + ", attentes=" + this.getAttentes().size() + ", promotions="
+        + this.getPromotions().size() + "]";
+  }
+}
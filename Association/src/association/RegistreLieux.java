@@ -0,0 +1,84 @@
+package association;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registre des lieux des événements d'un {@link GestionEvenements}. Chaque
+ * lieu (déjà reformaté) n'est conservé qu'une fois et reçoit un identifiant
+ * entier compact : les événements d'un même lieu partagent la même chaîne et
+ * se comparent par identifiant.
+ *
+ * <p>
+ * Les identifiants sont attribués dans l'ordre d'apparition des lieux, à
+ * partir de 0, et ne sont jamais réutilisés par le registre. Chaque
+ * gestionnaire a son propre registre, recréé au chargement : les identifiants
+ * ne sont valables que pour les événements de ce gestionnaire et ne sont pas
+ * sérialisés.
+ * </p>
+ *
+ * @author Josselin Scouarnec
+ * @see Evenement#getLieu()
+ */
+final class RegistreLieux {
+  
+  /**
+   * Identifiant donné à un lieu <code>null</code> ou inconnu.
+   */
+  static final int AUCUN = -1;
+  
+  /**
+   * Les identifiants des lieux connus.
+   */
+  private final Map<String, Integer> identifiants = new HashMap<>();
+  
+  /**
+   * Les lieux connus, rangés par identifiant.
+   */
+  private final List<String> lieux = new ArrayList<>();
+  
+  /**
+   * Renvoie l'identifiant d'un lieu, en l'enregistrant s'il est inconnu.
+   *
+   * @param lieu le lieu (déjà reformaté)
+   * @return l'identifiant du lieu, {@link #AUCUN} si le lieu est
+   *         <code>null</code>
+   */
+  int enregistrer(String lieu) {
+    if (lieu == null) {
+      return AUCUN;
+    }
+    
+    return this.identifiants.computeIfAbsent(lieu, l -> {
+      this.lieux.add(l);
+      return this.lieux.size() - 1;
+    });
+  }
+  
+  /**
+   * Renvoie l'identifiant d'un lieu sans l'enregistrer.
+   *
+   * @param lieu le lieu (déjà reformaté)
+   * @return l'identifiant du lieu, {@link #AUCUN} si le lieu est inconnu
+   */
+  int identifiant(String lieu) {
+    if (lieu == null) {
+      return AUCUN;
+    }
+    
+    Integer id = this.identifiants.get(lieu);
+    return id == null ? AUCUN : id;
+  }
+  
+  /**
+   * Renvoie le lieu correspondant à un identifiant.
+   *
+   * @param id l'identifiant du lieu
+   * @return le lieu, <code>null</code> pour {@link #AUCUN}
+   */
+  String lieu(int id) {
+    return id == AUCUN ? null : this.lieux.get(id);
+  }
+}
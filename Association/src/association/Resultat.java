@@ -0,0 +1,116 @@
+package association;
+
+import java.util.Objects;
+
+/**
+ * Résultat d'une opération de gestion sur un élément d'un lot : l'élément a
+ * été accepté, ou il a été refusé pour un {@link Motif}.
+ *
+ * @author Josselin Scouarnec
+ * @param <T> le type de l'élément
+ * @see Motif
+ */
+public final class Resultat<T> {
+  
+  /**
+   * L'élément concerné.
+   */
+  private final T element;
+  
+  /**
+   * Le motif du refus, <code>null</code> si l'élément a été accepté.
+   */
+  private final Motif motif;
+  
+  /**
+   * Crée un résultat.
+   *
+   * @param element l'élément concerné
+   * @param motif le motif du refus, <code>null</code> si l'élément a été
+   *        accepté
+   */
+  private Resultat(T element, Motif motif) {
+    this.element = element;
+    this.motif = motif;
+  }
+  
+  /**
+   * Crée le résultat d'un élément accepté.
+   *
+   * @param <T> le type de l'élément
+   * @param element l'élément accepté
+   * @return le résultat
+   */
+  public static <T> Resultat<T> accepte(T element) {
+    return new Resultat<>(element, null);
+  }
+  
+  /**
+   * Crée le résultat d'un élément refusé.
+   *
+   * @param <T> le type de l'élément
+   * @param element l'élément refusé
+   * @param motif le motif du refus
+   * @return le résultat
+   */
+  public static <T> Resultat<T> refuse(T element, Motif motif) {
+    return new Resultat<>(element, Objects.requireNonNull(motif));
+  }
+  
+  /**
+   * Renvoie l'élément concerné par le résultat.
+   *
+   * @return l'élément
+   */
+  public T getElement() {
+    return this.element;
+  }
+  
+  /**
+   * Renvoie le motif du refus.
+   *
+   * @return le motif du refus ou <code>null</code> si l'élément a été accepté
+   */
+  public Motif getMotif() {
+    return this.motif;
+  }
+  
+  /**
+   * Teste si l'élément a été accepté.
+   *
+   * @return <code>true</code> si l'élément a été accepté
+   */
+  public boolean estAccepte() {
+    return this.motif == null;
+  }
+  
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.element, this.motif);
+  }
+  
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    
+    if (obj == null) {
+      return false;
+    }
+    
+    if (this.getClass() != obj.getClass()) {
+      return false;
+    }
+    
+    Resultat<?> other = (Resultat<?>) obj;
+    return Objects.equals(this.element, other.element)
+        && this.motif == other.motif;
+  }
+  
+  @Override
+  public String toString() {
+    return "Resultat [element=" + this.getElement() + ", motif="
+        + this.getMotif() + "]";
+  }
+}
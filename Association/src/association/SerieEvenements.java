@@ -0,0 +1,555 @@
+package association;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Série d'événements récurrents, par exemple tous les mardis à 18h pendant
+ * 2 heures jusqu'à une date donnée. Les occurrences ne sont pas stockées :
+ * elles sont calculées à partir de la première occurrence et de la période, et
+ * ne sont créées sous forme d'{@link Evenement} que lorsqu'elles sont
+ * demandées. Une occurrence demandée n'est conservée (et sauvegardée) que
+ * lorsqu'elle a des participants, une liste d'attente ou des modifications :
+ * parcourir une période ne fait pas grossir la série.
+ *
+ * <p>
+ * Les occurrences d'une série ne se chevauchent pas entre elles : la durée
+ * d'une occurrence est inférieure à la période.
+ * </p>
+ *
+ * @author Josselin Scouarnec
+ * @see GestionEvenements#creerSerie(String, String, LocalDateTime, int,
+ *      LocalDate, int, int)
+ */
+public class SerieEvenements implements java.io.Serializable {
+  
+  /**
+   * Version de la classe.
+   */
+  private static final long serialVersionUID = 4825306771259834520L;
+  
+  /**
+   * Le nombre de minutes dans une journée.
+   */
+  private static final long MINUTES_JOUR = 24 * 60;
+  
+  /**
+   * Le nom des occurrences de la série.
+   */
+  private final String nom;
+  
+  /**
+   * Le lieu des occurrences de la série.
+   */
+  private String lieu;
+  
+  /**
+   * La date et l'heure de la première occurrence.
+   */
+  private final LocalDateTime premiere;
+  
+  /**
+   * Le nombre de jours entre deux occurrences.
+   */
+  private final int periode;
+  
+  /**
+   * Le dernier jour où une occurrence peut commencer.
+   */
+  private final LocalDate fin;
+  
+  /**
+   * La durée d'une occurrence (en heures).
+   */
+  private final int duree;
+  
+  /**
+   * Le nombre maximum de participants à chaque occurrence.
+   */
+  private final int nbParticipantsMax;
+  
+  /**
+   * Les occurrences conservées, par numéro d'occurrence.
+   */
+  private final Map<Integer, Evenement> occurrences = new TreeMap<>();
+  
+  /**
+   * L'identifiant du lieu dans le {@link RegistreLieux} du gestionnaire,
+   * {@link RegistreLieux#AUCUN} tant que la série n'a pas été ajoutée à un
+   * gestionnaire.
+   */
+  private transient int idLieu = RegistreLieux.AUCUN;
+  
+  /**
+   * Le début de la première occurrence (en minutes depuis l'époque).
+   */
+  private transient long debut;
+  
+  /**
+   * La période (en minutes).
+   */
+  private transient long periodeMinutes;
+  
+  /**
+   * La durée d'une occurrence (en minutes).
+   */
+  private transient long dureeMinutes;
+  
+  /**
+   * Le nombre d'occurrences de la série.
+   */
+  private transient int nombre;
+  
+  /**
+   * Crée une série d'événements. Les paramètres doivent avoir été vérifiés
+   * par le gestionnaire.
+   *
+   * @param nom le nom des occurrences
+   * @param lieu le lieu des occurrences
+   * @param premiere la date et l'heure de la première occurrence
+   * @param periode le nombre de jours entre deux occurrences
+   * @param fin le dernier jour où une occurrence peut commencer
+   * @param duree la durée d'une occurrence (en heures)
+   * @param nbParticipantsMax le nombre maximum de participants à chaque
+   *        occurrence
+   */
+  SerieEvenements(String nom, String lieu, LocalDateTime premiere,
+      int periode, LocalDate fin, int duree, int nbParticipantsMax) {
+    this.nom = Evenement.reformater(nom);
+    this.lieu = Evenement.reformater(lieu);
+    this.premiere = premiere;
+    this.periode = periode;
+    this.fin = fin;
+    this.duree = duree;
+    this.nbParticipantsMax = nbParticipantsMax;
+    this.calculer();
+  }
+  
+  /**
+   * Calcule les valeurs non sérialisées de la série.
+   */
+  private void calculer() {
+    this.debut = Evenement.minutes(this.premiere);
+    this.periodeMinutes = this.periode * MINUTES_JOUR;
+    this.dureeMinutes = this.duree * 60L;
+    
+    /* Dernière minute où une occurrence peut commencer */
+    long limite =
+        Evenement.minutes(this.fin.plusDays(1).atStartOfDay()) - 1;
+    this.nombre = limite < this.debut ? 0
+        : (int) ((limite - this.debut) / this.periodeMinutes) + 1;
+  }
+  
+  /**
+   * Recalcule les valeurs non sérialisées après la désérialisation.
+   *
+   * @param ois le flux de lecture
+   * @throws IOException en cas de problème de lecture
+   * @throws ClassNotFoundException si une classe lue est inconnue
+   */
+  private void readObject(ObjectInputStream ois)
+      throws IOException, ClassNotFoundException {
+    ois.defaultReadObject();
+    this.idLieu = RegistreLieux.AUCUN;
+    this.calculer();
+    
+    /* Les fichiers antérieurs conservaient toutes les occurrences demandées */
+    Iterator<Map.Entry<Integer, Evenement>> it =
+        this.occurrences.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Integer, Evenement> entree = it.next();
+      entree.getValue().rattacher(this, entree.getKey());
+      
+      if (!this.aConserver(entree.getValue())) {
+        it.remove();
+      }
+    }
+  }
+  
+  /**
+   * Renvoie le nom des occurrences de la série.
+   *
+   * @return le nom de la série
+   */
+  public String getNom() {
+    return this.nom;
+  }
+  
+  /**
+   * Renvoie le lieu des occurrences de la série.
+   *
+   * @return le lieu de la série
+   */
+  public String getLieu() {
+    return this.lieu;
+  }
+  
+  /**
+   * Renvoie la date et l'heure de la première occurrence.
+   *
+   * @return la date de la première occurrence
+   */
+  public LocalDateTime getPremiere() {
+    return this.premiere;
+  }
+  
+  /**
+   * Renvoie le nombre de jours entre deux occurrences.
+   *
+   * @return la période de la série
+   */
+  public int getPeriode() {
+    return this.periode;
+  }
+  
+  /**
+   * Renvoie le dernier jour où une occurrence peut commencer.
+   *
+   * @return la fin de la série
+   */
+  public LocalDate getFin() {
+    return this.fin;
+  }
+  
+  /**
+   * Renvoie la durée d'une occurrence.
+   *
+   * @return la durée d'une occurrence (en heures)
+   */
+  public int getDuree() {
+    return this.duree;
+  }
+  
+  /**
+   * Renvoie le nombre maximum de participants à chaque occurrence.
+   *
+   * @return le nombre maximum de participants
+   */
+  public int getNbParticipantsMax() {
+    return this.nbParticipantsMax;
+  }
+  
+  /**
+   * Renvoie le nombre d'occurrences de la série.
+   *
+   * @return le nombre d'occurrences
+   */
+  public int nombreOccurrences() {
+    return this.nombre;
+  }
+  
+  /**
+   * Renvoie la date d'une occurrence, sans la créer.
+   *
+   * @param numero le numéro de l'occurrence, à partir de 0
+   * @return la date de l'occurrence
+   * @throws IndexOutOfBoundsException si l'occurrence n'existe pas
+   */
+  public LocalDateTime dateOccurrence(int numero) {
+    return Evenement.date(this.debutOccurrence(numero));
+  }
+  
+  /**
+   * Renvoie une occurrence de la série. Si elle est conservée, c'est
+   * l'occurrence conservée. Sinon une nouvelle occurrence est créée, qui ne
+   * sera conservée qu'à sa première inscription, mise en attente ou
+   * modification.
+   *
+   * @param numero le numéro de l'occurrence, à partir de 0
+   * @return l'occurrence
+   * @throws IndexOutOfBoundsException si l'occurrence n'existe pas
+   */
+  public Evenement occurrence(int numero) {
+    LocalDateTime date = this.dateOccurrence(numero);
+    
+    synchronized (this.occurrences) {
+      Evenement evt = this.occurrences.get(numero);
+      if (evt != null) {
+        return evt;
+      }
+    }
+    
+    Evenement evt = new Evenement(this.nom, this.lieu, date, this.duree,
+        this.nbParticipantsMax, new HashSet<>());
+    evt.rattacher(this, numero);
+    return evt;
+  }
+  
+  /**
+   * Renvoie l'occurrence conservée qui porte le même numéro qu'une
+   * occurrence de la série.
+   *
+   * @param evt une occurrence de la série
+   * @return l'occurrence conservée de même numéro, ou <code>evt</code> si
+   *         aucune n'est conservée
+   */
+  Evenement conservee(Evenement evt) {
+    synchronized (this.occurrences) {
+      Evenement conservee = this.occurrences.get(evt.rang());
+      return conservee == null ? evt : conservee;
+    }
+  }
+  
+  /**
+   * Conserve une occurrence de la série qui a des participants, une liste
+   * d'attente ou des modifications, si aucune occurrence de même numéro ne
+   * l'est déjà. Oublie au contraire une occurrence conservée qui n'en a plus :
+   * elle redevient calculée.
+   *
+   * @param evt l'occurrence qui a changé
+   */
+  void suivre(Evenement evt) {
+    boolean conserver = this.aConserver(evt);
+    
+    synchronized (this.occurrences) {
+      if (conserver) {
+        this.occurrences.putIfAbsent(evt.rang(), evt);
+      } else {
+        this.occurrences.remove(evt.rang(), evt);
+      }
+    }
+  }
+  
+  /**
+   * Teste si une occurrence doit être conservée : elle a des participants,
+   * une liste d'attente, ou elle diffère de l'occurrence calculée.
+   *
+   * @param evt l'occurrence
+   * @return <code>true</code> si l'occurrence doit être conservée
+   */
+  private boolean aConserver(Evenement evt) {
+    int rang = evt.rang();
+    
+    return !evt.getParticipants().isEmpty()
+        || !evt.getListeAttente().isEmpty() || rang < 0
+        || rang >= this.nombre
+        || evt.debutMinutes() != this.debutOccurrence(rang)
+        || evt.getDuree() != this.duree
+        || evt.getNbParticipantsMax() != this.nbParticipantsMax
+        || !Objects.equals(evt.getNom(), this.nom)
+        || !Objects.equals(evt.getLieu(), this.lieu);
+  }
+  
+  /**
+   * Renvoie les occurrences de la série qui chevauchent une période. Les
+   * occurrences qui ne sont pas conservées sont créées sans l'être.
+   *
+   * @param debut le début de la période
+   * @param fin la fin de la période
+   * @return les occurrences qui chevauchent la période, par ordre
+   *         chronologique
+   */
+  public List<Evenement> occurrences(LocalDateTime debut, LocalDateTime fin) {
+    List<Evenement> resultat = new ArrayList<>();
+    long finPeriode = Evenement.minutes(fin);
+    
+    for (int k = this.premierNumero(Evenement.minutes(debut)); k < this.nombre
+        && this.debutOccurrence(k) <= finPeriode; k++) {
+      resultat.add(this.occurrence(k));
+    }
+    return resultat;
+  }
+  
+  /**
+   * Renvoie les occurrences conservées de la série : celles qui ont des
+   * participants, une liste d'attente ou des modifications.
+   *
+   * @return les occurrences conservées, par ordre chronologique
+   */
+  public List<Evenement> occurrencesCreees() {
+    synchronized (this.occurrences) {
+      return new ArrayList<>(this.occurrences.values());
+    }
+  }
+  
+  /**
+   * Renvoie les occurrences conservées de la série, par numéro.
+   *
+   * @return une copie des occurrences conservées, par numéro croissant
+   */
+  Map<Integer, Evenement> occurrencesParNumero() {
+    synchronized (this.occurrences) {
+      return new TreeMap<>(this.occurrences);
+    }
+  }
+  
+  /**
+   * Remet une occurrence lue dans un {@link FichierAssociation}, avec ses
+   * éventuelles modifications.
+   *
+   * @param numero le numéro de l'occurrence
+   * @param evt l'occurrence
+   */
+  void restaurerOccurrence(int numero, Evenement evt) {
+    evt.rattacher(this, numero);
+    synchronized (this.occurrences) {
+      this.occurrences.put(numero, evt);
+    }
+  }
+  
+  /**
+   * Enregistre le lieu de la série dans le registre de son gestionnaire, qui
+   * lui donne son identifiant et la chaîne partagée du lieu.
+   *
+   * @param registre le registre des lieux du gestionnaire
+   */
+  void enregistrerLieu(RegistreLieux registre) {
+    this.idLieu = registre.enregistrer(this.lieu);
+    this.lieu = registre.lieu(this.idLieu);
+  }
+  
+  /**
+   * Renvoie l'identifiant du lieu de la série dans le {@link RegistreLieux}
+   * de son gestionnaire.
+   *
+   * @return l'identifiant du lieu
+   */
+  int idLieu() {
+    return this.idLieu;
+  }
+  
+  /**
+   * Renvoie le début d'une occurrence.
+   *
+   * @param numero le numéro de l'occurrence
+   * @return le début de l'occurrence (en minutes depuis l'époque)
+   */
+  long debutOccurrence(int numero) {
+    if (numero < 0 || numero >= this.nombre) {
+      throw new IndexOutOfBoundsException(numero);
+    }
+    return this.debut + numero * this.periodeMinutes;
+  }
+  
+  /**
+   * Renvoie la durée d'une occurrence.
+   *
+   * @return la durée d'une occurrence (en minutes)
+   */
+  long dureeMinutes() {
+    return this.dureeMinutes;
+  }
+  
+  /**
+   * Renvoie le début de la première occurrence.
+   *
+   * @return le début de la série (en minutes depuis l'époque)
+   */
+  long debutMinutes() {
+    return this.debut;
+  }
+  
+  /**
+   * Renvoie la fin de la dernière occurrence.
+   *
+   * @return la fin de la série (en minutes depuis l'époque)
+   */
+  long finMinutes() {
+    return this.debut + (this.nombre - 1) * this.periodeMinutes
+        + this.dureeMinutes;
+  }
+  
+  /**
+   * Renvoie le numéro de la première occurrence qui se termine à partir d'une
+   * date.
+   *
+   * @param minutes la date (en minutes depuis l'époque)
+   * @return le numéro de l'occurrence, {@link #nombreOccurrences()} s'il n'y
+   *         en a pas
+   */
+  int premierNumero(long minutes) {
+    /* Plus petit k tel que debut + k * periode + duree >= minutes */
+    long k = -Math.floorDiv(this.debut + this.dureeMinutes - minutes,
+        this.periodeMinutes);
+    return (int) Math.min(Math.max(k, 0), this.nombre);
+  }
+  
+  /**
+   * Teste si une occurrence de la série chevauche une période, sans créer
+   * d'occurrence. Les intervalles sont fermés comme dans
+   * {@link Evenement#pasDeChevauchementTemps(Evenement)}.
+   *
+   * @param debut le début de la période (en minutes)
+   * @param fin la fin de la période (en minutes)
+   * @return <code>true</code> s'il y a un chevauchement
+   */
+  boolean chevauche(long debut, long fin) {
+    int k = this.premierNumero(debut);
+    return k < this.nombre && this.debutOccurrence(k) <= fin;
+  }
+  
+  /**
+   * Teste si une occurrence de la série chevauche une occurrence d'une autre
+   * série. Les occurrences de la série la moins dense sur la période commune
+   * sont parcourues et testées contre l'autre série.
+   *
+   * @param autre l'autre série
+   * @return <code>true</code> s'il y a un chevauchement
+   */
+  boolean chevauche(SerieEvenements autre) {
+    if (this.nombre == 0 || autre.nombre == 0) {
+      return false;
+    }
+    
+    SerieEvenements parcourue =
+        this.periodeMinutes >= autre.periodeMinutes ? this : autre;
+    SerieEvenements testee = parcourue == this ? autre : this;
+    long finCommune = Math.min(this.finMinutes(), autre.finMinutes());
+    
+    for (int k = parcourue.premierNumero(testee.debut); k < parcourue.nombre
+        && parcourue.debutOccurrence(k) <= finCommune; k++) {
+      long debutOccurrence = parcourue.debutOccurrence(k);
+      if (testee.chevauche(debutOccurrence,
+          debutOccurrence + parcourue.dureeMinutes)) {
+        return true;
+      }
+    }
+    return false;
+  }
+  
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.nom, this.lieu, this.premiere, this.periode,
+        this.fin, this.duree, this.nbParticipantsMax);
+  }
+  
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    
+    if (obj == null) {
+      return false;
+    }
+    
+    if (this.getClass() != obj.getClass()) {
+      return false;
+    }
+    
+    SerieEvenements other = (SerieEvenements) obj;
+    return Objects.equals(this.nom, other.nom)
+        && Objects.equals(this.lieu, other.lieu)
+        && Objects.equals(this.premiere, other.premiere)
+        && this.periode == other.periode
+        && Objects.equals(this.fin, other.fin) && this.duree == other.duree
+        && this.nbParticipantsMax == other.nbParticipantsMax;
+  }
+  
+  @Override
+  public String toString() {
+    return "SerieEvenements [nom=" + this.nom + ", lieu=" + this.lieu
+        + ", premiere=" + this.premiere + ", periode=" + this.periode
+        + ", fin=" + this.fin + ", duree=" + this.duree
+        + ", nbParticipantsMax=" + this.nbParticipantsMax + "]";
+  }
+}
@@ -0,0 +1,188 @@
+package association;
+
+/**
+ * Table associative à clés entières, par adressage ouvert : les clés sont
+ * rangées dans un tableau d'<code>int</code> et les valeurs dans un tableau
+ * parallèle, sans objet intermédiaire par entrée ni clé encapsulée.
+ *
+ * <p>
+ * Les collisions sont résolues par sondage linéaire et une suppression
+ * recule les clés suivantes de la même grappe, si bien qu'aucune case n'est
+ * marquée comme supprimée. La table double de taille au-delà de 2/3 de
+ * remplissage. La clé 0 est réservée pour les cases vides : les numéros des
+ * membres et des événements commencent à 1.
+ * </p>
+ *
+ * @author Josselin Scouarnec
+ * @param <V> le type des valeurs
+ * @see EnsembleEntiers
+ */
+final class TableEntiers<V> {
+  
+  /**
+   * Capacité initiale, puissance de 2.
+   */
+  private static final int CAPACITE_INITIALE = 16;
+  
+  /**
+   * Les clés, 0 pour une case vide.
+   */
+  private int[] cles;
+  
+  /**
+   * Les valeurs, dans la case de leur clé.
+   */
+  private Object[] valeurs;
+  
+  /**
+   * Le nombre d'entrées.
+   */
+  private int taille;
+  
+  /**
+   * Crée une table vide.
+   */
+  TableEntiers() {
+    this.cles = new int[CAPACITE_INITIALE];
+    this.valeurs = new Object[CAPACITE_INITIALE];
+  }
+  
+  /**
+   * Renvoie la case de départ d'une clé : les bits de la clé sont mélangés
+   * pour que des numéros consécutifs ne forment pas de grappes.
+   *
+   * @param cle la clé
+   * @param masque la capacité moins 1
+   * @return la case de départ
+   */
+  static int position(int cle, int masque) {
+    int h = cle * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & masque;
+  }
+  
+  /**
+   * Renvoie la case d'une clé, ou la case vide où l'insérer.
+   *
+   * @param cle la clé
+   * @return la case de la clé
+   */
+  private int chercher(int cle) {
+    int masque = this.cles.length - 1;
+    int i = position(cle, masque);
+    
+    while (this.cles[i] != 0 && this.cles[i] != cle) {
+      i = (i + 1) & masque;
+    }
+    
+    return i;
+  }
+  
+  /**
+   * Renvoie la valeur associée à une clé.
+   *
+   * @param cle la clé
+   * @return la valeur, <code>null</code> si la clé est absente
+   */
+  @SuppressWarnings("unchecked")
+  V get(int cle) {
+    return cle == 0 ? null : (V) this.valeurs[this.chercher(cle)];
+  }
+  
+  /**
+   * Teste si une clé est présente.
+   *
+   * @param cle la clé
+   * @return <code>true</code> si la clé est présente
+   */
+  boolean contient(int cle) {
+    return cle != 0 && this.cles[this.chercher(cle)] == cle;
+  }
+  
+  /**
+   * Associe une valeur à une clé.
+   *
+   * @param cle la clé, différente de 0
+   * @param valeur la valeur, différente de <code>null</code>
+   * @return l'ancienne valeur de la clé, <code>null</code> si elle était
+   *         absente
+   */
+  @SuppressWarnings("unchecked")
+  V put(int cle, V valeur) {
+    if (cle == 0 || valeur == null) {
+      throw new IllegalArgumentException("clé 0 ou valeur null");
+    }
+    
+    int i = this.chercher(cle);
+    V ancienne = (V) this.valeurs[i];
+    this.valeurs[i] = valeur;
+    
+    if (this.cles[i] == 0) {
+      this.cles[i] = cle;
+      if (++this.taille * 3 > this.cles.length * 2) {
+        this.agrandir();
+      }
+    }
+    
+    return ancienne;
+  }
+  
+  /**
+   * Retire une clé de la table.
+   *
+   * @param cle la clé
+   * @return la valeur de la clé, <code>null</code> si elle était absente
+   */
+  @SuppressWarnings("unchecked")
+  V remove(int cle) {
+    if (cle == 0) {
+      return null;
+    }
+    
+    int i = this.chercher(cle);
+    if (this.cles[i] == 0) {
+      return null;
+    }
+    
+    V ancienne = (V) this.valeurs[i];
+    this.taille--;
+    
+    /* Recule les clés suivantes de la grappe qui peuvent l'être */
+    int masque = this.cles.length - 1;
+    int j = i;
+    while (true) {
+      j = (j + 1) & masque;
+      if (this.cles[j] == 0) {
+        break;
+      }
+      
+      int depart = position(this.cles[j], masque);
+      if (((j - depart) & masque) >= ((j - i) & masque)) {
+        this.cles[i] = this.cles[j];
+        this.valeurs[i] = this.valeurs[j];
+        i = j;
+      }
+    }
+    
+    this.cles[i] = 0;
+    this.valeurs[i] = null;
+    return ancienne;
+  }
+  
+  /**
+   * Double la capacité de la table et range à nouveau les entrées.
+   */
+  private void agrandir() {
+    int[] anciennesCles = this.cles;
+    Object[] anciennesValeurs = this.valeurs;
+    this.cles = new int[2 * anciennesCles.length];
+    this.valeurs = new Object[2 * anciennesCles.length];
+    
+    for (int i = 0; i < anciennesCles.length; i++) {
+      if (anciennesCles[i] != 0) {
+        int j = this.chercher(anciennesCles[i]);
+        this.cles[j] = anciennesCles[i];
+        this.valeurs[j] = anciennesValeurs[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,280 @@
+package association;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Vérifie la cohérence des données d'une association et répare ce qui peut
+ * l'être : inscriptions qui n'apparaissent que d'un côté, participants qui ne
+ * sont pas membres, événements qui ont trop de participants. Les événements
+ * qui se chevauchent dans un même lieu et les membres inscrits à deux
+ * événements en même temps sont seulement signalés.
+ *
+ * <p>
+ * La recherche des chevauchements balaie les événements de chaque lieu par
+ * ordre chronologique, les lieux étant répartis en tâches fork/join. Les
+ * événements puis les membres sont ensuite vérifiés en parallèle. Les
+ * réparations sont faites après la vérification, dans un seul fil.
+ * </p>
+ *
+ * @author Nicolas Le Bars
+ * @see Anomalie
+ * @see GestionAssociation#verifierIntegrite(boolean)
+ */
+public class VerificateurIntegrite {
+  
+  /**
+   * Tâche fork/join de recherche des chevauchements sur une partie des lieux.
+   */
+  private static final class BalayageLieux
+      extends RecursiveTask<List<Anomalie>> {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Les événements de chaque lieu.
+     */
+    private final List<List<Evenement>> lieux;
+    private final int debut;
+    private final int fin;
+    
+    /**
+     * Crée une tâche pour les lieux d'indice compris entre debut (inclus) et
+     * fin (exclu).
+     *
+     * @param lieux les événements de chaque lieu
+     * @param debut l'indice du premier lieu
+     * @param fin l'indice qui suit le dernier lieu
+     */
+    private BalayageLieux(List<List<Evenement>> lieux, int debut, int fin) {
+      this.lieux = lieux;
+      this.debut = debut;
+      this.fin = fin;
+    }
+    
+    @Override
+    protected List<Anomalie> compute() {
+      if (this.fin - this.debut <= 1) {
+        return this.debut < this.fin ? balayer(this.lieux.get(this.debut))
+            : new ArrayList<>();
+      }
+      
+      int milieu = (this.debut + this.fin) >>> 1;
+      BalayageLieux gauche = new BalayageLieux(this.lieux, this.debut, milieu);
+      BalayageLieux droite = new BalayageLieux(this.lieux, milieu, this.fin);
+      gauche.fork();
+      List<Anomalie> anomalies = droite.compute();
+      anomalies.addAll(gauche.join());
+      return anomalies;
+    }
+  }
+  
+  /**
+   * Le gestionnaire des événements vérifié.
+   */
+  private final InterGestionEvenements gestionEvenements;
+  
+  /**
+   * Le gestionnaire des membres vérifié.
+   */
+  private final InterGestionMembres gestionMembres;
+  
+  /**
+   * Crée un vérificateur pour les données d'une association.
+   *
+   * @param gestionEvenements le gestionnaire des événements
+   * @param gestionMembres le gestionnaire des membres
+   */
+  public VerificateurIntegrite(InterGestionEvenements gestionEvenements,
+      InterGestionMembres gestionMembres) {
+    this.gestionEvenements = gestionEvenements;
+    this.gestionMembres = gestionMembres;
+  }
+  
+  /**
+   * Vérifie les données de l'association.
+   *
+   * @param reparer <code>true</code> pour réparer les incohérences qui peuvent
+   *        l'être
+   * @return les incohérences trouvées, triées par type
+   */
+  public List<Anomalie> verifier(boolean reparer) {
+    List<Evenement> evenements = this.gestionEvenements.ensembleEvenements();
+    Set<InterMembre> membres = this.gestionMembres.ensembleMembres();
+    Set<Evenement> connus = Collections.newSetFromMap(new IdentityHashMap<>());
+    Map<Integer, List<Evenement>> parLieu = new HashMap<>();
+    
+    for (Evenement evt : evenements) {
+      connus.add(evt);
+      parLieu.computeIfAbsent(evt.idLieu(), l -> new ArrayList<>()).add(evt);
+    }
+    
+    /* Chevauchements, lieu par lieu */
+    List<List<Evenement>> lieux = new ArrayList<>(parLieu.values());
+    List<Anomalie> anomalies = ForkJoinPool.commonPool()
+        .invoke(new BalayageLieux(lieux, 0, lieux.size()));
+    
+    /* Les occurrences créées des séries ont aussi des participants */
+    List<Evenement> inscriptibles = new ArrayList<>(evenements);
+    for (SerieEvenements serie : this.gestionEvenements.ensembleSeries()) {
+      for (Evenement evt : serie.occurrencesCreees()) {
+        connus.add(evt);
+        inscriptibles.add(evt);
+      }
+    }
+    
+    /* Participants des événements */
+    anomalies.addAll(inscriptibles.parallelStream()
+        .flatMap(evt -> verifierEvenement(evt, membres).stream())
+        .collect(Collectors.toList()));
+    
+    /* Événements des membres */
+    anomalies.addAll(membres.parallelStream()
+        .flatMap(mbr -> verifierMembre(mbr, connus).stream())
+        .collect(Collectors.toList()));
+    
+    anomalies.sort(Comparator.comparing(Anomalie::getType));
+    
+    if (reparer) {
+      for (Anomalie anomalie : anomalies) {
+        anomalie.reparer();
+      }
+    }
+    return anomalies;
+  }
+  
+  /**
+   * Cherche les chevauchements entre les événements d'un même lieu, en les
+   * parcourant par ordre chronologique.
+   *
+   * @param evenements les événements du lieu
+   * @return les chevauchements trouvés
+   */
+  private static List<Anomalie> balayer(List<Evenement> evenements) {
+    List<Anomalie> anomalies = new ArrayList<>();
+    evenements.sort(Evenement.ORDRE_CHRONOLOGIQUE);
+    
+    /* L'événement qui se termine le plus tard parmi ceux déjà parcourus */
+    Evenement dernier = null;
+    for (Evenement evt : evenements) {
+      if (dernier != null && evt.debutMinutes() <= dernier.finMinutes()) {
+        anomalies.add(new Anomalie(Anomalie.Type.CHEVAUCHEMENT,
+            dernier.getNom() + " et " + evt.getNom()
+                + " ont lieu en même temps à " + evt.getLieu(),
+            null));
+      }
+      
+      if (dernier == null || evt.finMinutes() > dernier.finMinutes()) {
+        dernier = evt;
+      }
+    }
+    return anomalies;
+  }
+  
+  /**
+   * Vérifie les participants d'un événement.
+   *
+   * @param evt l'événement à vérifier
+   * @param membres les membres de l'association
+   * @return les incohérences trouvées
+   */
+  private static List<Anomalie> verifierEvenement(Evenement evt,
+      Set<InterMembre> membres) {
+    List<Anomalie> anomalies = new ArrayList<>();
+    
+    for (InterMembre mbr : evt.getParticipants()) {
+      if (!membres.contains(mbr)) {
+        anomalies.add(new Anomalie(Anomalie.Type.PARTICIPANT_INCONNU,
+            nom(mbr) + " participe à " + evt.getNom()
+                + " mais n'est pas membre de l'association",
+            () -> {
+              evt.retirerParticipant(mbr);
+              mbr.retirerEvenement(evt);
+            }));
+      } else if (!mbr.ensembleEvenements().contains(evt)) {
+        anomalies.add(new Anomalie(Anomalie.Type.INSCRIPTION_ASYMETRIQUE,
+            nom(mbr) + " participe à " + evt.getNom()
+                + " mais l'événement n'est pas dans ses événements",
+            () -> mbr.ajouterEvenement(evt)));
+      }
+    }
+    
+    if (evt.getParticipants().size() > evt.getNbParticipantsMax()) {
+      anomalies.add(new Anomalie(Anomalie.Type.NOMBRE_MAX_DEPASSE,
+          evt.getNom() + " a " + evt.getParticipants().size()
+              + " participants pour " + evt.getNbParticipantsMax() + " places",
+          () -> {
+            List<InterMembre> participants =
+                new ArrayList<>(evt.getParticipants());
+            for (int i = evt.getNbParticipantsMax(); i < participants
+                .size(); i++) {
+              evt.retirerParticipant(participants.get(i));
+              participants.get(i).retirerEvenement(evt);
+            }
+          }));
+    }
+    return anomalies;
+  }
+  
+  /**
+   * Vérifie les événements d'un membre.
+   *
+   * @param mbr le membre à vérifier
+   * @param connus les événements de l'association
+   * @return les incohérences trouvées
+   */
+  private static List<Anomalie> verifierMembre(InterMembre mbr,
+      Set<Evenement> connus) {
+    List<Anomalie> anomalies = new ArrayList<>();
+    
+    /* L'événement qui se termine le plus tard parmi ceux déjà parcourus */
+    Evenement dernier = null;
+    for (Evenement evt : mbr.ensembleEvenements()) {
+      if (!connus.contains(evt)) {
+        anomalies.add(new Anomalie(Anomalie.Type.EVENEMENT_INCONNU,
+            nom(mbr) + " est inscrit à " + evt.getNom()
+                + " qui n'appartient pas à l'association",
+            () -> mbr.retirerEvenement(evt)));
+      } else if (!evt.getParticipants().contains(mbr)) {
+        anomalies.add(new Anomalie(Anomalie.Type.INSCRIPTION_ASYMETRIQUE,
+            nom(mbr) + " est inscrit à " + evt.getNom()
+                + " mais n'en est pas participant",
+            () -> mbr.retirerEvenement(evt)));
+      } else {
+        if (dernier != null && evt.debutMinutes() <= dernier.finMinutes()) {
+          anomalies.add(new Anomalie(Anomalie.Type.CONFLIT_CALENDRIER,
+              nom(mbr) + " est inscrit à " + dernier.getNom() + " et à "
+                  + evt.getNom() + " qui ont lieu en même temps",
+              null));
+        }
+        
+        if (dernier == null || evt.finMinutes() > dernier.finMinutes()) {
+          dernier = evt;
+        }
+      }
+    }
+    return anomalies;
+  }
+  
+  /**
+   * Renvoie le prénom et le nom d'un membre pour la description d'une
+   * anomalie.
+   *
+   * @param mbr le membre
+   * @return le prénom et le nom du membre
+   */
+  private static String nom(InterMembre mbr) {
+    InformationPersonnelle info = mbr.getInformationPersonnelle();
+    return info == null ? "un membre sans nom"
+        : info.getPrenom() + " " + info.getNom();
+  }
+}
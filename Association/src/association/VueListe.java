@@ -0,0 +1,91 @@
+package association;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Vue non modifiable, sous forme de liste, d'une collection ordonnée (par
+ * exemple un {@link java.util.TreeSet}). Les modifications de la collection
+ * sont visibles dans la vue.
+ *
+ * <p>
+ * Pour l'accès par indice, la vue copie les éléments dans un tableau, qui
+ * sert jusqu'à la modification suivante : l'accès est en O(1), après une
+ * copie en O(n) par modification. Le propriétaire de la collection doit
+ * appeler {@link #invalider()} à chaque modification.
+ * </p>
+ *
+ * @author Nicolas Le Bars
+ * @param <E> le type des éléments
+ */
+class VueListe<E> extends AbstractList<E> implements RandomAccess {
+  
+  /**
+   * La collection observée.
+   */
+  private final Collection<E> collection;
+  
+  /**
+   * Les éléments de la collection depuis la dernière modification,
+   * <code>null</code> s'ils ne sont pas encore copiés.
+   */
+  private Object[] elements;
+  
+  /**
+   * Crée une vue sur une collection.
+   *
+   * @param collection la collection observée
+   */
+  VueListe(Collection<E> collection) {
+    this.collection = Collections.unmodifiableCollection(collection);
+  }
+  
+  /**
+   * Signale que la collection a été modifiée : la copie des éléments sera
+   * refaite au prochain accès par indice.
+   */
+  void invalider() {
+    this.elements = null;
+    this.modCount++;
+  }
+  
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    if (index < 0 || index >= this.collection.size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    
+    if (this.elements == null) {
+      this.elements = this.collection.toArray();
+    }
+    return (E) this.elements[index];
+  }
+  
+  @Override
+  public int size() {
+    return this.collection.size();
+  }
+  
+  @Override
+  public boolean isEmpty() {
+    return this.collection.isEmpty();
+  }
+  
+  @Override
+  public boolean contains(Object o) {
+    try {
+      return this.collection.contains(o);
+    } catch (ClassCastException | NullPointerException e) {
+      return false;
+    }
+  }
+  
+  @Override
+  public Iterator<E> iterator() {
+    return this.collection.iterator();
+  }
+}
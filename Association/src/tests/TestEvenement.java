@@ -2,9 +2,12 @@ package tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import association.Evenement;
+import association.GestionEvenements;
 import association.InformationPersonnelle;
 import association.InterMembre;
 import association.Membre;
@@ -186,6 +189,27 @@ public class TestEvenement {
     assertTrue(this.evenement2.getParticipants().size() == 1);
   }
   
+  /**
+   * Les participants sont une vue non modifiable, copiée de l'ensemble donné.
+   */
+  @Test
+  public void testParticipantsNonModifiables() {
+    Set<InterMembre> participants = new HashSet<>();
+    InterMembre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("jean", "jacques"));
+    participants.add(mbr);
+    this.evenement1.setParticipants(participants);
+    participants.clear();
+    
+    assertTrue(this.evenement1.getParticipants().contains(mbr));
+    assertThrows(UnsupportedOperationException.class,
+        () -> this.evenement1.getParticipants().remove(mbr));
+    
+    this.evenement1.setParticipants(null);
+    assertTrue(this.evenement1.getParticipants().isEmpty());
+  }
+  
   /**
    * Test que deux événements ne se déroulent pas au même endroit.
    */
@@ -203,6 +227,24 @@ public class TestEvenement {
     assertFalse(this.evenement1.pasDeChevauchementLieu(this.evenement2));
   }
   
+  /**
+   * Test que deux événements d'un gestionnaire au même endroit, écrit
+   * différemment, partagent le même lieu.
+   */
+  @Test
+  public void testLieuPartage() {
+    GestionEvenements gest = new GestionEvenements();
+    Evenement evt1 = gest.creerEvenement("concert", "SALLE des fêtes", 12,
+        Month.MAY, 2023, 20, 0, 3, 100);
+    Evenement evt2 = gest.creerEvenement("bal", "salle  DES Fêtes", 13,
+        Month.MAY, 2023, 20, 0, 3, 100);
+    assertSame(evt1.getLieu(), evt2.getLieu());
+    assertFalse(evt1.pasDeChevauchementLieu(evt2));
+    
+    this.evenement1.setLieu("SALLE des fêtes");
+    assertFalse(this.evenement1.pasDeChevauchementLieu(evt1));
+  }
+  
   /**
    * Test que deux événements ne se déroulent pas au même moment.
    */
@@ -220,6 +262,21 @@ public class TestEvenement {
     assertFalse(this.evenement1.pasDeChevauchementTemps(this.evenement2));
   }
   
+  /**
+   * Test que le chevauchement suit les modifications de la date et de la
+   * durée : un événement qui se termine quand l'autre commence le chevauche.
+   */
+  @Test
+  public void testPasDeChevauchementTempsApresModification() {
+    this.evenement1.setDate(this.evenement2.getDate().minusHours(6));
+    this.evenement1.setDuree(5);
+    assertTrue(this.evenement1.pasDeChevauchementTemps(this.evenement2));
+    
+    this.evenement1.setDuree(6);
+    assertFalse(this.evenement1.pasDeChevauchementTemps(this.evenement2));
+    assertFalse(this.evenement2.pasDeChevauchementTemps(this.evenement1));
+  }
+  
   /**
    * Test que deux événements ne se déroulent pas au même endroit ni ou au même
    * moment.
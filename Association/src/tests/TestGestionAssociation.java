@@ -1,9 +1,31 @@
 package tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import association.Evenement;
 import association.GestionAssociation;
+import association.InformationPersonnelle;
+import association.InterGestionEvenements;
+import association.InterGestionMembres;
+import association.InterMembre;
+import association.Membre;
+import association.SerieEvenements;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -36,4 +58,252 @@ public class TestGestionAssociation {
     asso2.chargerDonnees(FICHIER);
     assertEquals(asso1, asso2);
   }
+  
+  /**
+   * La réinitialisation vide l'association et prévient les observateurs une
+   * seule fois, comme le chargement.
+   *
+   * @throws IOException not specified
+   */
+  @Test
+  public void testReinitialiser() throws IOException {
+    GestionAssociation asso = new GestionAssociation();
+    AtomicInteger notifications = new AtomicInteger();
+    asso.ajouterObservateur(a -> notifications.incrementAndGet());
+    
+    InterMembre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    asso.gestionnaireMembre().ajouterMembre(mbr);
+    InterGestionEvenements evenements = asso.gestionnaireEvenements();
+    evenements.creerEvenement("fête", "salle", 24, Month.SEPTEMBER, 2022, 8,
+        30, 2, 10);
+    asso.sauvegarderDonnees(FICHIER);
+    
+    asso.reinitialiser();
+    assertEquals(1, notifications.get());
+    assertNotSame(evenements, asso.gestionnaireEvenements());
+    assertTrue(asso.gestionnaireEvenements().ensembleEvenements().isEmpty());
+    assertTrue(asso.gestionnaireMembre().ensembleMembres().isEmpty());
+    assertEquals(new GestionAssociation(), asso);
+    
+    asso.chargerDonnees(FICHIER);
+    assertEquals(2, notifications.get());
+    assertEquals(1, asso.gestionnaireMembre().ensembleMembres().size());
+  }
+  
+  /**
+   * Les numéros des membres et des événements sont conservés par la
+   * sauvegarde, et les numéros suivants ne reprennent pas les anciens.
+   *
+   * @throws IOException not specified
+   */
+  @Test
+  public void testSerialisationNumeros() throws IOException {
+    GestionAssociation asso = new GestionAssociation();
+    InterMembre paul = new Membre();
+    paul.definirInformationPersonnnelle(
+        new InformationPersonnelle("Durand", "Paul"));
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne"));
+    asso.gestionnaireMembre().ajouterMembre(paul);
+    asso.gestionnaireMembre().ajouterMembre(anne);
+    asso.gestionnaireMembre().supprimerMembre(paul);
+    asso.gestionnaireEvenements().creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 10);
+    asso.sauvegarderDonnees(FICHIER);
+    
+    GestionAssociation charge = new GestionAssociation();
+    charge.chargerDonnees(FICHIER);
+    InterMembre anneChargee = charge.gestionnaireMembre().membre(2);
+    assertEquals("Anne", anneChargee.getInformationPersonnelle().getPrenom());
+    assertEquals("Fête",
+        charge.gestionnaireEvenements().evenement(1).getNom());
+    
+    InterMembre yann = new Membre();
+    yann.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Gall", "Yann"));
+    charge.gestionnaireMembre().ajouterMembre(yann);
+    assertEquals(3, yann.getNumero());
+  }
+  
+  /**
+   * Le président, les inscriptions, les listes d'attente et les occurrences
+   * créées des séries sont conservés par la sauvegarde.
+   *
+   * @throws IOException not specified
+   */
+  @Test
+  public void testSerialisationComplete() throws IOException {
+    GestionAssociation asso = new GestionAssociation();
+    InterGestionMembres membres = asso.gestionnaireMembre();
+    InterGestionEvenements evenements = asso.gestionnaireEvenements();
+    InterMembre paul = new Membre();
+    paul.definirInformationPersonnnelle(
+        new InformationPersonnelle("Durand", "Paul", "1 rue de Brest", 30));
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne", "1 rue de Brest", 25));
+    membres.ajouterMembre(paul);
+    membres.ajouterMembre(anne);
+    membres.designerPresident(anne);
+    
+    Evenement fete = evenements.creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 1);
+    evenements.inscriptionEvenement(fete, anne);
+    evenements.inscriptionEvenement(fete, paul);
+    SerieEvenements atelier = evenements.creerSerie("atelier", "gymnase",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 6, 18, 0), 7,
+        LocalDate.of(2022, Month.DECEMBER, 27), 2, 10);
+    evenements.inscriptionEvenement(atelier.occurrence(3), paul);
+    asso.sauvegarderDonnees(FICHIER);
+    
+    GestionAssociation charge = new GestionAssociation();
+    charge.chargerDonnees(FICHIER);
+    assertEquals(asso, charge);
+    assertTrue(charge.anomaliesChargement().isEmpty());
+    
+    InterMembre anneChargee = charge.gestionnaireMembre().membre(2);
+    InterMembre paulChargee = charge.gestionnaireMembre().membre(1);
+    assertSame(anneChargee, charge.gestionnaireMembre().president());
+    assertEquals("1 rue de Brest",
+        paulChargee.getInformationPersonnelle().getAdresse());
+    assertEquals(30, paulChargee.getInformationPersonnelle().getAge());
+    
+    Evenement feteChargee = charge.gestionnaireEvenements().evenement(1);
+    assertEquals(Set.of(anneChargee), feteChargee.getParticipants());
+    assertEquals(Set.of(paulChargee), feteChargee.getListeAttente());
+    assertTrue(anneChargee.ensembleEvenements().contains(feteChargee));
+    
+    SerieEvenements atelierCharge =
+        charge.gestionnaireEvenements().trouverSerie("atelier");
+    assertEquals(1, atelierCharge.occurrencesCreees().size());
+    Evenement occurrence = atelierCharge.occurrencesCreees().get(0);
+    assertSame(occurrence, atelierCharge.occurrence(3));
+    assertEquals(Set.of(paulChargee), occurrence.getParticipants());
+    assertTrue(paulChargee.ensembleEvenements().contains(occurrence));
+  }
+  
+  /**
+   * Un fichier écrit par la sérialisation Java des versions précédentes est
+   * toujours chargé.
+   *
+   * @throws IOException not specified
+   */
+  @Test
+  public void testChargementSerialisationJava() throws IOException {
+    GestionAssociation asso = new GestionAssociation();
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne"));
+    asso.gestionnaireMembre().ajouterMembre(anne);
+    asso.gestionnaireEvenements().creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 10);
+    try (ObjectOutputStream oos =
+        new ObjectOutputStream(new FileOutputStream(FICHIER))) {
+      oos.writeObject(asso.gestionnaireEvenements());
+      oos.writeObject(asso.gestionnaireMembre());
+    }
+    
+    GestionAssociation charge = new GestionAssociation();
+    charge.chargerDonnees(FICHIER);
+    assertEquals(asso, charge);
+    assertEquals("Anne", charge.gestionnaireMembre().membre(1)
+        .getInformationPersonnelle().getPrenom());
+  }
+  
+  /**
+   * Un fichier de sérialisation Java dont les membres manquent ou ne sont pas
+   * un gestionnaire de membres n'est pas chargé : les événements déjà lus ne
+   * remplacent pas ceux de l'association.
+   *
+   * @throws IOException not specified
+   */
+  @Test
+  public void testChargementSerialisationJavaIncomplet() throws IOException {
+    GestionAssociation asso = new GestionAssociation();
+    asso.gestionnaireEvenements().creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 10);
+    Object[] membres = {null, "membres"};
+    
+    for (Object suite : membres) {
+      try (ObjectOutputStream oos =
+          new ObjectOutputStream(new FileOutputStream(FICHIER))) {
+        oos.writeObject(asso.gestionnaireEvenements());
+        if (suite != null) {
+          oos.writeObject(suite);
+        }
+      }
+      
+      GestionAssociation charge = new GestionAssociation();
+      InterGestionEvenements evenements = charge.gestionnaireEvenements();
+      InterGestionMembres avant = charge.gestionnaireMembre();
+      assertThrows(IOException.class, () -> charge.chargerDonnees(FICHIER));
+      assertSame(evenements, charge.gestionnaireEvenements());
+      assertSame(avant, charge.gestionnaireMembre());
+    }
+  }
+  
+  /**
+   * Un fichier tronqué n'est pas chargé et l'association n'est pas modifiée.
+   *
+   * @throws IOException not specified
+   */
+  @Test
+  public void testChargementTronque() throws IOException {
+    GestionAssociation asso = new GestionAssociation();
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne"));
+    asso.gestionnaireMembre().ajouterMembre(anne);
+    asso.sauvegarderDonnees(FICHIER);
+    
+    Path chemin = Path.of(FICHIER);
+    byte[] octets = Files.readAllBytes(chemin);
+    Files.write(chemin, Arrays.copyOf(octets, octets.length - 4));
+    
+    GestionAssociation charge = new GestionAssociation();
+    InterGestionMembres avant = charge.gestionnaireMembre();
+    assertThrows(IOException.class, () -> charge.chargerDonnees(FICHIER));
+    assertSame(avant, charge.gestionnaireMembre());
+  }
+  
+  /**
+   * Un fichier dont un nombre d'enregistrements, une longueur de chaîne ou un
+   * numéro d'occurrence est faux n'est pas chargé : la lecture signale une
+   * {@link IOException} au lieu d'allouer ou d'indexer au hasard.
+   *
+   * @throws IOException not specified
+   */
+  @Test
+  public void testChargementCorrompu() throws IOException {
+    GestionAssociation asso = new GestionAssociation();
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne"));
+    asso.gestionnaireMembre().ajouterMembre(anne);
+    SerieEvenements atelier = asso.gestionnaireEvenements().creerSerie(
+        "atelier", "gymnase", LocalDateTime.of(2022, Month.SEPTEMBER, 6, 18, 0),
+        7, LocalDate.of(2022, Month.DECEMBER, 27), 2, 10);
+    asso.gestionnaireEvenements().inscriptionEvenement(atelier.occurrence(3),
+        anne);
+    asso.sauvegarderDonnees(FICHIER);
+    
+    Path chemin = Path.of(FICHIER);
+    byte[] octets = Files.readAllBytes(chemin);
+    /* Nombre de membres, longueur de la première chaîne, numéro de
+     * l'occurrence (avant la seule inscription) */
+    int[] positions = {12, 48, octets.length - 8 - 36 + 4};
+    int[] valeurs = {Integer.MAX_VALUE, Integer.MAX_VALUE, 1000};
+    
+    for (int i = 0; i < positions.length; i++) {
+      byte[] corrompu = octets.clone();
+      ByteBuffer.wrap(corrompu).putInt(positions[i], valeurs[i]);
+      Files.write(chemin, corrompu);
+      
+      GestionAssociation charge = new GestionAssociation();
+      assertThrows(IOException.class, () -> charge.chargerDonnees(FICHIER));
+    }
+  }
 }
@@ -1,11 +1,26 @@
 package tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import association.Evenement;
 import association.GestionEvenements;
+import association.InformationPersonnelle;
+import association.InterMembre;
+import association.Membre;
+import association.Motif;
+import association.Resultat;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -17,6 +32,12 @@ import org.junit.jupiter.api.Test;
  */
 public class TestGestionEvenements {
   
+  /**
+   * La date courante des tests, avant les événements créés.
+   */
+  private static final LocalDateTime MAINTENANT =
+      LocalDateTime.of(2022, Month.JANUARY, 1, 0, 0);
+  
   /**
    * Gestionnaire d'événements pour les tests.
    */
@@ -29,7 +50,76 @@ public class TestGestionEvenements {
    */
   @BeforeEach
   public void setUp() throws Exception {
-    this.gest = new GestionEvenements();
+    this.gest = new GestionEvenements(horloge(MAINTENANT));
+  }
+  
+  /**
+   * Crée une horloge arrêtée à une date.
+   *
+   * @param date la date de l'horloge
+   * @return l'horloge
+   */
+  private static Clock horloge(LocalDateTime date) {
+    return Clock.fixed(date.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+  }
+  
+  /**
+   * Les événements sortent des événements à venir quand ils commencent.
+   */
+  @Test
+  public void testEvenementsAvenirExpiration() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 20, Month.SEPTEMBER, 2022, 9, 0, 10, 10);
+    assertEquals(List.of(evt2, evt1), this.gest.ensembleEvenementsAvenir());
+    
+    this.gest.setHorloge(
+        horloge(LocalDateTime.of(2022, Month.SEPTEMBER, 20, 9, 0)));
+    assertEquals(List.of(evt1), this.gest.ensembleEvenementsAvenir());
+    
+    /* Un événement déplacé dans le futur redevient à venir */
+    evt2.setDate(LocalDateTime.of(2022, Month.OCTOBER, 1, 9, 0));
+    assertEquals(List.of(evt1, evt2), this.gest.ensembleEvenementsAvenir());
+    
+    this.gest.supprimerEvenement(evt1);
+    assertEquals(List.of(evt2), this.gest.ensembleEvenementsAvenir());
+  }
+  
+  /**
+   * Accès par position aux événements à venir et aux participants, après
+   * des modifications.
+   */
+  @Test
+  public void testAccesParPosition() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    List<Evenement> avenir = this.gest.ensembleEvenementsAvenir();
+    assertSame(evt1, avenir.get(0));
+    
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 20, Month.SEPTEMBER, 2022, 9, 0, 10, 10);
+    assertSame(evt2, avenir.get(0));
+    assertSame(evt1, avenir.get(1));
+    
+    InterMembre jean = new Membre();
+    jean.definirInformationPersonnnelle(
+        new InformationPersonnelle("jean", "jacques"));
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("anne", "marie"));
+    List<InterMembre> participants = evt1.listeParticipants();
+    
+    assertTrue(this.gest.inscriptionEvenement(evt1, jean));
+    assertSame(jean, participants.get(0));
+    assertTrue(this.gest.inscriptionEvenement(evt1, anne));
+    assertEquals(2, participants.size());
+    assertEquals(Set.of(jean, anne),
+        Set.of(participants.get(0), participants.get(1)));
+    
+    assertTrue(this.gest.annulerEvenement(evt1, jean));
+    assertEquals(1, participants.size());
+    assertSame(anne, participants.get(0));
   }
   
   /**
@@ -127,4 +217,566 @@ public class TestGestionEvenements {
     assertTrue(evt2 == null);
     assertEquals(this.gest.ensembleEvenements().size(), 1);
   }
+  
+  /**
+   * Ajout d'un événement au même moment qu'un autre mais dans un autre lieu.
+   */
+  @Test
+  public void testCreerEvenementAutreLieu() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 24, Month.SEPTEMBER, 2022, 9, 0, 10, 1000);
+    assertTrue(evt1 != null);
+    assertTrue(evt2 != null);
+    assertEquals(this.gest.ensembleEvenements().size(), 2);
+  }
+  
+  /**
+   * Ajout d'un événement sur la période d'un événement supprimé.
+   */
+  @Test
+  public void testCreerEvenementApresSuppression() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    this.gest.supprimerEvenement(evt1);
+    
+    Evenement evt2 = this.gest.creerEvenement("brocante", "à la foire st mich",
+        24, Month.SEPTEMBER, 2022, 9, 0, 10, 1000);
+    assertTrue(evt2 != null);
+    assertEquals(this.gest.ensembleEvenements().size(), 1);
+  }
+  
+  /**
+   * Les conflits tiennent compte des modifications de date et de durée des
+   * événements existants.
+   */
+  @Test
+  public void testCreerEvenementApresModification() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    evt1.setDate(evt1.getDate().plusDays(1));
+    
+    Evenement evt2 = this.gest.creerEvenement("brocante", "à la foire st mich",
+        24, Month.SEPTEMBER, 2022, 9, 0, 10, 1000);
+    assertTrue(evt2 != null);
+    
+    evt1.setDuree(48);
+    Evenement evt3 = this.gest.creerEvenement("vide grenier",
+        "à la foire st mich", 26, Month.SEPTEMBER, 2022, 9, 0, 2, 1000);
+    assertTrue(evt3 == null);
+    assertEquals(this.gest.ensembleEvenements().size(), 2);
+  }
+  
+  /**
+   * Ajout d'un événement avec le nom d'un autre événement.
+   */
+  @Test
+  public void testCreerEvenementNomExistant() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    Evenement evt2 = this.gest.creerEvenement("Fête Foraine",
+        "place saint corentin", 25, Month.SEPTEMBER, 2022, 9, 0, 10, 1000);
+    assertTrue(evt1 != null);
+    assertTrue(evt2 == null);
+    assertEquals(this.gest.ensembleEvenements().size(), 1);
+  }
+  
+  /**
+   * Recherche d'un événement par son nom, y compris après un renommage.
+   */
+  @Test
+  public void testTrouverEvenement() {
+    Evenement evt = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    assertTrue(this.gest.trouverEvenement("fête foraine") == evt);
+    assertTrue(this.gest.trouverEvenement("brocante") == null);
+    
+    assertTrue(evt.setNom("brocante"));
+    assertTrue(this.gest.trouverEvenement("Brocante") == evt);
+    assertTrue(this.gest.trouverEvenement("fête foraine") == null);
+    
+    this.gest.supprimerEvenement(evt);
+    assertTrue(this.gest.trouverEvenement("brocante") == null);
+  }
+  
+  /**
+   * Un événement ne peut pas prendre le nom d'un autre événement.
+   */
+  @Test
+  public void testRenommerEvenementNomExistant() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 25, Month.SEPTEMBER, 2022, 9, 0, 10, 1000);
+    
+    assertFalse(evt2.setNom("fête foraine"));
+    assertEquals(evt2.getNom(), "Brocante");
+    assertTrue(this.gest.trouverEvenement("fête foraine") == evt1);
+    assertTrue(this.gest.trouverEvenement("brocante") == evt2);
+  }
+  
+  /**
+   * Inscription d'un membre à deux événements qui ont lieu en même temps.
+   */
+  @Test
+  public void testInscriptionEvenementConflit() {
+    InterMembre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("jean", "jacques"));
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 24, Month.SEPTEMBER, 2022, 9, 0, 10, 1000);
+    
+    assertTrue(this.gest.inscriptionEvenement(evt1, mbr));
+    assertFalse(this.gest.inscriptionEvenement(evt1, mbr));
+    assertFalse(this.gest.inscriptionEvenement(evt2, mbr));
+    assertEquals(mbr.ensembleEvenements().size(), 1);
+    assertTrue(evt1.getParticipants().contains(mbr));
+    assertFalse(evt2.getParticipants().contains(mbr));
+    
+    assertTrue(this.gest.annulerEvenement(evt1, mbr));
+    assertTrue(this.gest.inscriptionEvenement(evt2, mbr));
+    assertTrue(mbr.ensembleEvenements().contains(evt2));
+  }
+  
+  /**
+   * Les événements d'un membre restent triés quand la date d'un événement
+   * change.
+   */
+  @Test
+  public void testChronologieMembreApresModification() {
+    InterMembre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("jean", "jacques"));
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 25, Month.SEPTEMBER, 2022, 9, 0, 10, 1000);
+    this.gest.inscriptionEvenement(evt1, mbr);
+    this.gest.inscriptionEvenement(evt2, mbr);
+    assertTrue(mbr.ensembleEvenements().get(0) == evt1);
+    
+    evt1.setDate(evt1.getDate().plusDays(2));
+    assertTrue(mbr.ensembleEvenements().get(0) == evt2);
+    assertTrue(mbr.ensembleEvenements().get(1) == evt1);
+    
+    this.gest.supprimerEvenement(evt1);
+    assertEquals(mbr.ensembleEvenements().size(), 1);
+  }
+  
+  /**
+   * Un événement allongé après les inscriptions peut chevaucher un autre
+   * événement du membre : le membre reste occupé sur toute sa durée, pas
+   * seulement près des événements qui l'encadrent.
+   */
+  @Test
+  public void testDisponibiliteApresAllongement() {
+    InterMembre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("jean", "jacques"));
+    Evenement evtA = this.gest.creerEvenement("atelier", "salle a", 24,
+        Month.SEPTEMBER, 2022, 10, 0, 2, 10);
+    Evenement evtB = this.gest.creerEvenement("brocante", "salle b", 24,
+        Month.SEPTEMBER, 2022, 14, 0, 2, 10);
+    Evenement evtC = this.gest.creerEvenement("concert", "salle c", 24,
+        Month.SEPTEMBER, 2022, 17, 0, 1, 10);
+    this.gest.inscriptionEvenement(evtA, mbr);
+    this.gest.inscriptionEvenement(evtB, mbr);
+    assertTrue(mbr.estDisponible(evtC));
+    
+    evtA.setDuree(10);
+    assertFalse(mbr.estDisponible(evtC));
+    assertFalse(mbr.estDisponible(evtB));
+    assertFalse(this.gest.inscriptionEvenement(evtC, mbr));
+    
+    evtA.setDuree(2);
+    assertTrue(mbr.estDisponible(evtB));
+    assertTrue(this.gest.inscriptionEvenement(evtC, mbr));
+  }
+  
+  /**
+   * Création d'un lot d'événements, avec les motifs des refus.
+   */
+  @Test
+  public void testCreerEvenements() {
+    Evenement existant = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    LocalDateTime date = LocalDateTime.of(2022, Month.SEPTEMBER, 25, 10, 0);
+    
+    List<Resultat<Evenement>> resultats = this.gest.creerEvenements(List.of(
+        new Evenement("brocante", "à la foire st mich", date, 4, 100,
+            new HashSet<>()),
+        new Evenement("vide grenier", "à la foire st mich", date.plusHours(2),
+            4, 100, new HashSet<>()),
+        new Evenement("fête foraine", "place saint corentin", date, 4, 100,
+            new HashSet<>()),
+        new Evenement("concert", "à la foire st mich", date.minusDays(1), 2,
+            100, new HashSet<>()),
+        new Evenement("", "place saint corentin", date, 4, 100,
+            new HashSet<>()),
+        new Evenement("marché", "place saint corentin", date, 4, 100,
+            new HashSet<>())));
+    
+    assertEquals(resultats.size(), 6);
+    assertTrue(resultats.get(0).estAccepte());
+    assertEquals(resultats.get(1).getMotif(), Motif.CHEVAUCHEMENT);
+    assertEquals(resultats.get(2).getMotif(), Motif.NOM_DEJA_UTILISE);
+    assertEquals(resultats.get(3).getMotif(), Motif.CHEVAUCHEMENT);
+    assertEquals(resultats.get(4).getMotif(), Motif.PARAMETRES_INVALIDES);
+    assertTrue(resultats.get(5).estAccepte());
+    
+    assertEquals(this.gest.ensembleEvenements().size(), 3);
+    assertTrue(this.gest.ensembleEvenements().contains(existant));
+    assertTrue(this.gest.trouverEvenement("brocante") == resultats.get(0)
+        .getElement());
+    assertTrue(this.gest.trouverEvenement("marché") == resultats.get(5)
+        .getElement());
+  }
+  
+  /**
+   * Un événement du lot refusé pour chevauchement ne réserve pas son nom :
+   * un événement du même nom dans un lieu libre est accepté.
+   */
+  @Test
+  public void testCreerEvenementsNomApresChevauchement() {
+    this.gest.creerEvenement("fête foraine", "salle a", 24, Month.SEPTEMBER,
+        2022, 8, 0, 12, 1000);
+    LocalDateTime date = LocalDateTime.of(2022, Month.SEPTEMBER, 24, 10, 0);
+    
+    List<Resultat<Evenement>> resultats = this.gest.creerEvenements(List.of(
+        new Evenement("concert", "salle a", date, 2, 100, new HashSet<>()),
+        new Evenement("concert", "salle b", date, 2, 100, new HashSet<>()),
+        new Evenement("concert", "salle c", date, 2, 100, new HashSet<>())));
+    
+    assertEquals(resultats.get(0).getMotif(), Motif.CHEVAUCHEMENT);
+    assertTrue(resultats.get(1).estAccepte());
+    assertEquals(resultats.get(2).getMotif(), Motif.NOM_DEJA_UTILISE);
+    assertEquals(this.gest.ensembleEvenements().size(), 2);
+    assertSame(this.gest.trouverEvenement("concert"),
+        resultats.get(1).getElement());
+  }
+  
+  /**
+   * Inscription d'un lot de membres à un événement, avec les motifs des
+   * refus.
+   */
+  @Test
+  public void testInscriptionEvenementLot() {
+    InterMembre[] mbrs = new InterMembre[4];
+    for (int i = 0; i < mbrs.length; i++) {
+      mbrs[i] = new Membre();
+      mbrs[i].definirInformationPersonnnelle(
+          new InformationPersonnelle("nom" + i, "prenom" + i));
+    }
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 2);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 24, Month.SEPTEMBER, 2022, 9, 0, 10, 10);
+    this.gest.inscriptionEvenement(evt2, mbrs[1]);
+    
+    List<Resultat<InterMembre>> resultats = this.gest.inscriptionEvenement(
+        evt1, List.of(mbrs[0], mbrs[1], mbrs[0], mbrs[2], mbrs[3]));
+    
+    assertEquals(resultats.size(), 5);
+    assertTrue(resultats.get(0).estAccepte());
+    assertEquals(resultats.get(1).getMotif(), Motif.CONFLIT_CALENDRIER);
+    assertEquals(resultats.get(2).getMotif(), Motif.DEJA_INSCRIT);
+    assertTrue(resultats.get(3).estAccepte());
+    assertEquals(resultats.get(4).getMotif(), Motif.LISTE_ATTENTE);
+    
+    assertEquals(evt1.getParticipants().size(), 2);
+    assertTrue(mbrs[0].ensembleEvenements().contains(evt1));
+    assertTrue(mbrs[2].ensembleEvenements().contains(evt1));
+    assertFalse(mbrs[1].ensembleEvenements().contains(evt1));
+    assertTrue(evt1.getListeAttente().contains(mbrs[3]));
+  }
+  
+  /**
+   * Un membre en liste d'attente est inscrit quand une place se libère, s'il
+   * est encore disponible.
+   */
+  @Test
+  public void testListeAttente() {
+    InterMembre[] mbrs = new InterMembre[4];
+    for (int i = 0; i < mbrs.length; i++) {
+      mbrs[i] = new Membre();
+      mbrs[i].definirInformationPersonnnelle(
+          new InformationPersonnelle("nom" + i, "prenom" + i));
+    }
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 24, Month.SEPTEMBER, 2022, 9, 0, 10, 10);
+    
+    assertTrue(this.gest.inscriptionEvenement(evt1, mbrs[0]));
+    assertFalse(this.gest.inscriptionEvenement(evt1, mbrs[1]));
+    assertFalse(this.gest.inscriptionEvenement(evt1, mbrs[2]));
+    assertFalse(this.gest.inscriptionEvenement(evt1, mbrs[3]));
+    assertEquals(List.of(mbrs[1], mbrs[2], mbrs[3]),
+        List.copyOf(evt1.getListeAttente()));
+    
+    /* mbrs[1] n'est plus disponible, mbrs[3] renonce */
+    this.gest.inscriptionEvenement(evt2, mbrs[1]);
+    assertTrue(this.gest.annulerEvenement(evt1, mbrs[3]));
+    
+    assertTrue(this.gest.annulerEvenement(evt1, mbrs[0]));
+    assertEquals(Set.of(mbrs[2]), evt1.getParticipants());
+    assertTrue(mbrs[2].ensembleEvenements().contains(evt1));
+    
+    /* mbrs[1] est passé mais garde son rang */
+    assertEquals(List.of(mbrs[1]), List.copyOf(evt1.getListeAttente()));
+    assertTrue(mbrs[1].ensembleAttentes().contains(evt1));
+    
+    /* Une place ajoutée profite aussi à la liste d'attente */
+    this.gest.inscriptionEvenement(evt1, mbrs[0]);
+    evt1.setNbParticipantsMax(2);
+    assertTrue(evt1.getParticipants().contains(mbrs[0]));
+    assertEquals(List.of(mbrs[1]), List.copyOf(evt1.getListeAttente()));
+    
+    /* Redevenu libre, mbrs[1] profite de la place suivante */
+    assertTrue(this.gest.annulerEvenement(evt2, mbrs[1]));
+    evt1.setNbParticipantsMax(3);
+    assertTrue(evt1.getParticipants().contains(mbrs[1]));
+    assertTrue(evt1.getListeAttente().isEmpty());
+  }
+  
+  /**
+   * Membre qui compte les tests de disponibilité faits par les listes
+   * d'attente.
+   */
+  private static class MembreCompte extends Membre {
+    /**
+     * Le nombre de tests de disponibilité.
+     */
+    private int examens;
+    
+    @Override
+    public boolean estDisponible(Evenement evt) {
+      this.examens++;
+      return super.estDisponible(evt);
+    }
+  }
+  
+  /**
+   * Une longue file de membres occupés n'est examinée qu'une fois : les
+   * désinscriptions suivantes ne la reparcourent pas, jusqu'à ce qu'un
+   * membre se libère ou que l'événement change d'horaire.
+   */
+  @Test
+  public void testListeAttenteBloquee() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 24, Month.SEPTEMBER, 2022, 9, 0, 10, 1000);
+    InterMembre libre1 = new Membre();
+    libre1.definirInformationPersonnnelle(
+        new InformationPersonnelle("libre", "un"));
+    InterMembre libre2 = new Membre();
+    libre2.definirInformationPersonnnelle(
+        new InformationPersonnelle("libre", "deux"));
+    MembreCompte[] occupes = new MembreCompte[500];
+    
+    assertTrue(this.gest.inscriptionEvenement(evt1, libre1));
+    for (int i = 0; i < occupes.length; i++) {
+      occupes[i] = new MembreCompte();
+      occupes[i].definirInformationPersonnnelle(
+          new InformationPersonnelle("occupe" + i, "prenom"));
+      assertFalse(this.gest.inscriptionEvenement(evt1, occupes[i]));
+      assertTrue(this.gest.inscriptionEvenement(evt2, occupes[i]));
+    }
+    assertFalse(this.gest.inscriptionEvenement(evt1, libre2));
+    
+    /* La place passe de libre1 à libre2 et inversement */
+    InterMembre[] libres = {libre1, libre2};
+    for (int i = 0; i < 100; i++) {
+      assertTrue(this.gest.annulerEvenement(evt1, libres[i % 2]));
+      assertEquals(Set.of(libres[(i + 1) % 2]), evt1.getParticipants());
+      assertFalse(this.gest.inscriptionEvenement(evt1, libres[i % 2]));
+    }
+    int examens = 0;
+    for (MembreCompte mbr : occupes) {
+      examens += mbr.examens;
+    }
+    /* Aux deux inscriptions, puis à la première place libérée */
+    assertEquals(3 * occupes.length, examens);
+    assertEquals(occupes.length + 1, evt1.getListeAttente().size());
+    
+    /* Redevenu libre, un membre occupé reprend son rang */
+    assertTrue(this.gest.annulerEvenement(evt2, occupes[250]));
+    assertTrue(this.gest.annulerEvenement(evt1, libre1));
+    assertEquals(Set.of(occupes[250]), evt1.getParticipants());
+    
+    /* L'événement déplacé n'est plus en conflit avec les membres écartés */
+    evt1.setDate(LocalDateTime.of(2022, Month.SEPTEMBER, 25, 8, 30));
+    evt1.setNbParticipantsMax(3);
+    assertEquals(Set.of(occupes[250], occupes[0], occupes[1]),
+        evt1.getParticipants());
+  }
+  
+  /**
+   * Recherche des créneaux libres d'un lieu.
+   */
+  @Test
+  public void testCreneauxLibres() {
+    this.gest.creerEvenement("fête foraine", "à la foire st mich", 24,
+        Month.SEPTEMBER, 2022, 10, 0, 2, 1000);
+    this.gest.creerEvenement("brocante", "à la foire st mich", 24,
+        Month.SEPTEMBER, 2022, 14, 0, 2, 1000);
+    LocalDateTime debut = LocalDateTime.of(2022, Month.SEPTEMBER, 24, 7, 0);
+    
+    List<LocalDateTime> creneaux = this.gest.creneauxLibres(
+        "à la foire st mich", 2, debut, debut.plusHours(13), 10);
+    assertEquals(creneaux.size(), 2);
+    assertEquals(creneaux.get(0), debut);
+    assertEquals(creneaux.get(1), debut.plusHours(9).plusMinutes(1));
+    
+    creneaux = this.gest.creneauxLibres("à la foire st mich", 1,
+        debut.plusHours(2), debut.plusHours(13), 1);
+    assertEquals(creneaux.size(), 1);
+    assertEquals(creneaux.get(0), debut.plusHours(5).plusMinutes(1));
+    
+    creneaux = this.gest.creneauxLibres("place saint corentin", 2, debut,
+        debut.plusHours(12), 10);
+    assertEquals(creneaux.size(), 1);
+    assertEquals(creneaux.get(0), debut);
+  }
+  
+  /**
+   * Recherche des lieux libres à une date.
+   */
+  @Test
+  public void testLieuxLibres() {
+    this.gest.creerEvenement("fête foraine", "à la foire st mich", 24,
+        Month.SEPTEMBER, 2022, 10, 0, 2, 1000);
+    this.gest.creerEvenement("brocante", "place saint corentin", 24,
+        Month.SEPTEMBER, 2022, 14, 0, 2, 1000);
+    
+    List<String> lieux = this.gest.lieuxLibres(
+        LocalDateTime.of(2022, Month.SEPTEMBER, 24, 11, 0), 1);
+    assertEquals(lieux, List.of("Place Saint Corentin"));
+    
+    lieux = this.gest.lieuxLibres(
+        LocalDateTime.of(2022, Month.SEPTEMBER, 24, 18, 0), 1);
+    assertEquals(lieux.size(), 2);
+  }
+  
+  /**
+   * Chaque gestionnaire a son propre registre des lieux : les lieux de deux
+   * gestionnaires sont comparés par leur nom, pas par leur identifiant.
+   */
+  @Test
+  public void testLieuxGestionnairesDistincts() {
+    GestionEvenements autre = new GestionEvenements(horloge(MAINTENANT));
+    Evenement evt1 = this.gest.creerEvenement("fête foraine", "salle a", 24,
+        Month.SEPTEMBER, 2022, 10, 0, 2, 1000);
+    Evenement evt2 = autre.creerEvenement("brocante", "salle b", 24,
+        Month.SEPTEMBER, 2022, 10, 0, 2, 1000);
+    Evenement evt3 = autre.creerEvenement("concert", "salle a", 25,
+        Month.SEPTEMBER, 2022, 10, 0, 2, 1000);
+    
+    assertTrue(evt1.pasDeChevauchementLieu(evt2));
+    assertFalse(evt1.pasDeChevauchementLieu(evt3));
+    assertTrue(evt2.pasDeChevauchementLieu(evt3));
+    assertEquals(autre.lieuxLibres(
+        LocalDateTime.of(2022, Month.SEPTEMBER, 24, 11, 0), 1),
+        List.of("Salle A"));
+  }
+  
+  /**
+   * Recherche des événements qui commencent dans une période ou un jour.
+   */
+  @Test
+  public void testEvenementsEntre() {
+    Evenement evt1 = this.gest.creerEvenement("fête foraine",
+        "à la foire st mich", 24, Month.SEPTEMBER, 2022, 8, 30, 12, 1000);
+    Evenement evt2 = this.gest.creerEvenement("brocante",
+        "place saint corentin", 24, Month.SEPTEMBER, 2022, 23, 0, 10, 10);
+    Evenement evt3 = this.gest.creerEvenement("concert",
+        "place saint corentin", 1, Month.OCTOBER, 2022, 20, 0, 2, 10);
+    this.gest.creerSerie("atelier", "salle",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 6, 18, 0), 7,
+        LocalDate.of(2022, Month.DECEMBER, 27), 2, 10);
+    
+    assertEquals(List.of(evt1, evt2),
+        this.gest.evenementsDuJour(LocalDate.of(2022, Month.SEPTEMBER, 24)));
+    assertEquals(List.of(evt2),
+        this.gest.evenementsEntre(
+            LocalDateTime.of(2022, Month.SEPTEMBER, 24, 8, 31),
+            LocalDateTime.of(2022, Month.SEPTEMBER, 27, 18, 0)));
+    
+    List<Evenement> semaine =
+        this.gest.evenementsEntre(LocalDateTime.of(2022, 9, 26, 0, 0),
+            LocalDateTime.of(2022, 10, 3, 0, 0));
+    assertEquals(2, semaine.size());
+    assertEquals(LocalDateTime.of(2022, 9, 27, 18, 0),
+        semaine.get(0).getDate());
+    assertEquals(evt3, semaine.get(1));
+    
+    assertTrue(this.gest.evenementsEntre(LocalDateTime.of(2022, 10, 3, 0, 0),
+        LocalDateTime.of(2022, 9, 26, 0, 0)).isEmpty());
+  }
+  
+  /**
+   * Recherche par débuts de mots du nom et du lieu, limitée ou non à une
+   * période, et mise à jour de l'index quand un événement est modifié.
+   */
+  @Test
+  public void testRechercherEvenements() {
+    Evenement fete = this.gest.creerEvenement("fête de la musique", "Brest",
+        21, Month.JUNE, 2022, 18, 0, 6, 100);
+    Evenement concert = this.gest.creerEvenement("concert", "Quimper", 2,
+        Month.JULY, 2022, 20, 0, 2, 100);
+    Evenement festival = this.gest.creerEvenement("festival", "Brest", 15,
+        Month.JULY, 2022, 10, 0, 8, 100);
+    
+    assertEquals(List.of(fete, festival),
+        this.gest.rechercherEvenements("fe", null, null, 10));
+    assertEquals(List.of(fete),
+        this.gest.rechercherEvenements("FÊTE bre", null, null, 10));
+    assertEquals(List.of(festival), this.gest.rechercherEvenements("bre",
+        LocalDateTime.of(2022, Month.JULY, 1, 0, 0), null, 10));
+    assertEquals(1, this.gest.rechercherEvenements("fe", null, null, 1).size());
+    assertTrue(this.gest.rechercherEvenements("", null, null, 10).isEmpty());
+    
+    /* Renommage et déplacement */
+    concert.setNom("Fest noz");
+    festival.setLieu("Morlaix");
+    assertEquals(List.of(concert, festival),
+        this.gest.rechercherEvenements("fest", null, null, 10));
+    assertEquals(List.of(concert),
+        this.gest.rechercherEvenements("quim", null, null, 10));
+    assertTrue(this.gest.rechercherEvenements("concert", null, null, 10)
+        .isEmpty());
+    
+    this.gest.supprimerEvenement(fete);
+    assertTrue(this.gest.rechercherEvenements("musique", null, null, 10)
+        .isEmpty());
+  }
+  
+  /**
+   * Les événements sont numérotés à leur création, et le numéro est conservé
+   * quand l'événement est modifié.
+   */
+  @Test
+  public void testNumeros() {
+    Evenement fete = this.gest.creerEvenement("fête", "Brest", 21,
+        Month.JUNE, 2022, 18, 0, 6, 100);
+    Evenement concert = this.gest.creerEvenement("concert", "Quimper", 2,
+        Month.JULY, 2022, 20, 0, 2, 100);
+    
+    assertEquals(1, fete.getNumero());
+    assertEquals(2, concert.getNumero());
+    assertSame(concert, this.gest.evenement(2));
+    
+    concert.setLieu("Morlaix");
+    assertSame(concert, this.gest.evenement(2));
+    
+    this.gest.supprimerEvenement(fete);
+    assertNull(this.gest.evenement(1));
+    Evenement festival = this.gest.creerEvenement("festival", "Brest", 15,
+        Month.JULY, 2022, 10, 0, 8, 100);
+    assertEquals(3, festival.getNumero());
+  }
 }
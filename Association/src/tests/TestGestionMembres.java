@@ -1,12 +1,26 @@
 package tests;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import association.Evenement;
+import association.GestionEvenements;
 import association.GestionMembres;
 import association.InformationPersonnelle;
 import association.InterMembre;
 import association.Membre;
+import association.Motif;
+import association.Radiation;
+import association.Resultat;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -124,4 +138,343 @@ public class TestGestionMembres {
     assertFalse(groupe.designerPresident(membre));
     assertFalse(groupe.president() == membre);
   }
+  
+  /**
+   * Supprimer un membre le désinscrit de ses événements, donne sa place à la
+   * liste d'attente et le retire des listes d'attente.
+   */
+  @Test
+  public void testRadierMembre() {
+    GestionMembres groupe = new GestionMembres();
+    GestionEvenements gest = new GestionEvenements();
+    InterMembre membre = new Membre();
+    membre.definirInformationPersonnnelle(
+        new InformationPersonnelle("jean", "jacques"));
+    InterMembre autre = new Membre();
+    autre.definirInformationPersonnnelle(
+        new InformationPersonnelle("paul", "pierre"));
+    groupe.ajouterMembre(membre);
+    groupe.ajouterMembre(autre);
+    groupe.designerPresident(membre);
+    
+    Evenement fete = gest.creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 1);
+    Evenement concert = gest.creerEvenement("concert", "salle", 25,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 1);
+    assertTrue(gest.inscriptionEvenement(fete, membre));
+    assertFalse(gest.inscriptionEvenement(fete, autre));
+    assertTrue(gest.inscriptionEvenement(concert, autre));
+    assertFalse(gest.inscriptionEvenement(concert, membre));
+    assertTrue(membre.ensembleAttentes().contains(concert));
+    
+    Radiation radiation = groupe.radierMembre(membre);
+    assertTrue(radiation.estRetire());
+    assertTrue(radiation.etaitPresident());
+    assertEquals(List.of(fete), radiation.getDesinscriptions());
+    assertEquals(List.of(concert), radiation.getAttentes());
+    assertEquals(List.of(autre), radiation.getPromotions());
+    
+    assertTrue(groupe.president() == null);
+    assertFalse(groupe.ensembleMembres().contains(membre));
+    assertTrue(membre.ensembleEvenements().isEmpty());
+    assertTrue(membre.ensembleAttentes().isEmpty());
+    assertFalse(concert.getListeAttente().contains(membre));
+    assertTrue(fete.getParticipants().contains(autre));
+    assertTrue(autre.ensembleAttentes().isEmpty());
+  }
+  
+  /**
+   * Radier un membre absent de l'association ne touche pas à ses
+   * inscriptions.
+   */
+  @Test
+  public void testRadierMembreNonInscrit() {
+    GestionMembres groupe = new GestionMembres();
+    GestionEvenements gest = new GestionEvenements();
+    InterMembre membre = new Membre();
+    membre.definirInformationPersonnnelle(
+        new InformationPersonnelle("jean", "jacques"));
+    InterMembre autre = new Membre();
+    autre.definirInformationPersonnnelle(
+        new InformationPersonnelle("paul", "pierre"));
+    
+    Evenement fete = gest.creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 1);
+    assertTrue(gest.inscriptionEvenement(fete, membre));
+    assertFalse(gest.inscriptionEvenement(fete, autre));
+    
+    Radiation radiation = groupe.radierMembre(membre);
+    assertFalse(radiation.estRetire());
+    assertFalse(radiation.etaitPresident());
+    assertTrue(radiation.getDesinscriptions().isEmpty());
+    assertTrue(radiation.getAttentes().isEmpty());
+    assertTrue(radiation.getPromotions().isEmpty());
+    
+    assertTrue(fete.getParticipants().contains(membre));
+    assertTrue(membre.ensembleEvenements().contains(fete));
+    assertTrue(fete.getListeAttente().contains(autre));
+    assertFalse(groupe.supprimerMembre(membre));
+    assertTrue(fete.getParticipants().contains(membre));
+  }
+  
+  /**
+   * Recherche de membres par préfixe du nom ou du prénom.
+   */
+  @Test
+  public void testRechercherMembres() {
+    GestionMembres groupe = new GestionMembres();
+    InterMembre nicolas = new Membre();
+    nicolas.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    InterMembre josselin = new Membre();
+    josselin.definirInformationPersonnnelle(
+        new InformationPersonnelle("Scouarnec", "Josselin"));
+    InterMembre gwendolyn = new Membre();
+    gwendolyn.definirInformationPersonnnelle(
+        new InformationPersonnelle("Mandin", "Gwendolyn"));
+    groupe.ajouterMembre(nicolas);
+    groupe.ajouterMembre(josselin);
+    groupe.ajouterMembre(gwendolyn);
+    
+    assertEquals(List.of(nicolas), groupe.rechercherMembres("le b", 10));
+    assertEquals(List.of(nicolas), groupe.rechercherMembres("NIC", 10));
+    assertEquals(List.of(nicolas),
+        groupe.rechercherMembres("  le   bars  ni", 10));
+    assertEquals(List.of(josselin), groupe.rechercherMembres("josselin s", 10));
+    assertTrue(groupe.rechercherMembres("bars", 10).isEmpty());
+    assertEquals(List.of(gwendolyn, josselin),
+        groupe.rechercherMembres("", 2));
+    
+    groupe.supprimerMembre(nicolas);
+    assertTrue(groupe.rechercherMembres("le b", 10).isEmpty());
+  }
+  
+  /**
+   * Recherche approchée : accents, fautes de frappe, adresse modifiée.
+   */
+  @Test
+  public void testRechercherMembresProches() {
+    GestionMembres groupe = new GestionMembres();
+    InterMembre elodie = new Membre();
+    elodie.definirInformationPersonnnelle(
+        new InformationPersonnelle("Lefèvre", "Élodie", "Quimper", 30));
+    InterMembre helene = new Membre();
+    helene.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Hélène", "Brest", 25));
+    groupe.ajouterMembre(elodie);
+    groupe.ajouterMembre(helene);
+    
+    assertEquals(List.of(elodie), groupe.rechercherMembresProches("elodie", 5));
+    assertEquals(List.of(elodie),
+        groupe.rechercherMembresProches("lefevbre", 5));
+    assertEquals(List.of(helene), groupe.rechercherMembresProches("HELENE", 5));
+    assertTrue(groupe.rechercherMembresProches("zzz", 5).isEmpty());
+    
+    /* L'index suit les modifications de l'adresse */
+    assertEquals(List.of(elodie),
+        groupe.rechercherMembresProches("quimper", 5));
+    elodie.getInformationPersonnelle().setAdresse("Morlaix");
+    assertTrue(groupe.rechercherMembresProches("quimper", 5).isEmpty());
+    assertEquals(List.of(elodie),
+        groupe.rechercherMembresProches("morlaix", 5));
+    
+    /* et du nom, sauf s'il est déjà porté par un autre membre */
+    helene.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Hélèna", "Brest", 25));
+    assertEquals(List.of(helene), groupe.rechercherMembres("le bars h", 5));
+    assertTrue(groupe.ensembleMembres().contains(helene));
+    helene.definirInformationPersonnnelle(
+        new InformationPersonnelle("LEFÈVRE", "élodie"));
+    assertEquals("Hélèna", helene.getInformationPersonnelle().getPrenom());
+    
+    groupe.supprimerMembre(elodie);
+    assertTrue(groupe.rechercherMembresProches("morlaix", 5).isEmpty());
+  }
+  
+  /**
+   * Recherche par tranche d'âge et par ville, après modification de l'âge et
+   * de l'adresse.
+   */
+  @Test
+  public void testRechercherMembresAgeAdresse() {
+    GestionMembres groupe = new GestionMembres();
+    InterMembre paul = new Membre();
+    paul.definirInformationPersonnnelle(
+        new InformationPersonnelle("Durand", "Paul", "2 rue de Brest, Morlaix",
+            16));
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne", "Saint-Malo", 18));
+    InterMembre yann = new Membre();
+    yann.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Gall", "Yann", "Brest", 40));
+    groupe.ajouterMembre(paul);
+    groupe.ajouterMembre(anne);
+    groupe.ajouterMembre(yann);
+    
+    assertEquals(List.of(paul, anne), groupe.rechercherMembresAge(16, 18));
+    assertTrue(groupe.rechercherMembresAge(19, 39).isEmpty());
+    assertEquals(Set.of(paul, yann),
+        new HashSet<>(groupe.rechercherMembresAdresse("BREST")));
+    assertEquals(List.of(anne), groupe.rechercherMembresAdresse("saint malo"));
+    assertTrue(groupe.rechercherMembresAdresse("saint brieuc").isEmpty());
+    
+    yann.getInformationPersonnelle().setAge(17);
+    yann.getInformationPersonnelle().setAdresse("Saint-Malo");
+    assertEquals(List.of(paul, yann, anne),
+        groupe.rechercherMembresAge(16, 18));
+    assertEquals(List.of(paul), groupe.rechercherMembresAdresse("brest"));
+    assertEquals(Set.of(anne, yann),
+        new HashSet<>(groupe.rechercherMembresAdresse("Saint-Malo")));
+  }
+  
+  /**
+   * Les membres sont numérotés à partir de 1 à leur ajout, et les numéros
+   * des membres retirés ne sont pas réutilisés.
+   */
+  @Test
+  public void testNumeros() {
+    GestionMembres groupe = new GestionMembres();
+    InterMembre paul = new Membre();
+    paul.definirInformationPersonnnelle(
+        new InformationPersonnelle("Durand", "Paul"));
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne"));
+    InterMembre yann = new Membre();
+    yann.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Gall", "Yann"));
+    
+    assertEquals(0, paul.getNumero());
+    groupe.ajouterMembre(paul);
+    groupe.ajouterMembre(anne);
+    assertEquals(1, paul.getNumero());
+    assertEquals(2, anne.getNumero());
+    assertSame(anne, groupe.membre(2));
+    assertNull(groupe.membre(3));
+    
+    groupe.supprimerMembre(anne);
+    assertNull(groupe.membre(2));
+    groupe.ajouterMembre(yann);
+    assertEquals(3, yann.getNumero());
+    
+    /* Le numéro est conservé par une modification */
+    paul.getInformationPersonnelle().setAge(30);
+    assertSame(paul, groupe.membre(1));
+  }
+  
+  /**
+   * La liste des membres suit l'ordre des ajouts, et reste à jour quand un
+   * membre est supprimé par un autre objet qui porte la même identité.
+   */
+  @Test
+  public void testListeMembres() {
+    GestionMembres groupe = new GestionMembres();
+    List<InterMembre> liste = groupe.listeMembres();
+    InterMembre paul = new Membre();
+    paul.definirInformationPersonnnelle(
+        new InformationPersonnelle("Durand", "Paul"));
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne"));
+    groupe.ajouterMembre(paul);
+    groupe.ajouterMembre(anne);
+    
+    assertEquals(List.of(paul, anne), liste);
+    
+    InterMembre homonyme = new Membre();
+    homonyme.definirInformationPersonnnelle(
+        new InformationPersonnelle("DURAND", "paul"));
+    assertTrue(groupe.radierMembre(homonyme).estRetire());
+    assertEquals(List.of(anne), liste);
+    assertNull(groupe.membre(1));
+    assertTrue(groupe.rechercherMembres("dur", 10).isEmpty());
+  }
+  
+  /**
+   * La suppression d'un membre met le dernier membre de la liste à sa place,
+   * qui peut ensuite être supprimé à son tour.
+   */
+  @Test
+  public void testListeMembresSuppression() {
+    GestionMembres groupe = new GestionMembres();
+    List<InterMembre> liste = groupe.listeMembres();
+    InterMembre[] membres = new InterMembre[4];
+    for (int i = 0; i < membres.length; i++) {
+      membres[i] = new Membre();
+      membres[i].definirInformationPersonnnelle(
+          new InformationPersonnelle("Nom" + i, "Prénom"));
+      groupe.ajouterMembre(membres[i]);
+    }
+    
+    assertTrue(groupe.supprimerMembre(membres[1]));
+    assertEquals(List.of(membres[0], membres[3], membres[2]), liste);
+    
+    assertTrue(groupe.supprimerMembre(membres[3]));
+    assertEquals(List.of(membres[0], membres[2]), liste);
+    
+    assertTrue(groupe.supprimerMembre(membres[2]));
+    assertTrue(groupe.supprimerMembre(membres[0]));
+    assertTrue(liste.isEmpty());
+    assertTrue(groupe.ensembleMembres().isEmpty());
+  }
+  
+  /**
+   * Ajout d'un lot : les doublons du lot et ceux de l'association sont
+   * refusés sans distinction de casse, et seul le premier d'un doublon du lot
+   * est ajouté.
+   */
+  @Test
+  public void testAjouterMembres() {
+    GestionMembres groupe = new GestionMembres();
+    InterMembre paul = new Membre();
+    paul.definirInformationPersonnnelle(
+        new InformationPersonnelle("Durand", "Paul"));
+    groupe.ajouterMembre(paul);
+    
+    InterMembre anne = new Membre();
+    anne.definirInformationPersonnnelle(
+        new InformationPersonnelle("Martin", "Anne"));
+    InterMembre anneBis = new Membre();
+    anneBis.definirInformationPersonnnelle(
+        new InformationPersonnelle("MARTIN", "anne"));
+    InterMembre paulBis = new Membre();
+    paulBis.definirInformationPersonnnelle(
+        new InformationPersonnelle("durand", "PAUL"));
+    
+    List<Resultat<InterMembre>> resultats = groupe
+        .ajouterMembres(Arrays.asList(anne, paulBis, null, anneBis));
+    assertTrue(resultats.get(0).estAccepte());
+    assertEquals(Motif.MEMBRE_EXISTANT, resultats.get(1).getMotif());
+    assertEquals(Motif.PARAMETRES_INVALIDES, resultats.get(2).getMotif());
+    assertEquals(Motif.MEMBRE_EXISTANT, resultats.get(3).getMotif());
+    assertSame(anneBis, resultats.get(3).getElement());
+    assertEquals(List.of(paul, anne), groupe.listeMembres());
+    assertEquals(List.of(anne), groupe.rechercherMembres("mart", 10));
+  }
+  
+  /**
+   * Ajout d'un lot assez grand pour être vérifié en parallèle : chaque
+   * identité n'est ajoutée qu'une fois, dans l'ordre du lot.
+   */
+  @Test
+  public void testAjouterMembresParallele() {
+    GestionMembres groupe = new GestionMembres();
+    List<InterMembre> lot = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      InterMembre membre = new Membre();
+      String nom = "Nom" + i % 5000;
+      membre.definirInformationPersonnnelle(new InformationPersonnelle(
+          i < 5000 ? nom : nom.toUpperCase(), "Prénom"));
+      lot.add(membre);
+    }
+    
+    List<Resultat<InterMembre>> resultats = groupe.ajouterMembres(lot);
+    assertEquals(10000, resultats.size());
+    for (int i = 0; i < 10000; i++) {
+      assertEquals(i < 5000, resultats.get(i).estAccepte());
+    }
+    assertEquals(lot.subList(0, 5000), groupe.listeMembres());
+    assertEquals(5000, groupe.ensembleMembres().size());
+  }
 }
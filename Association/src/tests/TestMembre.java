@@ -1,10 +1,22 @@
 package tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import association.Evenement;
 import association.InformationPersonnelle;
 import association.Membre;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -57,4 +69,229 @@ public class TestMembre {
         "Tatooine");
     assertTrue(this.membre.getInformationPersonnelle().getAge() == 41);
   }
+  
+  /**
+   * Les événements du membre sont rangés par ordre chronologique.
+   */
+  @Test
+  public void testAjouterEvenementOrdreChronologique() {
+    Evenement evt1 = new Evenement("Concert", "Quimper", 12, Month.MAY, 2023,
+        20, 0, 3, 100);
+    Evenement evt2 = new Evenement("Marché", "Brest", 3, Month.MARCH, 2023, 8,
+        0, 4, 100);
+    
+    assertTrue(this.membre.ajouterEvenement(evt1));
+    assertTrue(this.membre.ajouterEvenement(evt2));
+    assertFalse(this.membre.ajouterEvenement(evt2));
+    assertEquals(this.membre.ensembleEvenements().size(), 2);
+    assertTrue(this.membre.ensembleEvenements().get(0) == evt2);
+    assertTrue(this.membre.ensembleEvenements().get(1) == evt1);
+    
+    assertTrue(this.membre.retirerEvenement(evt2));
+    assertFalse(this.membre.retirerEvenement(evt2));
+    assertEquals(this.membre.ensembleEvenements().size(), 1);
+  }
+  
+  /**
+   * Disponibilité du membre par rapport aux événements auxquels il participe.
+   */
+  @Test
+  public void testEstDisponible() {
+    this.membre.ajouterEvenement(new Evenement("Concert", "Quimper", 12,
+        Month.MAY, 2023, 20, 0, 3, 100));
+    this.membre.ajouterEvenement(new Evenement("Marché", "Brest", 13,
+        Month.MAY, 2023, 8, 0, 4, 100));
+    
+    assertTrue(this.membre.estDisponible(new Evenement("Cinéma", "Brest", 12,
+        Month.MAY, 2023, 14, 0, 2, 100)));
+    assertFalse(this.membre.estDisponible(new Evenement("Théâtre", "Brest",
+        12, Month.MAY, 2023, 21, 0, 2, 100)));
+    assertFalse(this.membre.estDisponible(new Evenement("Brocante", "Brest",
+        13, Month.MAY, 2023, 6, 0, 3, 100)));
+    assertTrue(this.membre.estDisponible(new Evenement("Randonnée", "Brest",
+        13, Month.MAY, 2023, 14, 0, 3, 100)));
+  }
+  
+  /**
+   * La disponibilité reste juste après de nombreux ajouts et retraits, qui
+   * rééquilibrent la chronologie : un long événement ancien bloque les
+   * créneaux qu'il couvre même quand ses voisins sont retirés.
+   */
+  @Test
+  public void testEstDisponibleApresRetraits() {
+    Evenement stage = new Evenement("Stage", "Brest",
+        LocalDateTime.of(2023, Month.MAY, 1, 0, 0), 24 * 10, 100, null);
+    this.membre.ajouterEvenement(stage);
+    
+    Evenement[] courts = new Evenement[200];
+    for (int i = 0; i < courts.length; i++) {
+      courts[i] = new Evenement("Atelier " + i, "Quimper",
+          LocalDateTime.of(2023, Month.JUNE, 1, 0, 0).plusHours(3 * i), 2,
+          100, null);
+      assertTrue(this.membre.ajouterEvenement(courts[i]));
+    }
+    for (int i = 0; i < courts.length; i += 2) {
+      assertTrue(this.membre.retirerEvenement(courts[i]));
+    }
+    
+    assertEquals(101, this.membre.ensembleEvenements().size());
+    assertTrue(this.membre.ensembleEvenements().get(0) == stage);
+    assertTrue(this.membre.ensembleEvenements().get(1) == courts[1]);
+    assertFalse(this.membre.estDisponible(new Evenement("Concert", "Brest",
+        LocalDateTime.of(2023, Month.MAY, 8, 20, 0), 2, 100, null)));
+    assertTrue(this.membre.estDisponible(courts[0]));
+    assertFalse(this.membre.estDisponible(courts[1].clone()));
+  }
+  
+  /**
+   * Les événements à venir sont ceux qui n'ont pas commencé à la date de
+   * l'horloge du membre.
+   */
+  @Test
+  public void testEvenementsAvenir() {
+    Membre mbr = new Membre(Clock.fixed(LocalDateTime
+        .of(2022, Month.SEPTEMBER, 24, 10, 0).toInstant(ZoneOffset.UTC),
+        ZoneOffset.UTC));
+    Evenement passe =
+        new Evenement("brocante", "quimper", 24, Month.SEPTEMBER, 2022, 9, 0,
+            2, 10);
+    Evenement enCours =
+        new Evenement("concert", "brest", 24, Month.SEPTEMBER, 2022, 10, 0,
+            2, 10);
+    Evenement avenir =
+        new Evenement("fête", "quimper", 25, Month.SEPTEMBER, 2022, 9, 0, 2,
+            10);
+    mbr.ajouterEvenement(avenir);
+    mbr.ajouterEvenement(passe);
+    mbr.ajouterEvenement(enCours);
+    
+    assertEquals(List.of(avenir), mbr.ensembleEvenementsAvenir());
+    assertEquals(List.of(avenir), mbr.clone().ensembleEvenementsAvenir());
+  }
+  
+  /**
+   * Horloge dont la date peut être avancée.
+   */
+  private static class HorlogeReglable extends Clock {
+    /**
+     * La date courante.
+     */
+    private Instant instant;
+    
+    /**
+     * Crée une horloge arrêtée à une date.
+     *
+     * @param date la date de départ
+     */
+    private HorlogeReglable(LocalDateTime date) {
+      this.regler(date);
+    }
+    
+    /**
+     * Change la date de l'horloge.
+     *
+     * @param date la nouvelle date
+     */
+    private void regler(LocalDateTime date) {
+      this.instant = date.toInstant(ZoneOffset.UTC);
+    }
+    
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+    
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+    
+    @Override
+    public Instant instant() {
+      return this.instant;
+    }
+  }
+  
+  /**
+   * Comme ceux du gestionnaire d'événements, les événements à venir du
+   * membre sont une seule vue dont sortent les événements qui ont commencé.
+   */
+  @Test
+  public void testEvenementsAvenirExpiration() {
+    HorlogeReglable horloge =
+        new HorlogeReglable(LocalDateTime.of(2022, Month.SEPTEMBER, 24, 8, 0));
+    Membre mbr = new Membre(horloge);
+    Evenement matin = new Evenement("brocante", "quimper", 24,
+        Month.SEPTEMBER, 2022, 9, 0, 2, 10);
+    Evenement soir = new Evenement("concert", "brest", 24, Month.SEPTEMBER,
+        2022, 20, 0, 2, 10);
+    mbr.ajouterEvenement(matin);
+    mbr.ajouterEvenement(soir);
+    
+    List<Evenement> avenir = mbr.ensembleEvenementsAvenir();
+    assertEquals(List.of(matin, soir), avenir);
+    
+    horloge.regler(LocalDateTime.of(2022, Month.SEPTEMBER, 24, 9, 0));
+    assertSame(avenir, mbr.ensembleEvenementsAvenir());
+    assertEquals(List.of(soir), avenir);
+    
+    /* Les événements commencés ne redeviennent pas à venir */
+    horloge.regler(LocalDateTime.of(2022, Month.SEPTEMBER, 24, 7, 0));
+    assertEquals(List.of(soir), mbr.ensembleEvenementsAvenir());
+  }
+  
+  /**
+   * Recherche des événements du membre qui commencent dans une période ou un
+   * jour.
+   */
+  @Test
+  public void testEvenementsEntre() {
+    Evenement matin =
+        new Evenement("brocante", "quimper", 24, Month.SEPTEMBER, 2022, 9, 0,
+            2, 10);
+    Evenement soir =
+        new Evenement("concert", "brest", 24, Month.SEPTEMBER, 2022, 20, 0, 2,
+            10);
+    Evenement lendemain =
+        new Evenement("fête", "quimper", 25, Month.SEPTEMBER, 2022, 0, 0, 2,
+            10);
+    this.membre.ajouterEvenement(lendemain);
+    this.membre.ajouterEvenement(soir);
+    this.membre.ajouterEvenement(matin);
+    
+    assertEquals(List.of(matin, soir), this.membre
+        .evenementsDuJour(LocalDate.of(2022, Month.SEPTEMBER, 24)));
+    assertEquals(List.of(soir, lendemain),
+        this.membre.evenementsEntre(
+            LocalDateTime.of(2022, Month.SEPTEMBER, 24, 9, 1),
+            LocalDateTime.of(2022, Month.SEPTEMBER, 25, 0, 1)));
+  }
+  
+  /**
+   * Deux membres sont égaux s'ils ont le même nom et le même prénom sans
+   * distinction de casse, y compris après un changement d'informations.
+   */
+  @Test
+  public void testEgaliteSansCasse() {
+    this.membre.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Élodie"));
+    Membre autre = new Membre();
+    autre.definirInformationPersonnnelle(
+        new InformationPersonnelle("LE BARS", "éLODIE", "Brest", 20));
+    assertEquals(this.membre, autre);
+    assertEquals(this.membre.hashCode(), autre.hashCode());
+    
+    /* Le nom et le prénom ne se confondent pas */
+    autre.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars\0Élodie", ""));
+    assertNotEquals(this.membre, autre);
+    
+    autre.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Élodi"));
+    assertNotEquals(this.membre, autre);
+    autre.definirInformationPersonnnelle(
+        new InformationPersonnelle("le bars", "élodie"));
+    assertEquals(this.membre, autre);
+    assertEquals(this.membre.hashCode(), autre.hashCode());
+  }
 }
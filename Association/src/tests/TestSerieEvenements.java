@@ -0,0 +1,262 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import association.Evenement;
+import association.GestionEvenements;
+import association.InformationPersonnelle;
+import association.Membre;
+import association.SerieEvenements;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests JUnit de la classe {@link association.SerieEvenements}.
+ *
+ * @author Josselin Scouarnec
+ * @see association.SerieEvenements
+ */
+public class TestSerieEvenements {
+  
+  /**
+   * Gestionnaire d'événements pour les tests.
+   */
+  private GestionEvenements gest;
+  
+  /**
+   * Une série hebdomadaire : tous les mardis à 18h pendant 2 heures, du 6
+   * septembre au 27 décembre 2022.
+   */
+  private SerieEvenements serie;
+  
+  /**
+   * Crée la série hebdomadaire avant chaque test.
+   *
+   * @throws Exception ne peut pas être levée ici
+   */
+  @BeforeEach
+  public void setUp() throws Exception {
+    this.gest = new GestionEvenements();
+    this.serie = this.gest.creerSerie("atelier", "salle",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 6, 18, 0), 7,
+        LocalDate.of(2022, Month.DECEMBER, 27), 2, 10);
+  }
+  
+  /**
+   * Nombre et dates des occurrences.
+   */
+  @Test
+  public void testOccurrences() {
+    assertNotNull(this.serie);
+    assertEquals(17, this.serie.nombreOccurrences());
+    assertEquals(LocalDateTime.of(2022, Month.DECEMBER, 27, 18, 0),
+        this.serie.dateOccurrence(16));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> this.serie.dateOccurrence(17));
+    assertTrue(this.serie.occurrencesCreees().isEmpty());
+  }
+  
+  /**
+   * Les occurrences d'une période sont créées à la demande, mais ne sont
+   * conservées qu'à leur première inscription.
+   */
+  @Test
+  public void testOccurrencesPeriode() {
+    List<Evenement> occurrences = this.serie.occurrences(
+        LocalDateTime.of(2022, Month.SEPTEMBER, 13, 19, 0),
+        LocalDateTime.of(2022, Month.SEPTEMBER, 27, 18, 0));
+    assertEquals(3, occurrences.size());
+    assertEquals(LocalDateTime.of(2022, Month.SEPTEMBER, 13, 18, 0),
+        occurrences.get(0).getDate());
+    assertTrue(this.serie.occurrencesCreees().isEmpty());
+    assertEquals(17, this.gest.evenementsEntre(
+        LocalDateTime.of(2022, Month.JANUARY, 1, 0, 0),
+        LocalDateTime.of(2023, Month.JANUARY, 1, 0, 0)).size());
+    assertTrue(this.serie.occurrencesCreees().isEmpty());
+    
+    Membre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    assertTrue(this.gest.inscriptionEvenement(occurrences.get(1), mbr));
+    assertEquals(List.of(occurrences.get(1)),
+        this.serie.occurrencesCreees());
+    assertSame(occurrences.get(1), this.serie.occurrence(2));
+    
+    assertTrue(this.gest.annulerEvenement(occurrences.get(1), mbr));
+    assertTrue(this.serie.occurrencesCreees().isEmpty());
+  }
+  
+  /**
+   * Deux occurrences de même numéro obtenues avant d'être conservées
+   * désignent le même événement pour les inscriptions.
+   */
+  @Test
+  public void testOccurrencesMemeNumero() {
+    Evenement premiere = this.serie.occurrence(4);
+    Evenement seconde = this.serie.occurrence(4);
+    Membre mbr1 = new Membre();
+    mbr1.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    Membre mbr2 = new Membre();
+    mbr2.definirInformationPersonnnelle(
+        new InformationPersonnelle("Mandin", "Gwendolyn"));
+    
+    assertTrue(this.gest.inscriptionEvenement(premiere, mbr1));
+    assertTrue(this.gest.inscriptionEvenement(seconde, mbr2));
+    assertEquals(1, this.serie.occurrencesCreees().size());
+    assertEquals(2, premiere.getParticipants().size());
+    assertTrue(this.gest.annulerEvenement(seconde, mbr1));
+    assertEquals(1, premiere.getParticipants().size());
+  }
+  
+  /**
+   * Un événement ne peut pas prendre le nom d'une série, ni une série celui
+   * d'un événement.
+   */
+  @Test
+  public void testNomSerieEtEvenement() {
+    assertNull(this.gest.creerEvenement("atelier", "ailleurs", 1,
+        Month.OCTOBER, 2022, 10, 0, 2, 10));
+    Evenement evt = this.gest.creerEvenement("concert", "ailleurs", 1,
+        Month.OCTOBER, 2022, 10, 0, 2, 10);
+    assertFalse(evt.setNom("atelier"));
+    assertEquals("Concert", evt.getNom());
+    assertNull(this.gest.creerSerie("concert", "autre salle",
+        LocalDateTime.of(2022, Month.OCTOBER, 2, 10, 0), 7,
+        LocalDate.of(2022, Month.DECEMBER, 1), 2, 10));
+  }
+  
+  /**
+   * Inscription d'un membre à une occurrence.
+   */
+  @Test
+  public void testInscriptionOccurrence() {
+    Membre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    Evenement occurrence = this.serie.occurrence(3);
+    
+    assertTrue(this.gest.inscriptionEvenement(occurrence, mbr));
+    assertTrue(mbr.ensembleEvenements().contains(occurrence));
+    assertFalse(mbr.estDisponible(new Evenement("concert", "ailleurs",
+        occurrence.getDate().plusHours(1), 1, 10, null)));
+    
+    this.gest.supprimerSerie(this.serie);
+    assertTrue(mbr.ensembleEvenements().isEmpty());
+    assertTrue(this.gest.ensembleSeries().isEmpty());
+  }
+  
+  /**
+   * L'horaire et le lieu d'une occurrence ne peuvent pas être modifiés ; un
+   * changement de nom la replace dans la chronologie de ses participants, et
+   * l'annulation l'en retire.
+   */
+  @Test
+  public void testModificationOccurrence() {
+    Membre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    Evenement occurrence = this.serie.occurrence(0);
+    assertTrue(this.gest.inscriptionEvenement(occurrence, mbr));
+    
+    assertThrows(UnsupportedOperationException.class,
+        () -> occurrence.setDate(occurrence.getDate().plusDays(1)));
+    assertThrows(UnsupportedOperationException.class,
+        () -> occurrence.setDuree(5));
+    assertThrows(UnsupportedOperationException.class,
+        () -> occurrence.setLieu("gymnase"));
+    assertTrue(occurrence.estOccurrence());
+    assertTrue(mbr.ensembleEvenements().contains(occurrence));
+    
+    occurrence.setNom("atelier spécial");
+    assertTrue(mbr.ensembleEvenements().contains(occurrence));
+    
+    assertTrue(this.gest.annulerEvenement(occurrence, mbr));
+    assertTrue(mbr.ensembleEvenements().isEmpty());
+    assertTrue(mbr.estDisponible(this.serie.occurrence(0)));
+  }
+  
+  /**
+   * Un événement sur une occurrence de la série est refusé, un événement
+   * entre deux occurrences est accepté.
+   */
+  @Test
+  public void testChevauchementEvenement() {
+    assertNull(this.gest.creerEvenement("concert", "salle", 20,
+        Month.SEPTEMBER, 2022, 19, 30, 2, 10));
+    assertNotNull(this.gest.creerEvenement("concert", "salle", 21,
+        Month.SEPTEMBER, 2022, 19, 30, 2, 10));
+    assertNotNull(this.gest.creerEvenement("fête", "autre salle", 20,
+        Month.SEPTEMBER, 2022, 19, 30, 2, 10));
+  }
+  
+  /**
+   * Une série qui chevauche un événement ou une autre série est refusée.
+   */
+  @Test
+  public void testChevauchementSerie() {
+    this.gest.creerEvenement("concert", "salle", 21, Month.SEPTEMBER, 2022,
+        19, 30, 2, 10);
+    
+    /* Tous les 2 jours : tombe sur le mardi 20 septembre */
+    assertNull(this.gest.creerSerie("yoga", "salle",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 8, 17, 0), 2,
+        LocalDate.of(2022, Month.SEPTEMBER, 20), 2, 10));
+    
+    /* Tous les mercredis : tombe sur le concert */
+    assertNull(this.gest.creerSerie("yoga", "salle",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 7, 20, 0), 7,
+        LocalDate.of(2022, Month.OCTOBER, 26), 1, 10));
+    
+    /* Tous les jeudis */
+    assertNotNull(this.gest.creerSerie("yoga", "salle",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 8, 20, 0), 7,
+        LocalDate.of(2022, Month.OCTOBER, 27), 1, 10));
+    assertNull(this.gest.creerSerie("atelier", "ailleurs",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 8, 20, 0), 7,
+        LocalDate.of(2022, Month.OCTOBER, 27), 1, 10));
+    assertEquals(2, this.gest.ensembleSeries().size());
+  }
+  
+  /**
+   * Paramètres invalides : durée supérieure à la période, fin avant le
+   * début.
+   */
+  @Test
+  public void testSerieInvalide() {
+    assertNull(this.gest.creerSerie("yoga", "gymnase",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 8, 20, 0), 1,
+        LocalDate.of(2022, Month.OCTOBER, 27), 24, 10));
+    assertNull(this.gest.creerSerie("yoga", "gymnase",
+        LocalDateTime.of(2022, Month.SEPTEMBER, 8, 20, 0), 7,
+        LocalDate.of(2022, Month.SEPTEMBER, 7), 1, 10));
+  }
+  
+  /**
+   * Les créneaux et les lieux libres tiennent compte des séries.
+   */
+  @Test
+  public void testCreneauxEtLieuxLibres() {
+    List<LocalDateTime> creneaux = this.gest.creneauxLibres("salle", 2,
+        LocalDateTime.of(2022, Month.SEPTEMBER, 13, 15, 0),
+        LocalDateTime.of(2022, Month.SEPTEMBER, 13, 23, 0), 5);
+    assertEquals(List.of(LocalDateTime.of(2022, Month.SEPTEMBER, 13, 15, 0),
+        LocalDateTime.of(2022, Month.SEPTEMBER, 13, 20, 1)), creneaux);
+    
+    assertTrue(this.gest
+        .lieuxLibres(LocalDateTime.of(2022, Month.SEPTEMBER, 13, 19, 0), 1)
+        .isEmpty());
+    assertEquals(List.of("Salle"), this.gest
+        .lieuxLibres(LocalDateTime.of(2022, Month.SEPTEMBER, 14, 19, 0), 1));
+  }
+}
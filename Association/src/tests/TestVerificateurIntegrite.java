@@ -0,0 +1,158 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import association.Anomalie;
+import association.Evenement;
+import association.GestionEvenements;
+import association.GestionMembres;
+import association.InformationPersonnelle;
+import association.Membre;
+import association.VerificateurIntegrite;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests JUnit de la classe {@link association.VerificateurIntegrite}.
+ *
+ * @author Josselin Scouarnec
+ * @see association.VerificateurIntegrite
+ */
+public class TestVerificateurIntegrite {
+  
+  /**
+   * Gestionnaire d'événements pour les tests.
+   */
+  private GestionEvenements evenements;
+  
+  /**
+   * Gestionnaire de membres pour les tests.
+   */
+  private GestionMembres membres;
+  
+  /**
+   * Vérificateur des deux gestionnaires.
+   */
+  private VerificateurIntegrite verificateur;
+  
+  /**
+   * Initialise les gestionnaires avant chaque test.
+   *
+   * @throws Exception ne peut pas être levée ici
+   */
+  @BeforeEach
+  public void setUp() throws Exception {
+    this.evenements = new GestionEvenements();
+    this.membres = new GestionMembres();
+    this.verificateur =
+        new VerificateurIntegrite(this.evenements, this.membres);
+  }
+  
+  /**
+   * Des données cohérentes ne présentent aucune anomalie.
+   */
+  @Test
+  public void testDonneesCoherentes() {
+    Membre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    this.membres.ajouterMembre(mbr);
+    Evenement evt = this.evenements.creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 10);
+    this.evenements.inscriptionEvenement(evt, mbr);
+    
+    assertTrue(this.verificateur.verifier(true).isEmpty());
+  }
+  
+  /**
+   * Chevauchement introduit par une modification de date : signalé mais non
+   * réparable.
+   */
+  @Test
+  public void testChevauchement() {
+    this.evenements.creerEvenement("fête", "salle", 24, Month.SEPTEMBER, 2022,
+        8, 30, 2, 10);
+    Evenement evt = this.evenements.creerEvenement("concert", "salle", 25,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 10);
+    evt.setDate(LocalDateTime.of(2022, Month.SEPTEMBER, 24, 9, 0));
+    
+    List<Anomalie> anomalies = this.verificateur.verifier(true);
+    assertEquals(1, anomalies.size());
+    assertEquals(Anomalie.Type.CHEVAUCHEMENT, anomalies.get(0).getType());
+    assertFalse(anomalies.get(0).estReparable());
+    assertFalse(anomalies.get(0).estReparee());
+  }
+  
+  /**
+   * Nombre maximum de participants dépassé après sa diminution.
+   */
+  @Test
+  public void testNombreMaxDepasse() {
+    Evenement evt = this.evenements.creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 10);
+    for (String prenom : new String[] {"Nicolas", "Josselin", "Gwendolyn"}) {
+      Membre mbr = new Membre();
+      mbr.definirInformationPersonnnelle(
+          new InformationPersonnelle("Test", prenom));
+      this.membres.ajouterMembre(mbr);
+      this.evenements.inscriptionEvenement(evt, mbr);
+    }
+    evt.setNbParticipantsMax(1);
+    
+    List<Anomalie> anomalies = this.verificateur.verifier(true);
+    assertEquals(1, anomalies.size());
+    assertEquals(Anomalie.Type.NOMBRE_MAX_DEPASSE, anomalies.get(0).getType());
+    assertTrue(anomalies.get(0).estReparee());
+    assertEquals(1, evt.getParticipants().size());
+    assertTrue(this.verificateur.verifier(false).isEmpty());
+  }
+  
+  /**
+   * Événement présent chez le membre mais pas l'inverse.
+   */
+  @Test
+  public void testInscriptionAsymetrique() {
+    Membre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    this.membres.ajouterMembre(mbr);
+    Evenement evt = this.evenements.creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 10);
+    mbr.ajouterEvenement(evt);
+    
+    List<Anomalie> anomalies = this.verificateur.verifier(false);
+    assertEquals(1, anomalies.size());
+    assertEquals(Anomalie.Type.INSCRIPTION_ASYMETRIQUE,
+        anomalies.get(0).getType());
+    assertTrue(mbr.ensembleEvenements().contains(evt));
+    
+    this.verificateur.verifier(true);
+    assertFalse(mbr.ensembleEvenements().contains(evt));
+    assertTrue(this.verificateur.verifier(false).isEmpty());
+  }
+  
+  /**
+   * Participant qui n'est pas membre de l'association.
+   */
+  @Test
+  public void testParticipantInconnu() {
+    Membre mbr = new Membre();
+    mbr.definirInformationPersonnnelle(
+        new InformationPersonnelle("Le Bars", "Nicolas"));
+    Evenement evt = this.evenements.creerEvenement("fête", "salle", 24,
+        Month.SEPTEMBER, 2022, 8, 30, 2, 10);
+    this.evenements.inscriptionEvenement(evt, mbr);
+    
+    List<Anomalie> anomalies = this.verificateur.verifier(true);
+    assertEquals(1, anomalies.size());
+    assertEquals(Anomalie.Type.PARTICIPANT_INCONNU,
+        anomalies.get(0).getType());
+    assertFalse(evt.getParticipants().contains(mbr));
+    assertFalse(mbr.ensembleEvenements().contains(evt));
+  }
+}
@@ -0,0 +1,90 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.helper.ListeObservable;
+
+/**
+ * Tests JUnit de la classe {@link ui.helper.ListeObservable}.
+ *
+ * @author Nicolas Le Bars
+ * @see ui.helper.ListeObservable
+ */
+public class TestListeObservable {
+  
+  /**
+   * La liste source, comme une liste du domaine.
+   */
+  private List<String> source;
+  
+  /**
+   * La vue sur la liste source.
+   */
+  private ListeObservable<String> vue;
+  
+  /**
+   * Crée une vue sur une source de deux éléments.
+   *
+   * @throws Exception not specified
+   */
+  @BeforeEach
+  public void setUp() throws Exception {
+    this.source = new ArrayList<>(List.of("a", "b"));
+    this.vue = ListeObservable.de(this.source);
+  }
+  
+  /**
+   * Un brouillon dont l'élément vient d'être ajouté à la source devient la
+   * ligne de la source, comme lors de l'ajout d'un membre ou d'un événement.
+   */
+  @Test
+  public void testAjoutDepuisBrouillon() {
+    this.vue.add("brouillon");
+    assertTrue(this.vue.estBrouillon(2));
+    
+    String element = new String("c");
+    this.source.add(element);
+    assertEquals("brouillon", this.vue.set(2, element));
+    
+    assertEquals(3, this.vue.size());
+    assertSame(element, this.vue.get(2));
+    assertFalse(this.vue.estBrouillon(2));
+  }
+  
+  /**
+   * Un brouillon suivi d'un autre devient la ligne de la source, et l'autre
+   * brouillon reste en fin de vue.
+   */
+  @Test
+  public void testAjoutDepuisPremierBrouillon() {
+    this.vue.add("premier");
+    this.vue.add("second");
+    
+    String element = new String("c");
+    this.source.add(element);
+    assertEquals("premier", this.vue.set(2, element));
+    
+    assertEquals(List.of("a", "b", "c", "second"), this.vue);
+    assertTrue(this.vue.estBrouillon(3));
+  }
+  
+  /**
+   * Un brouillon qui n'est pas encore dans la source est simplement
+   * remplacé.
+   */
+  @Test
+  public void testRemplacementBrouillon() {
+    this.vue.add("brouillon");
+    assertEquals("brouillon", this.vue.set(2, "autre"));
+    
+    assertEquals(List.of("a", "b", "autre"), this.vue);
+    assertTrue(this.vue.estBrouillon(2));
+  }
+}
@@ -3,18 +3,20 @@ package ui;
 import association.Evenement;
 import association.GestionAssociation;
 import association.InformationPersonnelle;
+import association.InterGestionAssociation;
+import association.InterMembre;
 import association.Membre;
+import association.Radiation;
 import java.io.File;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.fxml.FXML;
@@ -34,6 +36,7 @@ import javafx.stage.FileChooser;
 import javafx.stage.FileChooser.ExtensionFilter;
 import javafx.stage.Stage;
 import ui.helper.DatePickerTableCell;
+import ui.helper.ListeObservable;
 import ui.helper.SpinnerTableCell;
 
 /**
@@ -118,6 +121,11 @@ public class Controleur {
   private static final Evenement DEFAULT_EVENEMENT =
       new Evenement("", "", LocalDate.now().atStartOfDay(), 0, -1, null);
   
+  /**
+   * Nombre maximum de résultats affichés par une recherche.
+   */
+  private static final int MAX_RESULTATS = 200;
+  
   private GestionAssociation association;
   private FileChooser fileChooser;
   
@@ -129,12 +137,14 @@ public class Controleur {
     System.out.println("Initialisation de l'interface");
     
     this.association = new GestionAssociation();
+    this.association.ajouterObservateur(this::afficherAssociation);
     this.fileChooser = new FileChooser();
     this.fileChooser.getExtensionFilters()
         .add(new ExtensionFilter("Serialized Association", "*.aser"));
     
     initMembersList();
     initEventList();
+    this.afficherAssociation(this.association);
     
     System.out.println("Interface initialisée");
   }
@@ -205,6 +215,9 @@ public class Controleur {
           
           if (!membreInfo.getPrenom().isEmpty()) {
             if (this.association.gestionnaireMembre().ajouterMembre(membre)) {
+              // le brouillon devient la ligne du membre dans l'association
+              this.tvMembersList.getItems()
+                  .set(cell.getTablePosition().getRow(), membre);
               // contourne le problème de onClickMembersList qui n'est pas
               // déclenché lorsqu'une cellule est éditée
               this.tcMembersListLastName.setEditable(false);
@@ -241,6 +254,9 @@ public class Controleur {
           
           if (!membreInfo.getNom().isEmpty()) {
             if (this.association.gestionnaireMembre().ajouterMembre(membre)) {
+              // le brouillon devient la ligne du membre dans l'association
+              this.tvMembersList.getItems()
+                  .set(cell.getTablePosition().getRow(), membre);
               // contourne le problème de onClickMembersList qui n'est pas
               // déclenché lorsqu'une cellule est éditée
               this.tcMembersListFirstName.setEditable(false);
@@ -346,7 +362,19 @@ public class Controleur {
           Evenement evenement =
               this.tvEventList.getItems().get(cell.getTablePosition().getRow());
           
-          evenement.setNom(value);
+          if (!evenement.setNom(value)) {
+            this.lbMessage
+                .setText("Un autre événement ou une série porte déjà ce nom");
+            this.tvEventList.refresh();
+            return;
+          }
+          
+          /* Un brouillon n'a pas de gestionnaire qui refuse le nom */
+          Evenement homonyme =
+              this.association.gestionnaireEvenements().trouverEvenement(value);
+          if (homonyme != null && homonyme != evenement) {
+            this.lbMessage.setText("Un autre événement porte déjà ce nom");
+          }
           
           if (!cell.getOldValue().equals(DEFAULT_EVENEMENT.getNom())) {
             tryCreateEvent.accept(evenement, cell.getTablePosition().getRow());
@@ -365,6 +393,11 @@ public class Controleur {
           Evenement evenement =
               this.tvEventList.getItems().get(cell.getTablePosition().getRow());
           
+          if (this.occurrenceFigee(evenement)) {
+            this.tvEventList.refresh();
+            return;
+          }
+          
           evenement.setLieu(value);
           
           if (!cell.getOldValue().equals(DEFAULT_EVENEMENT.getLieu())) {
@@ -384,6 +417,11 @@ public class Controleur {
           Evenement evenement =
               this.tvEventList.getItems().get(cell.getTablePosition().getRow());
           
+          if (this.occurrenceFigee(evenement)) {
+            this.tvEventList.refresh();
+            return;
+          }
+          
           evenement
               .setDate(value.atTime(cell.getRowValue().getDate().getHour(), 0));
           
@@ -404,6 +442,11 @@ public class Controleur {
           Evenement evenement =
               this.tvEventList.getItems().get(cell.getTablePosition().getRow());
           
+          if (this.occurrenceFigee(evenement)) {
+            this.tvEventList.refresh();
+            return;
+          }
+          
           evenement.setDate(cell.getRowValue().getDate().withHour(value));
           
           if (cell.getOldValue() != DEFAULT_EVENEMENT.getDate().getHour()) {
@@ -423,6 +466,11 @@ public class Controleur {
           Evenement evenement =
               this.tvEventList.getItems().get(cell.getTablePosition().getRow());
           
+          if (this.occurrenceFigee(evenement)) {
+            this.tvEventList.refresh();
+            return;
+          }
+          
           evenement.setDuree(value);
           
           if (cell.getOldValue() != DEFAULT_EVENEMENT.getDuree()) {
@@ -463,21 +511,57 @@ public class Controleur {
   public void onActionAssociationNew(ActionEvent event) {
     this.tvMembersList.getSelectionModel().select(-1);
     this.tvEventList.getSelectionModel().select(-1);
-    this.tvMembersList.getItems().clear();
-    this.tvEventList.getItems().clear();
-    this.tvMembersList.refresh();
-    this.tvEventList.refresh();
-    this.association.gestionnaireEvenements().ensembleEvenements().stream()
-        .toList().forEach(evt -> this.association.gestionnaireEvenements()
-            .supprimerEvenement(evt));
-    this.association.gestionnaireMembre().ensembleMembres().stream().toList()
-        .forEach(
-            mem -> this.association.gestionnaireMembre().supprimerMembre(mem));
+    this.association.reinitialiser();
     this.miAssociationSave.setDisable(true);
     this.lbMessage
         .setText("Les informations de l'association ont été supprimées");
   }
   
+  /**
+   * Affiche les membres et les événements d'une association dont les données
+   * viennent d'être remplacées.
+   *
+   * @param association l'association à afficher
+   */
+  private void afficherAssociation(InterGestionAssociation association) {
+    this.tvMembersList.edit(-1, null);
+    this.tvMembersList.setItems(ListeObservable.de(
+        association.gestionnaireMembre().listeMembres(), mem -> (Membre) mem));
+    this.tvEventList.edit(-1, null);
+    this.tvEventList.setItems(ListeObservable
+        .de(association.gestionnaireEvenements().ensembleEvenements()));
+  }
+  
+  /**
+   * Teste si l'horaire et le lieu d'un événement sont figés parce qu'il est
+   * l'occurrence d'une série, et le signale le cas échéant.
+   *
+   * @param evenement l'événement à modifier
+   * @return <code>true</code> si l'horaire et le lieu ne sont pas modifiables
+   */
+  private boolean occurrenceFigee(Evenement evenement) {
+    if (evenement.estOccurrence()) {
+      this.lbMessage.setText(
+          "L'horaire et le lieu d'une occurrence sont ceux de sa série");
+      return true;
+    }
+    
+    return false;
+  }
+  
+  /**
+   * Renvoie les lignes d'une table. Les tables affichent toujours une
+   * {@link ListeObservable} sur les données de l'association.
+   *
+   * @param <E> le type des lignes
+   * @param table la table
+   * @return les lignes de la table
+   */
+  @SuppressWarnings("unchecked")
+  private static <E> ListeObservable<E> lignes(TableView<E> table) {
+    return (ListeObservable<E>) table.getItems();
+  }
+  
   /**
    * Charge les informations d'une association à partir d'un fichier.
    *
@@ -492,16 +576,14 @@ public class Controleur {
     try {
       if (chosenFile != null) {
         this.association.chargerDonnees(chosenFile.getAbsolutePath());
-        this.tvMembersList.edit(-1, null);
-        this.tvMembersList.setItems(FXCollections.observableList(
-            this.association.gestionnaireMembre().ensembleMembres().stream()
-                .map(mem -> (Membre) mem).collect(Collectors.toList())));
-        this.tvEventList.edit(-1, null);
-        this.tvEventList.setItems(FXCollections
-            .observableList(this.association.gestionnaireEvenements()
-                .ensembleEvenements().stream().collect(Collectors.toList())));
-        this.lbMembersList
-            .setText("Les informations de l'association ont été chargées");
+        int anomalies = this.association.anomaliesChargement().size();
+        if (anomalies == 0) {
+          this.lbMembersList
+              .setText("Les informations de l'association ont été chargées");
+        } else {
+          this.lbMembersList.setText("Informations chargées, " + anomalies
+              + " incohérence(s) corrigée(s)");
+        }
       } else {
         this.lbMembersList.setText("Aucun fichier de sélectionné...");
       }
@@ -583,7 +665,7 @@ public class Controleur {
     this.miMemberShowEvents.setDisable(
         !(memberIsValid && membre.ensembleEvenements().size() != 0));
     this.miMemberShowFutureEvents.setDisable(
-        !(memberIsValid && membre.ensembleEvenementsAvenir().size() != 0));
+        !(memberIsValid && !membre.ensembleEvenementsAvenir().isEmpty()));
     
     Evenement evenement =
         this.tvEventList.getSelectionModel().getSelectedItem();
@@ -644,12 +726,14 @@ public class Controleur {
     int row = this.tvMembersList.getSelectionModel().getSelectedIndex();
     Membre membre = this.tvMembersList.getItems().get(row);
     
-    this.association.gestionnaireEvenements().ensembleEvenements().stream()
-        .forEach(evt -> this.association.gestionnaireEvenements()
-            .annulerEvenement(evt, membre));
-    this.tvMembersList.getItems().remove(row);
+    Radiation radiation =
+        this.association.gestionnaireMembre().radierMembre(membre);
+    lignes(this.tvMembersList).retirer(row, membre);
+    this.tvEventList.refresh();
     this.miAssociationSave.setDisable(false);
-    this.lbMessage.setText("Le membre a été retiré de l'association");
+    this.lbMessage.setText("Le membre a été retiré de l'association ("
+        + radiation.getDesinscriptions().size()
+        + " inscription(s) annulée(s))");
     
     // FIXME
     if (this.tvMembersList.getItems().size() == 0) {
@@ -682,8 +766,7 @@ public class Controleur {
     this.lbEventList.setText(
         "les événements de " + membre.getInformationPersonnelle().getNom() + " "
             + membre.getInformationPersonnelle().getPrenom());
-    this.tvEventList.setItems(FXCollections.observableList(
-        membre.ensembleEvenements().stream().collect(Collectors.toList())));
+    this.tvEventList.setItems(ListeObservable.de(membre.ensembleEvenements()));
     this.lbMessage.setText("Les événements du membre ont été affichés");
   }
   
@@ -699,8 +782,8 @@ public class Controleur {
     this.lbEventList.setText("les événements futurs de "
         + membre.getInformationPersonnelle().getNom() + " "
         + membre.getInformationPersonnelle().getPrenom());
-    this.tvEventList.setItems(FXCollections
-        .observableList(membre.ensembleEvenementsAvenir().stream().toList()));
+    this.tvEventList
+        .setItems(ListeObservable.de(membre.ensembleEvenementsAvenir()));
     this.lbMessage.setText("Les événements du membre ont été affichés");
   }
   
@@ -712,9 +795,9 @@ public class Controleur {
   @FXML
   public void actionMembersListReset(ActionEvent event) {
     this.lbMembersList.setText("les membres de l'asscociation");
-    this.tvMembersList.setItems(FXCollections
-        .observableList(this.association.gestionnaireMembre().ensembleMembres()
-            .stream().map(mem -> (Membre) mem).collect(Collectors.toList())));
+    this.tvMembersList.setItems(ListeObservable.de(
+        this.association.gestionnaireMembre().listeMembres(),
+        mem -> (Membre) mem));
     this.lbMessage.setText("La liste des membres a été réinitialisée");
   }
   
@@ -725,7 +808,26 @@ public class Controleur {
    */
   @FXML
   public void onKeyReleasedMemberSearch(KeyEvent event) {
-    // TODO
+    String recherche = this.tfMemberSearch.getText();
+    List<InterMembre> membres;
+    
+    if (recherche == null || recherche.isBlank()) {
+      this.lbMembersList.setText("les membres de l'asscociation");
+      membres = this.association.gestionnaireMembre().listeMembres();
+    } else {
+      this.lbMembersList.setText("les membres trouvés");
+      membres = this.association.gestionnaireMembre()
+          .rechercherMembres(recherche, MAX_RESULTATS);
+      
+      // sans résultat exact, recherche approchée (accents, fautes de frappe)
+      if (membres.isEmpty()) {
+        membres = this.association.gestionnaireMembre()
+            .rechercherMembresProches(recherche, MAX_RESULTATS);
+      }
+    }
+    
+    this.tvMembersList
+        .setItems(ListeObservable.de(membres, mem -> (Membre) mem));
   }
   
   /**
@@ -804,7 +906,7 @@ public class Controleur {
     Evenement evenement = this.tvEventList.getItems().get(row);
     
     this.association.gestionnaireEvenements().supprimerEvenement(evenement);
-    this.tvEventList.getItems().remove(row);
+    lignes(this.tvEventList).retirer(row, evenement);
     this.miAssociationSave.setDisable(false);
     this.lbMessage.setText("L'événement a été retiré de l'association");
     
@@ -826,9 +928,8 @@ public class Controleur {
     
     this.lbMembersList
         .setText("les participants de l'événement " + evenement.getNom());
-    this.tvMembersList
-        .setItems(FXCollections.observableList(evenement.getParticipants()
-            .stream().map(mem -> (Membre) mem).collect(Collectors.toList())));
+    this.tvMembersList.setItems(
+        ListeObservable.de(evenement.listeParticipants(), mem -> (Membre) mem));
     this.lbMessage.setText("Les participants à l'événement ont été affichés");
   }
   
@@ -840,9 +941,8 @@ public class Controleur {
   @FXML
   public void actionEventListReset(ActionEvent event) {
     this.lbEventList.setText("les événements de l'association");
-    this.tvEventList.setItems(
-        FXCollections.observableList(this.association.gestionnaireEvenements()
-            .ensembleEvenements().stream().collect(Collectors.toList())));
+    this.tvEventList.setItems(ListeObservable
+        .de(this.association.gestionnaireEvenements().ensembleEvenements()));
     this.lbMessage.setText("La liste des événements a été réinitialisée");
   }
   
@@ -853,7 +953,20 @@ public class Controleur {
    */
   @FXML
   public void onKeyReleasedEventSearch(KeyEvent event) {
+    String recherche = this.tfEventSearch.getText();
+    List<Evenement> evenements;
+    
+    if (recherche == null || recherche.isBlank()) {
+      this.lbEventList.setText("les événements de l'association");
+      evenements =
+          this.association.gestionnaireEvenements().ensembleEvenements();
+    } else {
+      this.lbEventList.setText("les événements trouvés");
+      evenements = this.association.gestionnaireEvenements()
+          .rechercherEvenements(recherche, null, null, MAX_RESULTATS);
+    }
     
+    this.tvEventList.setItems(ListeObservable.de(evenements));
   }
   
   /**
@@ -869,8 +982,17 @@ public class Controleur {
     
     this.association.gestionnaireEvenements().inscriptionEvenement(evenement,
         membre);
+    // les événements du membre ou les participants affichés ont pu changer
+    this.tvMembersList.refresh();
+    this.tvEventList.refresh();
     this.miAssociationSave.setDisable(false);
-    this.lbMessage.setText("Le membre a été inscrit à l'événement");
+    if (evenement.getParticipants().contains(membre)) {
+      this.lbMessage.setText("Le membre a été inscrit à l'événement");
+    } else if (evenement.getListeAttente().contains(membre)) {
+      this.lbMessage.setText("Le membre a été mis en liste d'attente");
+    } else {
+      this.lbMessage.setText("Le membre n'a pas pu être inscrit");
+    }
   }
   
   /**
@@ -886,6 +1008,8 @@ public class Controleur {
     
     this.association.gestionnaireEvenements().annulerEvenement(evenement,
         membre);
+    this.tvMembersList.refresh();
+    this.tvEventList.refresh();
     this.miAssociationSave.setDisable(false);
     this.lbMessage.setText("Le membre a été désinscrit de l'événement");
   }
@@ -0,0 +1,255 @@
+package ui.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javafx.collections.ObservableListBase;
+
+/**
+ * {@link javafx.collections.ObservableList} non modifiable posée sur une liste
+ * du domaine, pour une {@link javafx.scene.control.TableView}. Les éléments ne
+ * sont pas copiés : la vue lit la liste source à chaque accès, en temps
+ * constant si la source le permet.
+ *
+ * <p>
+ * Les seules lignes modifiables sont les brouillons : des éléments ajoutés en
+ * fin de vue par {@link #add(Object)} tant qu'ils ne sont pas valides, puis
+ * remplacés par {@link #set(int, Object)} ou retirés par
+ * {@link #remove(int)}. Quand la source reçoit l'élément qui remplace un
+ * brouillon, le brouillon disparaît au profit de la ligne de la source.
+ * </p>
+ *
+ * @author Nicolas Le Bars
+ *
+ * @param <E> Le type des éléments affichés
+ */
+public final class ListeObservable<E> extends ObservableListBase<E> {
+  
+  /**
+   * La liste source, lue à chaque accès.
+   */
+  private final List<?> source;
+  
+  /**
+   * La conversion d'un élément de la source en élément affiché.
+   */
+  private final Function<Object, ? extends E> conversion;
+  
+  /**
+   * Les brouillons, affichés après les éléments de la source.
+   */
+  private final List<E> brouillons = new ArrayList<>();
+  
+  /**
+   * La taille de la source lors du dernier changement signalé.
+   */
+  private int tailleSource;
+  
+  /**
+   * Le dernier élément de la source lors du dernier changement signalé,
+   * <code>null</code> si elle était vide.
+   */
+  private Object dernierSource;
+  
+  /**
+   * Crée une vue sur une liste source.
+   *
+   * @param source La liste source
+   * @param conversion La conversion d'un élément de la source en élément
+   *        affiché
+   */
+  @SuppressWarnings("unchecked")
+  private ListeObservable(List<?> source,
+      Function<?, ? extends E> conversion) {
+    this.source = source;
+    this.conversion = (Function<Object, ? extends E>) conversion;
+    this.noterSource();
+  }
+  
+  /**
+   * Note la taille et le dernier élément de la source, après un changement
+   * signalé.
+   */
+  private void noterSource() {
+    this.tailleSource = this.source.size();
+    this.dernierSource = this.tailleSource == 0 ? null
+        : this.source.get(this.tailleSource - 1);
+  }
+  
+  /**
+   * Crée une vue sur une liste source.
+   *
+   * @param <E> Le type des éléments
+   * @param source La liste source
+   * @return La vue sur la liste source
+   */
+  public static <E> ListeObservable<E> de(List<? extends E> source) {
+    return new ListeObservable<E>(source, Function.<E>identity());
+  }
+  
+  /**
+   * Crée une vue sur une liste source dont les éléments sont convertis à
+   * chaque accès, par exemple les {@link association.InterMembre} d'un
+   * gestionnaire affichés comme des {@link association.Membre}.
+   *
+   * @param <T> Le type des éléments de la source
+   * @param <E> Le type des éléments affichés
+   * @param source La liste source
+   * @param conversion La conversion d'un élément de la source en élément
+   *        affiché
+   * @return La vue sur la liste source
+   */
+  public static <T, E> ListeObservable<E> de(List<? extends T> source,
+      Function<? super T, ? extends E> conversion) {
+    return new ListeObservable<E>(source, conversion);
+  }
+  
+  @Override
+  public E get(int index) {
+    int taille = this.source.size();
+    
+    if (index < taille) {
+      return this.conversion.apply(this.source.get(index));
+    }
+    return this.brouillons.get(index - taille);
+  }
+  
+  @Override
+  public int size() {
+    return this.source.size() + this.brouillons.size();
+  }
+  
+  /**
+   * Teste si une ligne est un brouillon.
+   *
+   * @param index La position de la ligne
+   * @return <code>true</code> si la ligne est un brouillon
+   */
+  public boolean estBrouillon(int index) {
+    return index >= this.source.size() && index < this.size();
+  }
+  
+  /**
+   * Ajoute un brouillon en fin de vue.
+   *
+   * @param index La position du brouillon, qui doit être la taille de la vue
+   * @param element Le brouillon
+   */
+  @Override
+  public void add(int index, E element) {
+    if (index != this.size()) {
+      throw new UnsupportedOperationException(
+          "Les brouillons sont ajoutés en fin de liste");
+    }
+    
+    this.brouillons.add(element);
+    this.beginChange();
+    this.nextAdd(index, index + 1);
+    this.endChange();
+  }
+  
+  /**
+   * Remplace un brouillon. Si l'élément vient d'être ajouté à la fin de la
+   * source, le brouillon est retiré et l'élément apparaît à sa place dans la
+   * source.
+   *
+   * @param index La position du brouillon
+   * @param element Le nouvel élément
+   * @return Le brouillon remplacé
+   */
+  @Override
+  public E set(int index, E element) {
+    int taille = this.source.size();
+    int brouillon = index - this.tailleSource;
+    
+    /* La source vient de recevoir l'élément : elle a grandi depuis le
+     * dernier changement signalé, les brouillons se repèrent par rapport à
+     * son ancienne taille */
+    if (taille > this.tailleSource && brouillon >= 0
+        && brouillon < this.brouillons.size()
+        && this.conversion.apply(this.source.get(taille - 1)) == element) {
+      E ancien = this.brouillons.remove(brouillon);
+      this.beginChange();
+      this.nextRemove(index, ancien);
+      this.nextAdd(this.tailleSource, taille);
+      this.endChange();
+      this.noterSource();
+      return ancien;
+    }
+    
+    if (!this.estBrouillon(index)) {
+      throw new UnsupportedOperationException(
+          "Seuls les brouillons sont modifiables");
+    }
+    
+    brouillon = index - taille;
+    E ancien = this.brouillons.get(brouillon);
+    this.brouillons.set(brouillon, element);
+    this.beginChange();
+    this.nextSet(index, ancien);
+    this.endChange();
+    
+    return ancien;
+  }
+  
+  /**
+   * Retire un brouillon.
+   *
+   * @param index La position du brouillon
+   * @return Le brouillon retiré
+   */
+  @Override
+  public E remove(int index) {
+    if (!this.estBrouillon(index)) {
+      throw new UnsupportedOperationException(
+          "Seuls les brouillons sont retirés de la liste");
+    }
+    
+    E ancien = this.brouillons.remove(index - this.source.size());
+    this.beginChange();
+    this.nextRemove(index, ancien);
+    this.endChange();
+    
+    return ancien;
+  }
+  
+  /**
+   * Retire une ligne de la vue après la suppression de son élément du
+   * domaine. Un brouillon est simplement retiré ; une source que la
+   * suppression n'a pas modifiée, comme une liste de résultats de recherche,
+   * perd l'élément. Si le domaine a mis le dernier élément de la source à la
+   * place de l'élément supprimé (voir
+   * {@link association.GestionMembres#listeMembres()}), la ligne est
+   * remplacée par ce dernier élément et la dernière ligne de la source est
+   * retirée.
+   *
+   * @param index La position de la ligne avant la suppression
+   * @param element L'élément de la ligne
+   */
+  public void retirer(int index, E element) {
+    int brouillon = index - this.source.size();
+    
+    if (brouillon >= 0 && brouillon < this.brouillons.size()
+        && this.brouillons.get(brouillon) == element) {
+      this.remove(index);
+      return;
+    }
+    
+    if (index < this.source.size()
+        && this.conversion.apply(this.source.get(index)) == element) {
+      this.source.remove(index);
+    }
+    
+    Object dernier = this.dernierSource;
+    int taille = this.source.size();
+    this.noterSource();
+    this.beginChange();
+    if (index < taille - 1 && this.source.get(index) == dernier) {
+      this.nextSet(index, element);
+      this.nextRemove(taille, this.conversion.apply(dernier));
+    } else {
+      this.nextRemove(index, element);
+    }
+    this.endChange();
+  }
+}